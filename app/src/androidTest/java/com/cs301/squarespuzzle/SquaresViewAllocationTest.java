@@ -0,0 +1,115 @@
+package com.cs301.squarespuzzle;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.*;
+
+/**
+ * SquaresViewAllocationTest
+ *
+ * checks that the render loop of SquaresView allocates nothing per frame
+ * once the labels of the board size are cached, for small and large
+ * boards, while blocks are sliding and while a hint is shown. the frames
+ * are driven directly on the test thread instead of by vsync.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+@RunWith(AndroidJUnit4.class)
+public class SquaresViewAllocationTest {
+    // the number of frames drawn while counting allocations
+    private static final int FRAMES = 100;
+
+    // the time between two frames
+    private static final long FRAME_NANOS = 16666667L;
+
+    @Test
+    public void renderFrame_allocatesNothing_4x4() {
+        assertEquals(0, countFrameAllocations(4, false));
+    }
+
+    @Test
+    public void renderFrame_allocatesNothing_10x10() {
+        assertEquals(0, countFrameAllocations(10, false));
+    }
+
+    @Test
+    public void renderFrame_allocatesNothing_withHint() {
+        assertEquals(0, countFrameAllocations(4, true));
+    }
+
+    /**
+     * countFrameAllocations
+     *
+     * this method draws one frame to build the caches and then counts the
+     * objects allocated over the following frames, with a move in every
+     * frame so a block is always sliding.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param hint      true to show a hint on the board
+     * @return          the objects allocated while drawing the frames
+     */
+    private static int countFrameAllocations(int blocksNum, boolean hint) {
+        final RenderThread renderThread = new RenderThread();
+        final SquaresModel model = new SquaresModel();
+        model.setBlocksNum(blocksNum);
+        model.resetTable();
+        model.shuffleTable();
+        model.addOnChangeListener(new SquaresModel.OnChangeListener() {
+            @Override
+            public void onMove(int from, int to, long version) {
+                renderThread.postMove(from, to, model.getBoard());
+            }
+
+            @Override
+            public void onMoves(byte[] moves, int offset, int count,
+                                long version) {
+                renderThread.requestSync(model.getBoard());
+            }
+
+            @Override
+            public void onBoardChanged(long version) {
+                renderThread.requestSync(model.getBoard());
+            }
+        });
+        renderThread.requestSync(model.getBoard());
+        if (hint) {
+            renderThread.setHint(0, "moves left: 12");
+        }
+
+        // slide the block left of the empty block back and forth
+        int emptyIndex = model.getBoard().getEmptyIndex();
+        int emptyRow = emptyIndex / blocksNum;
+        int emptyCol = emptyIndex % blocksNum;
+        int neighborCol = emptyCol == 0 ? 1 : emptyCol - 1;
+
+        int size = (int) (SquaresView.TABLE_LENGTH + 2 * SquaresView.TABLE_MARGIN);
+        Canvas canvas = new Canvas(Bitmap.createBitmap(size, size,
+                                                       Bitmap.Config.ARGB_8888));
+        long now = 0;
+        renderThread.applyPending(now);
+        renderThread.draw(canvas, now);
+
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < FRAMES; i++) {
+            now += FRAME_NANOS;
+            if (i % 2 == 0) {
+                model.swapBlocks(emptyRow, neighborCol);
+            } else {
+                model.swapBlocks(emptyRow, emptyCol);
+            }
+            renderThread.applyPending(now);
+            renderThread.draw(canvas, now);
+        }
+        Debug.stopAllocCounting();
+        return Debug.getThreadAllocCount();
+    }
+}
@@ -0,0 +1,115 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * FrameStats
+ *
+ * frame-time statistics of the render loop. the render thread is the only
+ * writer, and the getters may be called from any thread. every value is a
+ * separate volatile, so a reader may see one frame more in one value than
+ * in another, which is fine for monitoring.
+ *
+ * a frame is janky when it started more than one and a half vsync periods
+ * after the previous frame of the same animation.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class FrameStats {
+    // the expected time between frames of a 60 Hz display
+    public static final long DEFAULT_FRAME_INTERVAL_NANOS = 16666667L;
+
+    // the expected time between two frames
+    private final long _frameIntervalNanos;
+
+    // these variables contain the counts since the last reset
+    private volatile long _frames;
+    private volatile long _jankyFrames;
+    private volatile long _totalDrawNanos;
+    private volatile long _maxDrawNanos;
+    private volatile long _lastDrawNanos;
+
+    /**
+     * FrameStats constructor
+     *
+     * @param frameIntervalNanos    the vsync period of the display
+     */
+    public FrameStats(long frameIntervalNanos) {
+        _frameIntervalNanos = frameIntervalNanos;
+    }
+
+    /**
+     * record
+     *
+     * this method is called by the render thread after every frame.
+     *
+     * @param intervalNanos the time since the previous frame of the same
+     *                      animation, or 0 if it is the first frame
+     * @param drawNanos     the time from locking to posting the canvas
+     */
+    void record(long intervalNanos, long drawNanos) {
+        _frames = _frames + 1;
+        if (intervalNanos > _frameIntervalNanos + _frameIntervalNanos / 2) {
+            _jankyFrames = _jankyFrames + 1;
+        }
+
+        _totalDrawNanos = _totalDrawNanos + drawNanos;
+        _lastDrawNanos = drawNanos;
+        if (drawNanos > _maxDrawNanos) {
+            _maxDrawNanos = drawNanos;
+        }
+    }
+
+    /**
+     * getFrames
+     *
+     * @return  the number of frames drawn
+     */
+    public long getFrames() {
+        return _frames;
+    }
+
+    /**
+     * getJankyFrames
+     *
+     * @return  the number of frames that missed a vsync
+     */
+    public long getJankyFrames() {
+        return _jankyFrames;
+    }
+
+    /**
+     * getAverageDrawNanos
+     *
+     * @return  the average time spent drawing a frame
+     */
+    public long getAverageDrawNanos() {
+        long frames = _frames;
+        return frames == 0 ? 0 : _totalDrawNanos / frames;
+    }
+
+    /**
+     * getMaxDrawNanos
+     *
+     * @return  the longest time spent drawing a frame
+     */
+    public long getMaxDrawNanos() {
+        return _maxDrawNanos;
+    }
+
+    /**
+     * getLastDrawNanos
+     *
+     * @return  the time spent drawing the last frame
+     */
+    public long getLastDrawNanos() {
+        return _lastDrawNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d frames, %d janky, draw avg %.2f ms, max %.2f ms",
+                             getFrames(), getJankyFrames(),
+                             getAverageDrawNanos() / 1e6,
+                             getMaxDrawNanos() / 1e6);
+    }
+}
@@ -0,0 +1,229 @@
+package com.cs301.squarespuzzle;
+
+import android.util.Log;
+
+import com.cs301.squarespuzzle.persist.GameStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GameSaver
+ *
+ * keeps the game of a model saved in a GameStore, so it can be resumed
+ * after the activity is recreated or the process is killed. every move is
+ * appended to the store as it is made, and the store is synced when the
+ * activity is paused. if the store fails, saving stops for the rest of the
+ * session and the game goes on.
+ *
+ * a saver is owned by the UI thread, but the store is only written on a
+ * background thread, in the order the changes were made. a new board, such
+ * as after a shuffle or a long seek, rewrites the file and syncs it, so the
+ * board is copied when it changes and written later. when several boards
+ * are waiting, only the last one is written, with the moves after it.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class GameSaver implements SquaresModel.OnChangeListener {
+    // the tag of the log messages
+    private static final String TAG = "GameSaver";
+
+    // the store the game is saved in, or null after it failed, only
+    // touched on the background thread once resumed
+    private GameStore _store;
+
+    // the thread that writes the store
+    private final ExecutorService _executor =
+            Executors.newSingleThreadExecutor();
+
+    // the number of new boards so far. a write made for an older board is
+    // skipped, since a newer board replaces it anyway
+    private final AtomicInteger _boards = new AtomicInteger();
+
+    // the model whose game is saved, once resumed
+    private SquaresModel _model;
+
+    /**
+     * GameSaver constructor
+     *
+     * @param file  the file the game is saved in
+     */
+    public GameSaver(File file) {
+        _store = new GameStore(file);
+    }
+
+    /**
+     * resume
+     *
+     * this method loads the saved game into the model, or saves the model's
+     * game if there is none, and starts saving every move.
+     *
+     * @param model the model to save
+     * @return      true if a saved game was loaded
+     */
+    public boolean resume(SquaresModel model) {
+        boolean resumed = false;
+        try {
+            Board board = _store.load();
+            if (board != null) {
+                model.setBoard(board);
+                resumed = true;
+            } else {
+                _store.start(model.getBoard());
+            }
+        } catch (IOException e) {
+            fail(e);
+        }
+
+        _model = model;
+        model.addOnChangeListener(this);
+        return resumed;
+    }
+
+    @Override
+    public void onMove(int from, int to, long version) {
+        final int board = _boards.get();
+        final int direction = Move.direction(from, to, _model.getBlocksNum());
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (_store == null || board != _boards.get()) {
+                    return;
+                }
+
+                try {
+                    _store.append(direction);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onMoves(byte[] moves, int offset, int count, long version) {
+        final int board = _boards.get();
+        final byte[] copy = new byte[count];
+        System.arraycopy(moves, offset, copy, 0, count);
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (_store == null || board != _boards.get()) {
+                    return;
+                }
+
+                try {
+                    _store.append(copy, 0, copy.length);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onBoardChanged(long version) {
+        final int[] tiles = new int[_model.getBoard().getLength()];
+        _model.getBoard().copyTo(tiles);
+        final int blocksNum = _model.getBlocksNum();
+        final int board = _boards.incrementAndGet();
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (_store == null || board != _boards.get()) {
+                    return;
+                }
+
+                try {
+                    Board copy = Board.create(blocksNum);
+                    copy.load(tiles);
+                    _store.start(copy);
+                } catch (IOException e) {
+                    fail(e);
+                }
+            }
+        });
+    }
+
+    /**
+     * sync
+     *
+     * this method forces the saved moves to the disk and waits for them.
+     * it is called when the activity is paused.
+     */
+    public void sync() {
+        try {
+            _executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    if (_store == null) {
+                        return;
+                    }
+
+                    try {
+                        _store.sync();
+                    } catch (IOException e) {
+                        fail(e);
+                    }
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.w(TAG, "cannot sync the saved game", e.getCause());
+        }
+    }
+
+    /**
+     * close
+     *
+     * this method stops saving and closes the store once the changes
+     * made so far are written.
+     */
+    public void close() {
+        if (_model != null) {
+            _model.removeOnChangeListener(this);
+            _model = null;
+        }
+
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (_store == null) {
+                    return;
+                }
+
+                try {
+                    _store.close();
+                } catch (IOException e) {
+                    Log.w(TAG, "cannot close the saved game", e);
+                }
+                _store = null;
+            }
+        });
+        _executor.shutdown();
+    }
+
+    /**
+     * fail
+     *
+     * this method runs on the background thread and stops saving after
+     * the store failed.
+     *
+     * @param e the failure
+     */
+    private void fail(IOException e) {
+        Log.w(TAG, "cannot save the game, saving stops", e);
+        try {
+            _store.close();
+        } catch (IOException ignored) {
+            // the store already failed
+        }
+        _store = null;
+    }
+}
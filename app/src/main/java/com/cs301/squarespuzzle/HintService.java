@@ -0,0 +1,485 @@
+package com.cs301.squarespuzzle;
+
+import android.content.res.AssetManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import com.cs301.squarespuzzle.solver.DistanceTable;
+import com.cs301.squarespuzzle.solver.DistanceTableBuilder;
+import com.cs301.squarespuzzle.solver.Heuristic;
+import com.cs301.squarespuzzle.solver.IdaStarSolver;
+import com.cs301.squarespuzzle.solver.PatternDatabaseHeuristic;
+import com.cs301.squarespuzzle.solver.Solution;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * HintService
+ *
+ * computes the next best move and the number of moves left on a background
+ * thread and posts them back to the view. the controller reports every
+ * move, and the service:
+ *
+ *      * reuses the rest of the last hint when the player followed it, with
+ *        no search at all
+ *      * reuses a hint found earlier for the same board, looked up by its
+ *        Zobrist hash, such as after an undo
+ *      * otherwise cancels the stale search and starts a new one from the
+ *        lower bound of the previous position, one move shorter
+ *
+ * boards up to 3x3 are not searched at all: the first hint for a size
+ * builds its complete distance table, and every hint after that follows
+ * the table. 4x4 boards are searched with the 6-6-3 pattern databases,
+ * memory-mapped from the files directory. databases shipped in the assets
+ * are copied there by the first 4x4 hint, since a map needs a real file.
+ * without the databases there are no hints for 4x4, since the default
+ * heuristic takes seconds on many boards.
+ *
+ * the UI thread only copies the board and hands it off, so touch handling
+ * does not wait for the solver.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class HintService {
+    // the tag of the log messages of the service
+    private static final String TAG = "HintService";
+
+    // the largest board that is solved for hints
+    public static final int MAX_BLOCKS_NUM = 4;
+
+    // the largest board that is solved from a distance table
+    public static final int MAX_TABLE_BLOCKS_NUM = 3;
+
+    // the largest number of boards whose hints are kept
+    private static final int MAX_CACHED_HINTS = 4096;
+
+    // these variables connect the service to the UI thread
+    private final SquaresView _squaresView;
+    private final Handler _mainHandler;
+    private final ExecutorService _executor;
+
+    // the generation is written on the UI thread and read by the search,
+    // the rest of these variables are only touched on the UI thread
+    private volatile int _generation;
+    private int[] _hintMoves;
+    private int _hintOffset;
+    private int _lowerBound;
+
+    // the search that is currently running, if any
+    private volatile IdaStarSolver _runningSolver;
+
+    // these variables contain where the pattern databases are found
+    private final File _pdbDir;
+    private final AssetManager _assets;
+
+    // the pattern database heuristic for 4x4, or null if there are no
+    // databases, and whether it was looked for, only touched on the
+    // background thread
+    private Heuristic _heuristic;
+    private boolean _heuristicLoaded;
+
+    // the hints of every board on a solution found since the last reset,
+    // by the hash of the board, only touched on the UI thread
+    private final LongHashMap<CachedHint> _cachedHints =
+            new LongHashMap<CachedHint>();
+
+    // the distance tables by size, only touched on the background thread
+    private final DistanceTable[] _tables =
+            new DistanceTable[MAX_TABLE_BLOCKS_NUM + 1];
+
+    /**
+     * CachedHint
+     *
+     * the position of a board on a solution found for an earlier board.
+     */
+    private static class CachedHint {
+        // these variables contain the solution and the moves already made
+        final int[] _moves;
+        final int _offset;
+
+        /**
+         * CachedHint constructor
+         *
+         * @param moves     the moves of the solution
+         * @param offset    the number of moves before the board
+         */
+        CachedHint(int[] moves, int offset) {
+            _moves = moves;
+            _offset = offset;
+        }
+    }
+
+    /**
+     * HintService constructor
+     *
+     * @param view      the view that displays the hints
+     * @param pdbDir    the directory the pattern databases are mapped from
+     * @param assets    the assets the databases are copied from if they are
+     *                  not in the directory yet
+     */
+    public HintService(SquaresView view, File pdbDir, AssetManager assets) {
+        _squaresView = view;
+        _pdbDir = pdbDir;
+        _assets = assets;
+        _mainHandler = new Handler(Looper.getMainLooper());
+        _executor = Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * onMove
+     *
+     * this method is called on the UI thread after the empty block moved in
+     * the given direction.
+     *
+     * @param board     the board after the move
+     * @param direction the direction the empty block moved in
+     */
+    public void onMove(Board board, int direction) {
+        onMoves(board, direction, 1);
+    }
+
+    /**
+     * onMoves
+     *
+     * this method is called on the UI thread after the empty block moved
+     * several times in the same direction, such as after a slide.
+     *
+     * @param board     the board after the moves
+     * @param direction the direction the empty block moved in
+     * @param count     the number of moves
+     */
+    public void onMoves(Board board, int direction, int count) {
+        // the player followed the hint, so the rest of it is still optimal
+        int followed = 0;
+        while (_hintMoves != null && followed < count
+               && _hintOffset + followed < _hintMoves.length
+               && _hintMoves[_hintOffset + followed] == direction) {
+            followed++;
+        }
+        if (followed == count) {
+            _generation++;
+            cancelRunning();
+            _hintOffset += count;
+            _lowerBound = _hintMoves.length - _hintOffset;
+            publish(board.getEmptyIndex(), board.getBlocksNum());
+            return;
+        }
+
+        // any other move is at most one move closer to the goal
+        int lowerBound = _hintMoves == null ? 0
+                         : Math.max(0, _hintMoves.length - _hintOffset - count);
+        request(board, lowerBound);
+    }
+
+    /**
+     * onReset
+     *
+     * this method is called on the UI thread after the board was shuffled
+     * or resized.
+     *
+     * @param board the new board
+     */
+    public void onReset(Board board) {
+        _cachedHints.clear();
+        request(board, 0);
+    }
+
+    /**
+     * shutdown
+     *
+     * this method stops the running search and the background thread.
+     */
+    public void shutdown() {
+        _generation++;
+        cancelRunning();
+        _executor.shutdownNow();
+    }
+
+    /**
+     * request
+     *
+     * this method starts a new search for the given board and drops any
+     * hint or search for an older board.
+     *
+     * @param board         the board to find a hint for
+     * @param lowerBound    a lower bound on the solution length
+     */
+    private void request(Board board, int lowerBound) {
+        final int generation = ++_generation;
+        _hintMoves = null;
+        _lowerBound = lowerBound;
+        cancelRunning();
+
+        final int blocksNum = board.getBlocksNum();
+        final long hash = board.getHash();
+        CachedHint cached = _cachedHints.get(hash);
+        if (cached != null) {
+            _hintMoves = cached._moves;
+            _hintOffset = cached._offset;
+            _lowerBound = _hintMoves.length - _hintOffset;
+            publish(board.getEmptyIndex(), blocksNum);
+            return;
+        }
+
+        _squaresView.setHint(-1, -1);
+        if (blocksNum > MAX_BLOCKS_NUM || board.isSolved()) {
+            return;
+        }
+
+        final int[] tiles = new int[board.getLength()];
+        board.copyTo(tiles);
+
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                if (blocksNum <= MAX_TABLE_BLOCKS_NUM) {
+                    post(generation, table(blocksNum).solve(tiles), tiles,
+                         hash, blocksNum);
+                    return;
+                }
+
+                Heuristic heuristic = heuristic();
+                if (heuristic == null) {
+                    return;
+                }
+
+                // publish the solver before checking the generation, so a
+                // newer move either sees it and cancels it or is seen here
+                IdaStarSolver solver = new IdaStarSolver(blocksNum, heuristic);
+                _runningSolver = solver;
+                if (generation != _generation) {
+                    return;
+                }
+
+                Solution solution = solver.solve(tiles, lowerBound);
+                _runningSolver = null;
+                if (solution != null) {
+                    post(generation, solution, tiles, hash, blocksNum);
+                }
+            }
+        });
+    }
+
+    /**
+     * table
+     *
+     * this method runs on the background thread and returns the distance
+     * table of the given size, building it the first time.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the distance table
+     */
+    private DistanceTable table(int blocksNum) {
+        if (_tables[blocksNum] == null) {
+            _tables[blocksNum] = DistanceTableBuilder.build(blocksNum,
+                                                            blocksNum, 1);
+        }
+        return _tables[blocksNum];
+    }
+
+    /**
+     * heuristic
+     *
+     * this method runs on the background thread and returns the 4x4
+     * pattern database heuristic, loading it the first time.
+     *
+     * @return  the heuristic, or null if the databases are missing or
+     *          cannot be loaded
+     */
+    private Heuristic heuristic() {
+        if (!_heuristicLoaded) {
+            _heuristicLoaded = true;
+            try {
+                if (!PatternDatabaseHeuristic.exists(_pdbDir, MAX_BLOCKS_NUM)) {
+                    copyDatabases();
+                }
+                if (PatternDatabaseHeuristic.exists(_pdbDir, MAX_BLOCKS_NUM)) {
+                    _heuristic = PatternDatabaseHeuristic.load(_pdbDir,
+                                                               MAX_BLOCKS_NUM);
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "cannot load the pattern databases", e);
+            }
+        }
+        return _heuristic;
+    }
+
+    /**
+     * copyDatabases
+     *
+     * this method runs on the background thread and copies the 4x4
+     * pattern databases from the assets to the directory, if the assets
+     * have them. each file is written under a temporary name and renamed,
+     * so a copy that is cut short is never taken for a database.
+     *
+     * @throws IOException  if a database cannot be copied
+     */
+    private void copyDatabases() throws IOException {
+        int count = PatternDatabaseHeuristic.partition(MAX_BLOCKS_NUM).length;
+        for (int i = 0; i < count; i++) {
+            File file = PatternDatabaseHeuristic.file(_pdbDir, MAX_BLOCKS_NUM,
+                                                      i);
+            InputStream input;
+            try {
+                input = _assets.open(file.getName());
+            } catch (IOException e) {
+                // the assets have no databases
+                return;
+            }
+
+            File temp = new File(_pdbDir, file.getName() + ".tmp");
+            try {
+                OutputStream output = new FileOutputStream(temp);
+                try {
+                    byte[] buffer = new byte[64 * 1024];
+                    int read;
+                    while ((read = input.read(buffer)) > 0) {
+                        output.write(buffer, 0, read);
+                    }
+                } finally {
+                    output.close();
+                }
+            } finally {
+                input.close();
+            }
+            if (!temp.renameTo(file)) {
+                throw new IOException("cannot rename " + temp);
+            }
+        }
+    }
+
+    /**
+     * post
+     *
+     * this method runs on the background thread and hands a solution to
+     * the UI thread.
+     *
+     * @param generation    the generation the search was started for
+     * @param solution      the optimal solution of that board
+     * @param tiles         the block values of that board
+     * @param hash          the hash of that board
+     * @param blocksNum     the number of blocks in each row and column
+     */
+    private void post(final int generation, final Solution solution,
+                      final int[] tiles, final long hash,
+                      final int blocksNum) {
+        _mainHandler.post(new Runnable() {
+            @Override
+            public void run() {
+                onSolved(generation, solution, tiles, hash, blocksNum);
+            }
+        });
+    }
+
+    /**
+     * onSolved
+     *
+     * this method runs on the UI thread and caches the hint of every board
+     * on the solution, then shows the hint unless the board has changed
+     * since the search started. a solution that arrives too late is still
+     * cached, since the player may come back to its board.
+     *
+     * @param generation    the generation the search was started for
+     * @param solution      the optimal solution of that board
+     * @param tiles         the block values of that board
+     * @param hash          the hash of that board
+     * @param blocksNum     the number of blocks in each row and column
+     */
+    private void onSolved(int generation, Solution solution, int[] tiles,
+                          long hash, int blocksNum) {
+        byte[] moves = solution.getMoves();
+        int[] hintMoves = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            hintMoves[i] = moves[i];
+        }
+
+        int emptyIndex = 0;
+        while (tiles[emptyIndex] != 0) {
+            emptyIndex++;
+        }
+        cache(hintMoves, tiles.clone(), emptyIndex, hash, blocksNum);
+        if (generation != _generation) {
+            return;
+        }
+
+        _hintMoves = hintMoves;
+        _hintOffset = 0;
+        _lowerBound = moves.length;
+        publish(emptyIndex, blocksNum);
+    }
+
+    /**
+     * cache
+     *
+     * this method runs on the UI thread and remembers the hint of every
+     * board on a solution. the boards are visited by playing the solution
+     * on the block values, with the hash updated per move the same way the
+     * board updates its own.
+     *
+     * @param moves         the moves of the solution
+     * @param tiles         the block values of the first board, changed
+     * @param emptyIndex    the index of the empty block on the first board
+     * @param hash          the hash of the first board
+     * @param blocksNum     the number of blocks in each row and column
+     */
+    private void cache(int[] moves, int[] tiles, int emptyIndex, long hash,
+                       int blocksNum) {
+        if (_cachedHints.size() + moves.length > MAX_CACHED_HINTS) {
+            _cachedHints.clear();
+        }
+
+        for (int i = 0; i < moves.length; i++) {
+            _cachedHints.put(hash, new CachedHint(moves, i));
+
+            int target = Move.target(emptyIndex, moves[i], blocksNum);
+            int value = tiles[target];
+            hash ^= Board.zobrist(emptyIndex, 0) ^ Board.zobrist(target, value)
+                    ^ Board.zobrist(emptyIndex, value)
+                    ^ Board.zobrist(target, 0);
+            tiles[emptyIndex] = value;
+            tiles[target] = 0;
+            emptyIndex = target;
+        }
+    }
+
+    /**
+     * publish
+     *
+     * this method shows the current hint on the view.
+     *
+     * @param emptyIndex    the index of the empty block
+     * @param blocksNum     the number of blocks in each row and column
+     */
+    private void publish(int emptyIndex, int blocksNum) {
+        if (_hintOffset >= _hintMoves.length) {
+            _squaresView.setHint(-1, 0);
+            return;
+        }
+
+        int tileIndex = Move.target(emptyIndex, _hintMoves[_hintOffset],
+                                    blocksNum);
+        _squaresView.setHint(tileIndex, _lowerBound);
+    }
+
+    /**
+     * cancelRunning
+     *
+     * this method cancels the running search, if there is one.
+     */
+    private void cancelRunning() {
+        IdaStarSolver solver = _runningSolver;
+        if (solver != null) {
+            solver.cancel();
+        }
+    }
+}
@@ -1,12 +1,58 @@
 package com.cs301.squarespuzzle;
 
+import androidx.activity.result.ActivityResultCallback;
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 
+import android.graphics.Bitmap;
+import android.net.Uri;
 import android.os.Bundle;
+import android.util.Log;
+import android.view.View;
 import android.widget.Button;
 import android.widget.SeekBar;
+import android.widget.TextView;
+
+import com.cs301.squarespuzzle.generator.PuzzlePool;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
+    // the name of the file the game is saved in
+    private static final String GAME_FILE = "game.bin";
+
+    // the tag of the log messages of the activity
+    private static final String TAG = "MainActivity";
+
+    // these variables define the pool of ready puzzles
+    private static final int PUZZLE_THREADS = 1;
+    private static final int PUZZLE_CAPACITY = 4;
+
+    // the service that solves the board for hints in the background
+    private HintService _hintService;
+
+    // the saver that keeps the game saved across restarts
+    private GameSaver _gameSaver;
+
+    // the pool that generates puzzles in the background
+    private PuzzlePool _puzzlePool;
+
+    // the player that solves the board and plays the solution back
+    private SolutionPlayer _solutionPlayer;
+
+    // these variables pick and decode the picture of the picture mode
+    private ActivityResultLauncher<String> _pickImage;
+    private final ExecutorService _imageExecutor =
+            Executors.newSingleThreadExecutor();
+
+    // the value of the speed seek bar at start, 100 moves per second
+    private static final int INITIAL_SPEED_PROGRESS =
+            2 * SquaresController.SPEED_STEPS_PER_DECADE;
 
     /**
      * onCreate
@@ -24,17 +70,170 @@ public class MainActivity extends AppCompatActivity {
 
         // get the squares view and create the controller
         SquaresView squaresView = findViewById(R.id.squaresView);
+
+        // resume the saved game before anything reads the board
+        _gameSaver = new GameSaver(new File(getFilesDir(), GAME_FILE));
+        _gameSaver.resume(squaresView.getModel());
+
         SquaresController squaresController = new SquaresController(squaresView);
 
         // set the listeners for the view
         squaresView.setOnTouchListener(squaresController);
 
+        // start computing hints for the board
+        _hintService = new HintService(squaresView, getFilesDir(),
+                                       getAssets());
+        squaresController.setHintService(_hintService);
+
+        // keep puzzles of the selected difficulty ready for the reset button
+        _puzzlePool = new PuzzlePool(PUZZLE_THREADS, PUZZLE_CAPACITY);
+        squaresController.setPuzzlePool(_puzzlePool);
+
+        // get the difficulty button and set the listener
+        Button difficultyButton = findViewById(R.id.buttonDifficulty);
+        difficultyButton.setOnClickListener(squaresController);
+        squaresController.setDifficultyButton(difficultyButton);
+
         // get the reset button and set the listener
         Button resetButton = findViewById(R.id.buttonResetTable);
         resetButton.setOnClickListener(squaresController);
 
+        // a long press on the reset button dumps the metrics of the app
+        resetButton.setOnLongClickListener(new View.OnLongClickListener() {
+            @Override
+            public boolean onLongClick(View view) {
+                dumpMetrics();
+                return true;
+            }
+        });
+
         // get the seek bar and set the listener
         SeekBar seekBar = findViewById(R.id.seekbarBlocksNum);
+        seekBar.setProgress(squaresView.getModel().getBlocksNum()
+                            - SquaresController.MIN_BLOCKS_NUM);
         seekBar.setOnSeekBarChangeListener(squaresController);
+
+        // get the label that shows the size selected on the seek bar
+        TextView sizeLabel = findViewById(R.id.textBlocksNum);
+        squaresController.setSizeLabel(sizeLabel);
+
+        // get the controls of the solution and connect them to the player
+        _solutionPlayer = new SolutionPlayer(squaresView.getModel());
+        Button solveButton = findViewById(R.id.buttonSolve);
+        solveButton.setOnClickListener(squaresController);
+        SeekBar solutionBar = findViewById(R.id.seekbarSolution);
+        solutionBar.setOnSeekBarChangeListener(squaresController);
+        squaresController.setSolutionPlayer(_solutionPlayer, solveButton,
+                                            solutionBar);
+
+        SeekBar speedBar = findViewById(R.id.seekbarSpeed);
+        speedBar.setProgress(INITIAL_SPEED_PROGRESS);
+        _solutionPlayer.setMovesPerSecond(
+                SquaresController.toMovesPerSecond(INITIAL_SPEED_PROGRESS));
+        speedBar.setOnSeekBarChangeListener(squaresController);
+
+        // the picture button picks a picture, and a long press clears it
+        final SquaresView view = squaresView;
+        _pickImage = registerForActivityResult(
+                new ActivityResultContracts.GetContent(),
+                new ActivityResultCallback<Uri>() {
+                    @Override
+                    public void onActivityResult(Uri uri) {
+                        if (uri != null) {
+                            loadImage(view, uri);
+                        }
+                    }
+                });
+        Button pictureButton = findViewById(R.id.buttonPicture);
+        pictureButton.setOnClickListener(new View.OnClickListener() {
+            @Override
+            public void onClick(View button) {
+                _pickImage.launch("image/*");
+            }
+        });
+        pictureButton.setOnLongClickListener(new View.OnLongClickListener() {
+            @Override
+            public boolean onLongClick(View button) {
+                view.setImage(null);
+                return true;
+            }
+        });
+    }
+
+    /**
+     * loadImage
+     *
+     * this method decodes a picture in the background and shows it on the
+     * blocks once it is ready. a picture that cannot be read is logged and
+     * the blocks keep what they show.
+     *
+     * @param view  the view that shows the picture
+     * @param uri   the picture picked by the user
+     */
+    private void loadImage(final SquaresView view, final Uri uri) {
+        _imageExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    final Bitmap image = PuzzleImage.decode(
+                            getContentResolver(), uri);
+                    view.post(new Runnable() {
+                        @Override
+                        public void run() {
+                            view.setImage(image);
+                        }
+                    });
+                } catch (IOException e) {
+                    Log.w(TAG, "cannot load picture " + uri, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * dumpMetrics
+     *
+     * this method writes the metrics of the app as JSON to a new file in
+     * the files directory, named after the current time, where it can be
+     * pulled with adb.
+     */
+    private void dumpMetrics() {
+        File file = new File(getFilesDir(),
+                             "metrics-" + System.currentTimeMillis() + ".json");
+        try {
+            MetricsRegistry.getDefault().dump(file);
+            Log.i(TAG, "metrics written to " + file);
+        } catch (IOException e) {
+            Log.w(TAG, "cannot write metrics to " + file, e);
+        }
+    }
+
+    /**
+     * onPause
+     *
+     * this method is called when the activity leaves the foreground. it
+     * forces the saved game to the disk.
+     */
+    @Override
+    protected void onPause() {
+        _gameSaver.sync();
+        super.onPause();
+    }
+
+    /**
+     * onDestroy
+     *
+     * this method is called when the activity is destroyed. it stops the
+     * background hint search, puzzle generation, solution playback and
+     * picture decoding and closes the saved game.
+     */
+    @Override
+    protected void onDestroy() {
+        _solutionPlayer.shutdown();
+        _imageExecutor.shutdownNow();
+        _hintService.shutdown();
+        _puzzlePool.shutdown();
+        _gameSaver.close();
+        super.onDestroy();
     }
 }
\ No newline at end of file
@@ -0,0 +1,229 @@
+package com.cs301.squarespuzzle;
+
+import android.view.Choreographer;
+
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+
+/**
+ * MoveBatcher
+ *
+ * collects the moves resolved from touch input and applies them to the
+ * model once per vsync, so fast input causes at most one model update and
+ * one redraw per frame instead of one per touch event. moves are checked
+ * when they are offered, against where the empty block will be once the
+ * moves before them are applied, so a batch never fails when it is
+ * applied.
+ *
+ * a batch that moves the empty block in one direction is applied as a
+ * single slide, so the render thread still animates it block by block.
+ * any other batch is applied with one applyMoves() call.
+ *
+ * the time from the touch event that started a batch to the end of its
+ * model update is recorded as the input latency.
+ *
+ * a batcher is owned by the UI thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class MoveBatcher implements Choreographer.FrameCallback {
+    // the number of moves the batch holds before it grows
+    private static final int INITIAL_CAPACITY = 64;
+
+    // the time from a touch event to the model update it caused
+    private static final Histogram INPUT_LATENCY =
+            MetricsRegistry.getDefault().histogram("input.latency");
+
+    // these variables contain the model and the services told about moves
+    private final SquaresModel _model;
+    private final Choreographer _choreographer;
+    private HintService _hintService;
+
+    // these variables contain the moves waiting for the next frame
+    private byte[] _pending = new byte[INITIAL_CAPACITY];
+    private int _count;
+    private Board _board;
+    private int _startEmpty;
+    private int _predictedEmpty;
+    private boolean _scheduled;
+
+    // these variables contain the times of the touch events, in nanoseconds
+    private long _eventNanos;
+    private long _batchEventNanos;
+
+    /**
+     * MoveBatcher constructor
+     *
+     * @param model the model the moves are applied to
+     */
+    MoveBatcher(SquaresModel model) {
+        _model = model;
+        _choreographer = Choreographer.getInstance();
+    }
+
+    /**
+     * setHintService
+     *
+     * @param hintService   the service told about every applied batch, or
+     *                      null for none
+     */
+    void setHintService(HintService hintService) {
+        _hintService = hintService;
+    }
+
+    /**
+     * setEventTime
+     *
+     * this method sets the time of the touch event the next moves are
+     * resolved from.
+     *
+     * @param eventTimeMillis   the time of the event, in the uptime base
+     *                          of MotionEvent.getEventTime()
+     */
+    void setEventTime(long eventTimeMillis) {
+        _eventNanos = eventTimeMillis * 1000000L;
+    }
+
+    /**
+     * offer
+     *
+     * this method queues a move of the empty block for the next frame.
+     *
+     * @param direction the direction the empty block moves in
+     * @return          false if the move would leave the board
+     */
+    boolean offer(int direction) {
+        Board board = _model.getBoard();
+        if (_count == 0) {
+            _board = board;
+            _startEmpty = board.getEmptyIndex();
+            _predictedEmpty = _startEmpty;
+            _batchEventNanos = _eventNanos;
+        }
+
+        int target = Move.target(_predictedEmpty, direction,
+                                 board.getBlocksNum());
+        if (target < 0) {
+            return false;
+        }
+
+        if (_count == _pending.length) {
+            _pending = Arrays.copyOf(_pending, _pending.length * 2);
+        }
+        _pending[_count++] = (byte) direction;
+        _predictedEmpty = target;
+
+        if (!_scheduled) {
+            _scheduled = true;
+            _choreographer.postFrameCallback(this);
+        }
+        return true;
+    }
+
+    /**
+     * offerTap
+     *
+     * this method queues the slide of the block at the given index, and of
+     * every block between it and the empty block, towards the empty block.
+     *
+     * @param index the row-major index of the block that was tapped
+     * @return      the number of moves queued, 0 if the block is not in
+     *              the row or column of the empty block
+     */
+    int offerTap(int index) {
+        Board board = _model.getBoard();
+        int empty = _count == 0 ? board.getEmptyIndex() : _predictedEmpty;
+        int blocksNum = board.getBlocksNum();
+
+        int direction;
+        int count;
+        if (index == empty) {
+            return 0;
+        } else if (index / blocksNum == empty / blocksNum) {
+            direction = index < empty ? Move.LEFT : Move.RIGHT;
+            count = Math.abs(index - empty);
+        } else if (index % blocksNum == empty % blocksNum) {
+            direction = index < empty ? Move.UP : Move.DOWN;
+            count = Math.abs(index - empty) / blocksNum;
+        } else {
+            return 0;
+        }
+
+        for (int i = 0; i < count; i++) {
+            offer(direction);
+        }
+        return count;
+    }
+
+    /**
+     * clear
+     *
+     * this method drops the queued moves, such as when the board is
+     * shuffled or resized.
+     */
+    void clear() {
+        _count = 0;
+    }
+
+    /**
+     * doFrame
+     *
+     * this method applies the queued moves once per frame, unless the board
+     * changed by other means since they were queued.
+     *
+     * @param frameTimeNanos    the time of the frame
+     */
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        _scheduled = false;
+        int count = _count;
+        _count = 0;
+
+        Board board = _model.getBoard();
+        if (count == 0 || board != _board
+            || board.getEmptyIndex() != _startEmpty) {
+            return;
+        }
+
+        if (runLength(0, count) == count) {
+            int index = _predictedEmpty;
+            int blocksNum = board.getBlocksNum();
+            _model.slideBlocks(index / blocksNum, index % blocksNum);
+        } else {
+            _model.applyMoves(_pending, 0, count);
+        }
+
+        // tell the hint service about each run of moves in one direction
+        if (_hintService != null) {
+            int start = 0;
+            while (start < count) {
+                int end = start + runLength(start, count);
+                _hintService.onMoves(board, _pending[start], end - start);
+                start = end;
+            }
+        }
+
+        // the uptime clock and System.nanoTime() share a base on Android
+        if (_batchEventNanos != 0) {
+            INPUT_LATENCY.record(System.nanoTime() - _batchEventNanos);
+        }
+    }
+
+    /**
+     * runLength
+     *
+     * @param start the index of a queued move
+     * @param count the number of queued moves
+     * @return      the number of moves from start in the same direction
+     */
+    private int runLength(int start, int count) {
+        int end = start + 1;
+        while (end < count && _pending[end] == _pending[start]) {
+            end++;
+        }
+        return end - start;
+    }
+}
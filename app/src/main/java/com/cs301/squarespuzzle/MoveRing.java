@@ -0,0 +1,112 @@
+package com.cs301.squarespuzzle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MoveRing
+ *
+ * a bounded single-producer, single-consumer queue of moves, used to hand
+ * moves from the UI thread to the render thread without locking. a move is
+ * the pair of cells it swapped, packed into a long. neither side ever
+ * blocks: offer() fails when the ring is full and poll() when it is empty.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class MoveRing {
+    // returned by poll() when the ring is empty
+    static final long EMPTY = -1L;
+
+    // these variables contain the slots of the ring
+    private final long[] _buffer;
+    private final int _mask;
+
+    // the next slot to read, only advanced by the consumer
+    private final AtomicInteger _head = new AtomicInteger();
+
+    // the next slot to write, only advanced by the producer
+    private final AtomicInteger _tail = new AtomicInteger();
+
+    /**
+     * MoveRing constructor
+     *
+     * @param capacity  the number of moves the ring holds, a power of two
+     */
+    MoveRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two");
+        }
+        _buffer = new long[capacity];
+        _mask = capacity - 1;
+    }
+
+    /**
+     * offer
+     *
+     * this method is called by the producer to add a move.
+     *
+     * @param first     the index of the first changed cell
+     * @param second    the index of the second changed cell
+     * @return          false if the ring is full
+     */
+    boolean offer(int first, int second) {
+        int tail = _tail.get();
+        if (tail - _head.get() == _buffer.length) {
+            return false;
+        }
+
+        _buffer[tail & _mask] = ((long) first << 32) | (second & 0xFFFFFFFFL);
+
+        // the ordered store publishes the slot before the new tail
+        _tail.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * poll
+     *
+     * this method is called by the consumer to take the oldest move.
+     *
+     * @return  the packed move, or EMPTY if there is none
+     */
+    long poll() {
+        int head = _head.get();
+        if (head == _tail.get()) {
+            return EMPTY;
+        }
+
+        long move = _buffer[head & _mask];
+        _head.lazySet(head + 1);
+        return move;
+    }
+
+    /**
+     * clear
+     *
+     * this method is called by the consumer to drop every queued move. the
+     * producer must not be adding moves at the same time.
+     */
+    void clear() {
+        _head.lazySet(_tail.get());
+    }
+
+    /**
+     * first
+     *
+     * @param move  a packed move
+     * @return      the index of the first changed cell
+     */
+    static int first(long move) {
+        return (int) (move >>> 32);
+    }
+
+    /**
+     * second
+     *
+     * @param move  a packed move
+     * @return      the index of the second changed cell
+     */
+    static int second(long move) {
+        return (int) move;
+    }
+}
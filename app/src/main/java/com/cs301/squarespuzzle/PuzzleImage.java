@@ -0,0 +1,132 @@
+package com.cs301.squarespuzzle;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.net.Uri;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PuzzleImage
+ *
+ * decodes the picture of the picture mode into a single square bitmap the
+ * size of the table. the image is first read for its size only, then
+ * decoded with the largest power of two inSampleSize that still keeps it
+ * at least the size of the table, so a photo of many megapixels is never
+ * decoded in full. the center square of that is scaled into the table
+ * bitmap and the decoded image is recycled at once.
+ *
+ * the table bitmap is the only one kept. every block is drawn from its own
+ * slice of it, so a new board size slices the same bitmap again without
+ * decoding anything.
+ *
+ * decoding reads the image, so it is done off the UI thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+final class PuzzleImage {
+    // the length of the table bitmap in pixels
+    static final int SIZE = (int) SquaresView.TABLE_LENGTH;
+
+    /**
+     * PuzzleImage constructor
+     *
+     * the PuzzleImage class only has static methods and is never
+     * instantiated.
+     */
+    private PuzzleImage() {
+    }
+
+    /**
+     * decode
+     *
+     * @param resolver      the resolver that opens the image
+     * @param uri           the image, such as one picked by the user
+     * @return              a SIZE by SIZE bitmap of the center of the image
+     * @throws IOException  if the image cannot be read or decoded
+     */
+    static Bitmap decode(ContentResolver resolver, Uri uri)
+            throws IOException {
+        // read the size of the image without decoding it
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        InputStream in = open(resolver, uri);
+        try {
+            BitmapFactory.decodeStream(in, null, bounds);
+        } finally {
+            in.close();
+        }
+        if (bounds.outWidth <= 0 || bounds.outHeight <= 0) {
+            throw new IOException("not an image: " + uri);
+        }
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize(Math.min(bounds.outWidth,
+                                                   bounds.outHeight));
+        Bitmap decoded;
+        in = open(resolver, uri);
+        try {
+            decoded = BitmapFactory.decodeStream(in, null, options);
+        } finally {
+            in.close();
+        }
+        if (decoded == null) {
+            throw new IOException("cannot decode " + uri);
+        }
+
+        // scale the center square of the image into the table bitmap
+        int width = decoded.getWidth();
+        int height = decoded.getHeight();
+        int side = Math.min(width, height);
+        int left = (width - side) / 2;
+        int top = (height - side) / 2;
+
+        Bitmap image = Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888);
+        new Canvas(image).drawBitmap(decoded,
+                                     new Rect(left, top, left + side,
+                                              top + side),
+                                     new Rect(0, 0, SIZE, SIZE),
+                                     new Paint(Paint.FILTER_BITMAP_FLAG));
+        decoded.recycle();
+        return image;
+    }
+
+    /**
+     * open
+     *
+     * @param resolver      the resolver of the app
+     * @param uri           the picture to read
+     * @return              a stream of the picture
+     * @throws IOException  if the picture cannot be opened, including when
+     *                      its provider has nothing to read
+     */
+    private static InputStream open(ContentResolver resolver, Uri uri)
+            throws IOException {
+        InputStream in = resolver.openInputStream(uri);
+        if (in == null) {
+            throw new IOException("cannot open " + uri);
+        }
+        return in;
+    }
+
+    /**
+     * sampleSize
+     *
+     * @param side  the length of the shorter side of the image, in pixels
+     * @return      the largest power of two that divides the side down to
+     *              no less than SIZE, or 1 if it is smaller already
+     */
+    static int sampleSize(int side) {
+        int sampleSize = 1;
+        while (side / (sampleSize * 2) >= SIZE) {
+            sampleSize *= 2;
+        }
+        return sampleSize;
+    }
+}
@@ -0,0 +1,524 @@
+package com.cs301.squarespuzzle;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Process;
+import android.view.Choreographer;
+import android.view.SurfaceHolder;
+
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * RenderThread
+ *
+ * the render loop of SquaresView. it keeps its own copy of the board and
+ * draws it onto the surface with lockCanvas() and unlockCanvasAndPost(),
+ * paced to vsync by a Choreographer on this thread. frames are only drawn
+ * while something changed or a block is still sliding, and only the region
+ * that changed is locked.
+ *
+ * the UI thread never waits for drawing:
+ *
+ *      * moves are handed over through a lock-free MoveRing
+ *      * a shuffle, a reset or a full ring hands over a copy of the whole
+ *        board instead, under a lock that is only held for the copy
+ *      * hints and the picture are handed over through volatile fields
+ *      * the zoom and pan are handed over under a lock that is only held
+ *        for the three values
+ *
+ * only surfaceDestroyed() waits, for the frame being drawn, because the
+ * surface must not be used after it returns.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class RenderThread extends HandlerThread implements Choreographer.FrameCallback {
+    // the number of moves that can be waiting for the next frame
+    private static final int RING_CAPACITY = 256;
+
+    // the number of blocks that can slide at the same time
+    private static final int MAX_SLIDES = 64;
+
+    // the time a block takes to slide into the empty block
+    private static final long SLIDE_NANOS = 120000000L;
+
+    // these variables contain the metrics of every drawn frame
+    private static final Histogram DRAW_TIME =
+            MetricsRegistry.getDefault().histogram("render.draw");
+    private static final Histogram FRAME_INTERVAL =
+            MetricsRegistry.getDefault().histogram("render.interval");
+
+    // these variables are shared with the UI thread
+    private final MoveRing _moves = new MoveRing(RING_CAPACITY);
+    private final Object _syncLock = new Object();
+    private int[] _staging;
+    private int _stagingSize;
+    private volatile boolean _syncPending;
+    private volatile Hint _hint;
+    private volatile Bitmap _image;
+    private final Object _viewportLock = new Object();
+    private float _stagedZoom = 1f;
+    private float _stagedPanX;
+    private float _stagedPanY;
+    private volatile boolean _viewportPending;
+    private final AtomicBoolean _frameScheduled = new AtomicBoolean();
+    private Handler _handler;
+
+    // the surface, guarded by the surface lock while a frame is drawn
+    private final Object _surfaceLock = new Object();
+    private SurfaceHolder _holder;
+    private boolean _surfaceChanged;
+
+    // these variables are only touched on the render thread
+    private Choreographer _choreographer;
+    private final TileRenderer _renderer = new TileRenderer();
+    private final FrameStats _stats =
+            new FrameStats(FrameStats.DEFAULT_FRAME_INTERVAL_NANOS);
+    private int[] _tiles;
+    private int _blocksNum;
+    private Hint _drawnHint;
+    private Bitmap _drawnImage;
+    private boolean _fullRedraw;
+    private boolean _animating;
+    private long _lastFrameNanos;
+    private final Rect _dirty = new Rect();
+    private final Rect _block = new Rect();
+    private final Rect _clip = new Rect();
+
+    // these variables contain the sliding blocks, packed at the front
+    private int[] _slideOf;
+    private final int[] _slideValue = new int[MAX_SLIDES];
+    private final int[] _slideFrom = new int[MAX_SLIDES];
+    private final int[] _slideTo = new int[MAX_SLIDES];
+    private final long[] _slideStart = new long[MAX_SLIDES];
+    private int _slideCount;
+
+    // schedules the next frame from the render thread
+    private final Runnable _postFrame = new Runnable() {
+        @Override
+        public void run() {
+            _choreographer.postFrameCallback(RenderThread.this);
+        }
+    };
+
+    /**
+     * RenderThread constructor
+     */
+    RenderThread() {
+        super("squares-render", Process.THREAD_PRIORITY_DISPLAY);
+    }
+
+    @Override
+    public synchronized void start() {
+        super.start();
+        _handler = new Handler(getLooper());
+        wake();
+    }
+
+    @Override
+    protected void onLooperPrepared() {
+        _choreographer = Choreographer.getInstance();
+    }
+
+    /**
+     * setSurface
+     *
+     * this method is called on the UI thread when the surface is created,
+     * changed or destroyed. it waits for the frame being drawn, if any.
+     *
+     * @param holder    the holder of the surface, or null when destroyed
+     */
+    void setSurface(SurfaceHolder holder) {
+        synchronized (_surfaceLock) {
+            _holder = holder;
+            _surfaceChanged = true;
+        }
+        wake();
+    }
+
+    /**
+     * postMove
+     *
+     * this method is called on the UI thread after a move. it falls back to
+     * a copy of the whole board when a copy is already waiting, so moves
+     * are never applied on top of an older copy, or when the ring is full.
+     *
+     * @param first     the index of the first changed block
+     * @param second    the index of the second changed block
+     * @param board     the board after the move
+     */
+    void postMove(int first, int second, Board board) {
+        if (_syncPending || !_moves.offer(first, second)) {
+            requestSync(board);
+        } else {
+            wake();
+        }
+    }
+
+    /**
+     * requestSync
+     *
+     * this method is called on the UI thread to hand over a copy of the
+     * whole board, which replaces every move queued before it.
+     *
+     * @param board the board to draw
+     */
+    void requestSync(Board board) {
+        synchronized (_syncLock) {
+            if (_staging == null || _staging.length != board.getLength()) {
+                _staging = new int[board.getLength()];
+            }
+            board.copyTo(_staging);
+            _stagingSize = board.getBlocksNum();
+            _syncPending = true;
+        }
+        wake();
+    }
+
+    /**
+     * setHint
+     *
+     * this method is called on the UI thread to change the hint.
+     *
+     * @param index the index of the block to move, or -1 for none
+     * @param label the moves left label, or null for none
+     */
+    void setHint(int index, String label) {
+        _hint = new Hint(index, label);
+        wake();
+    }
+
+    /**
+     * setImage
+     *
+     * this method is called on the UI thread to change the picture the
+     * blocks are sliced from. the picture it replaces is recycled by the
+     * render thread once it is no longer drawn.
+     *
+     * @param image the picture, or null to draw the labels
+     */
+    void setImage(Bitmap image) {
+        _image = image;
+        wake();
+    }
+
+    /**
+     * setViewport
+     *
+     * this method is called on the UI thread when the table is zoomed or
+     * panned.
+     *
+     * @param zoom  the scale of the table on screen
+     * @param panX  the screen x coordinate of the window's left edge
+     * @param panY  the screen y coordinate of the window's top edge
+     */
+    void setViewport(float zoom, float panX, float panY) {
+        synchronized (_viewportLock) {
+            _stagedZoom = zoom;
+            _stagedPanX = panX;
+            _stagedPanY = panY;
+            _viewportPending = true;
+        }
+        wake();
+    }
+
+    /**
+     * getFrameStats
+     *
+     * @return  the frame-time statistics of the loop
+     */
+    FrameStats getFrameStats() {
+        return _stats;
+    }
+
+    /**
+     * wake
+     *
+     * this method schedules a frame unless one is already scheduled.
+     */
+    private void wake() {
+        if (_handler != null && _frameScheduled.compareAndSet(false, true)) {
+            _handler.post(_postFrame);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        _frameScheduled.set(false);
+        applyPending(frameTimeNanos);
+
+        boolean drawing;
+        synchronized (_surfaceLock) {
+            if (_surfaceChanged) {
+                _surfaceChanged = false;
+                _fullRedraw = true;
+            }
+            drawing = _holder != null && _tiles != null;
+            if (drawing) {
+                drawFrame(_holder, frameTimeNanos);
+            }
+        }
+
+        // keep the loop running while a block is sliding on the surface
+        _animating = drawing && _slideCount > 0;
+        if (_animating && _frameScheduled.compareAndSet(false, true)) {
+            _choreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * applyPending
+     *
+     * this method applies the board copy, the picture, the viewport, the
+     * moves and the hint handed over by the UI thread since the last frame.
+     *
+     * @param now   the time of the frame
+     */
+    void applyPending(long now) {
+        if (_syncPending) {
+            synchronized (_syncLock) {
+                _moves.clear();
+                if (_tiles == null || _blocksNum != _stagingSize) {
+                    _blocksNum = _stagingSize;
+                    _tiles = new int[_staging.length];
+                    _slideOf = new int[_staging.length];
+                    _renderer.setSize(_blocksNum);
+                }
+                System.arraycopy(_staging, 0, _tiles, 0, _tiles.length);
+                _syncPending = false;
+            }
+
+            Arrays.fill(_slideOf, -1);
+            _slideCount = 0;
+            _fullRedraw = true;
+        }
+
+        // only one picture is kept, so the one replaced is recycled here
+        Bitmap image = _image;
+        if (image != _drawnImage) {
+            if (_drawnImage != null) {
+                _drawnImage.recycle();
+            }
+            _renderer.setImage(image);
+            _drawnImage = image;
+            _fullRedraw = true;
+        }
+
+        // every block moves on screen, so the whole surface is redrawn
+        if (_viewportPending && _tiles != null) {
+            synchronized (_viewportLock) {
+                _renderer.setViewport(_stagedZoom, _stagedPanX, _stagedPanY);
+                _viewportPending = false;
+            }
+            _fullRedraw = true;
+        }
+
+        long move;
+        while ((move = _moves.poll()) != MoveRing.EMPTY) {
+            if (_tiles != null) {
+                applyMove(MoveRing.first(move), MoveRing.second(move), now);
+            }
+        }
+
+        Hint hint = _hint;
+        if (hint != _drawnHint && _tiles != null) {
+            if (_drawnHint != null && _drawnHint._index >= 0) {
+                addDirty(_drawnHint._index);
+            }
+            if (hint._index >= 0 && hint._index < _tiles.length) {
+                addDirty(hint._index);
+            }
+            _renderer.labelBounds(_block);
+            _dirty.union(_block);
+            _drawnHint = hint;
+        }
+    }
+
+    /**
+     * applyMove
+     *
+     * this method swaps two blocks of the copy and starts the slide of the
+     * block that moved into the empty block.
+     *
+     * @param first     the index of the first changed block
+     * @param second    the index of the second changed block
+     * @param now       the time of the frame
+     */
+    private void applyMove(int first, int second, long now) {
+        int value = _tiles[first];
+        _tiles[first] = _tiles[second];
+        _tiles[second] = value;
+
+        // the block moved to where the value is not zero any more
+        int to = _tiles[first] != 0 ? first : second;
+        int from = to == first ? second : first;
+
+        // a block that is still sliding restarts from where it is now
+        if (_slideOf[from] >= 0) {
+            removeSlide(_slideOf[from]);
+        }
+        if (_slideCount == MAX_SLIDES) {
+            removeSlide(0);
+        }
+
+        int slide = _slideCount++;
+        _slideValue[slide] = _tiles[to];
+        _slideFrom[slide] = from;
+        _slideTo[slide] = to;
+        _slideStart[slide] = now;
+        _slideOf[to] = slide;
+
+        addDirty(from);
+        addDirty(to);
+    }
+
+    /**
+     * removeSlide
+     *
+     * this method ends a slide and moves the last slide into its place.
+     *
+     * @param slide the index of the slide
+     */
+    private void removeSlide(int slide) {
+        addDirty(_slideTo[slide]);
+        _slideOf[_slideTo[slide]] = -1;
+
+        int last = --_slideCount;
+        if (slide != last) {
+            _slideValue[slide] = _slideValue[last];
+            _slideFrom[slide] = _slideFrom[last];
+            _slideTo[slide] = _slideTo[last];
+            _slideStart[slide] = _slideStart[last];
+            _slideOf[_slideTo[slide]] = slide;
+        }
+    }
+
+    /**
+     * addDirty
+     *
+     * @param index the index of a block to redraw in the next frame
+     */
+    private void addDirty(int index) {
+        _renderer.blockBounds(index, _block);
+        _dirty.union(_block);
+    }
+
+    /**
+     * drawFrame
+     *
+     * this method locks the changed region of the surface, draws it and
+     * posts it, and records the time it took.
+     *
+     * @param holder    the holder of the surface
+     * @param now       the time of the frame
+     */
+    private void drawFrame(SurfaceHolder holder, long now) {
+        // every sliding block moves, so both of its blocks are redrawn
+        for (int slide = 0; slide < _slideCount; slide++) {
+            addDirty(_slideFrom[slide]);
+            addDirty(_slideTo[slide]);
+        }
+        if (!_fullRedraw && _dirty.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Canvas canvas = _fullRedraw ? holder.lockCanvas()
+                                    : holder.lockCanvas(_dirty);
+        if (canvas == null) {
+            return;
+        }
+        try {
+            draw(canvas, now);
+        } finally {
+            holder.unlockCanvasAndPost(canvas);
+        }
+
+        long interval = _animating ? now - _lastFrameNanos : 0;
+        long drawNanos = System.nanoTime() - start;
+        _stats.record(interval, drawNanos);
+        DRAW_TIME.record(drawNanos);
+        if (interval > 0) {
+            FRAME_INTERVAL.record(interval);
+        }
+        _lastFrameNanos = now;
+    }
+
+    /**
+     * draw
+     *
+     * this method draws the region of the copy inside the clip bounds of
+     * the canvas, with the sliding blocks at their current positions. it
+     * ends the slides that have finished, and it allocates nothing.
+     *
+     * @param canvas    the canvas on which to draw
+     * @param now       the time of the frame
+     */
+    void draw(Canvas canvas, long now) {
+        // blocks that have arrived are drawn at rest
+        for (int slide = _slideCount - 1; slide >= 0; slide--) {
+            if (now - _slideStart[slide] >= SLIDE_NANOS) {
+                removeSlide(slide);
+            }
+        }
+
+        int saveCount = _renderer.begin(canvas, _clip);
+        _renderer.drawValues(canvas, _tiles, _clip, _slideOf);
+
+        for (int slide = 0; slide < _slideCount; slide++) {
+            // ease out, so the block slows down as it arrives
+            float t = (now - _slideStart[slide]) / (float) SLIDE_NANOS;
+            float eased = 1 - (1 - t) * (1 - t);
+
+            int from = _slideFrom[slide];
+            int to = _slideTo[slide];
+            float row = from / _blocksNum
+                        + (to / _blocksNum - from / _blocksNum) * eased;
+            float col = from % _blocksNum
+                        + (to % _blocksNum - from % _blocksNum) * eased;
+            _renderer.drawValue(canvas, _slideValue[slide], to, row, col);
+        }
+
+        Hint hint = _drawnHint;
+        if (hint != null) {
+            _renderer.drawHint(canvas, hint._index);
+        }
+        _renderer.end(canvas, saveCount);
+
+        if (hint != null) {
+            _renderer.drawHintLabel(canvas, hint._label);
+        }
+
+        _dirty.setEmpty();
+        _fullRedraw = false;
+    }
+
+    /**
+     * Hint
+     *
+     * the hint handed over by the UI thread.
+     */
+    private static class Hint {
+        // these variables contain the block to move and the label
+        private final int _index;
+        private final String _label;
+
+        /**
+         * Hint constructor
+         *
+         * @param index the index of the block to move, or -1 for none
+         * @param label the moves left label, or null for none
+         */
+        Hint(int index, String label) {
+            _index = index;
+            _label = label;
+        }
+    }
+}
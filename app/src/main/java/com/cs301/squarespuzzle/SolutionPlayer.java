@@ -0,0 +1,504 @@
+package com.cs301.squarespuzzle;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.view.Choreographer;
+
+import com.cs301.squarespuzzle.solver.MoveSink;
+import com.cs301.squarespuzzle.solver.ReductionSolver;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * SolutionPlayer
+ *
+ * plays a solution of the board back through the model, at any speed from
+ * a slow demonstration to thousands of moves per second. playback is
+ * driven by vsync: every frame applies the moves that are due with one
+ * applyMoves() call straight out of the solution, so the view redraws the
+ * latest board once per frame however many moves it took, and nothing is
+ * allocated per move. the moves due are measured from the time between
+ * frames, and a frame that comes late only catches up a bounded amount,
+ * so a stall never leaves a backlog to play through.
+ *
+ * slow enough that every move gets its own frame, each move is made as a
+ * slide, so the render thread animates the block.
+ *
+ * the solution is found from a snapshot of the model by a ReductionSolver
+ * on a background thread. it is dropped as soon as the board changes by
+ * any other means, such as a touch or a new puzzle, since it no longer
+ * solves the board. playback can be paused and sought through the moves,
+ * which moves the board to the state after that many moves.
+ *
+ * a player is owned by the UI thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class SolutionPlayer implements Choreographer.FrameCallback,
+        SquaresModel.OnChangeListener {
+    // the largest board that is solved for playback
+    static final int MAX_BLOCKS_NUM = 32;
+
+    // these constants define the speeds playback can run at
+    static final double MIN_MOVES_PER_SECOND = 1;
+    static final double MAX_MOVES_PER_SECOND = 10000;
+
+    // the fastest speed at which every move is animated as a slide
+    private static final double SLIDE_MOVES_PER_SECOND = 8;
+
+    // the longest time between frames that is caught up on
+    private static final long MAX_FRAME_NANOS = 100000000L;
+
+    // the number of moves the solution holds before it grows
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * OnPlaybackListener
+     *
+     * the interface for being told when the solution, its position or the
+     * state of playback changed, at most once per frame.
+     */
+    interface OnPlaybackListener {
+        /**
+         * onPlaybackChanged
+         *
+         * @param position  the number of moves made, from 0 to length
+         * @param length    the number of moves of the solution, 0 if there
+         *                  is none
+         * @param playing   true if the moves are being played
+         */
+        void onPlaybackChanged(int position, int length, boolean playing);
+    }
+
+    // these variables contain the model and the services told about changes
+    private final SquaresModel _model;
+    private final Choreographer _choreographer;
+    private OnPlaybackListener _listener;
+    private HintService _hintService;
+
+    // these variables find the solution in the background
+    private final Handler _mainHandler;
+    private final ExecutorService _executor;
+    private boolean _solving;
+
+    // these variables contain the solution, null if there is none
+    private byte[] _moves;
+    private int _length;
+    private int _position;
+    private int _journalStart;
+
+    // these variables contain the state of playback
+    private double _movesPerSecond = 100;
+    private double _due;
+    private long _lastFrameNanos;
+    private boolean _playing;
+    private boolean _scheduled;
+    private boolean _applying;
+
+    /**
+     * SolutionPlayer constructor
+     *
+     * @param model the model the solution is played on
+     */
+    SolutionPlayer(SquaresModel model) {
+        _model = model;
+        _choreographer = Choreographer.getInstance();
+        _mainHandler = new Handler(Looper.getMainLooper());
+        _executor = Executors.newSingleThreadExecutor();
+        _model.addOnChangeListener(this);
+    }
+
+    /**
+     * setOnPlaybackListener
+     *
+     * @param listener  the listener told about every change to playback,
+     *                  or null for none
+     */
+    void setOnPlaybackListener(OnPlaybackListener listener) {
+        _listener = listener;
+    }
+
+    /**
+     * setHintService
+     *
+     * @param hintService   the service told about the board whenever
+     *                      playback stops, or null for none
+     */
+    void setHintService(HintService hintService) {
+        _hintService = hintService;
+    }
+
+    /**
+     * setMovesPerSecond
+     *
+     * @param movesPerSecond    the speed of playback, clamped to the range
+     *                          from MIN_MOVES_PER_SECOND to
+     *                          MAX_MOVES_PER_SECOND
+     */
+    void setMovesPerSecond(double movesPerSecond) {
+        _movesPerSecond = Math.max(MIN_MOVES_PER_SECOND,
+                                   Math.min(MAX_MOVES_PER_SECOND,
+                                            movesPerSecond));
+    }
+
+    /**
+     * solve
+     *
+     * this method starts finding a solution of the current board in the
+     * background, and plays it once it is found unless the board changed
+     * meanwhile.
+     *
+     * @return  false if the board is too large or a solution is already
+     *          being found
+     */
+    boolean solve() {
+        if (_solving || _model.getBlocksNum() > MAX_BLOCKS_NUM) {
+            return false;
+        }
+
+        _solving = true;
+        final BoardSnapshot snapshot = _model.snapshot();
+        _executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                int[] tiles = new int[snapshot.getLength()];
+                snapshot.copyTo(tiles);
+
+                final MoveCollector collector = new MoveCollector();
+                new ReductionSolver(snapshot.getBlocksNum())
+                        .solve(tiles, collector);
+                _mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        onSolved(snapshot.getVersion(), collector._moves,
+                                 collector._count);
+                    }
+                });
+            }
+        });
+        return true;
+    }
+
+    /**
+     * play
+     *
+     * this method starts or resumes playback, unless there is no solution
+     * or it has been played to the end.
+     */
+    void play() {
+        if (_moves == null || _playing || _position == _length) {
+            return;
+        }
+
+        _playing = true;
+        _due = 0;
+        _lastFrameNanos = 0;
+        schedule();
+        notifyListener();
+    }
+
+    /**
+     * pause
+     *
+     * this method stops playback where it is, so it can be resumed.
+     */
+    void pause() {
+        if (!_playing) {
+            return;
+        }
+
+        _playing = false;
+        notifyListener();
+        resetHint();
+    }
+
+    /**
+     * seek
+     *
+     * this method moves the board to the state after the given number of
+     * moves of the solution. going back uses the history of the model, and
+     * going forward applies the moves in between with one call, so either
+     * way the view redraws once.
+     *
+     * @param position  the number of moves, clamped to the solution
+     */
+    void seek(int position) {
+        if (_moves == null) {
+            return;
+        }
+
+        position = Math.max(0, Math.min(_length, position));
+        if (position == _position) {
+            return;
+        }
+
+        _applying = true;
+        try {
+            if (position < _position) {
+                _model.seekMove(_journalStart + position);
+            } else {
+                _model.applyMoves(_moves, _position, position - _position);
+            }
+        } finally {
+            _applying = false;
+        }
+        _position = position;
+        _due = 0;
+
+        if (_position == _length) {
+            _playing = false;
+        }
+        notifyListener();
+        if (!_playing) {
+            resetHint();
+        }
+    }
+
+    /**
+     * isPlaying
+     *
+     * @return  true if the moves are being played
+     */
+    boolean isPlaying() {
+        return _playing;
+    }
+
+    /**
+     * hasSolution
+     *
+     * @return  true if there is a solution to play or seek through
+     */
+    boolean hasSolution() {
+        return _moves != null;
+    }
+
+    /**
+     * shutdown
+     *
+     * this method stops playback and the background thread.
+     */
+    void shutdown() {
+        _playing = false;
+        _choreographer.removeFrameCallback(this);
+        _scheduled = false;
+        _model.removeOnChangeListener(this);
+        _executor.shutdownNow();
+    }
+
+    /**
+     * doFrame
+     *
+     * this method applies the moves that came due since the last frame.
+     *
+     * @param frameTimeNanos    the time of the frame
+     */
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        _scheduled = false;
+        if (!_playing) {
+            return;
+        }
+
+        // the first frame only starts the clock
+        if (_lastFrameNanos != 0) {
+            long elapsed = Math.min(frameTimeNanos - _lastFrameNanos,
+                                    MAX_FRAME_NANOS);
+            _due += elapsed * _movesPerSecond / 1e9;
+        }
+        _lastFrameNanos = frameTimeNanos;
+
+        int count = (int) Math.min(_due, _length - _position);
+        if (count > 0) {
+            _due -= count;
+            step(count);
+        }
+
+        if (_position == _length) {
+            _playing = false;
+            notifyListener();
+            resetHint();
+        } else {
+            if (count > 0) {
+                notifyListener();
+            }
+            schedule();
+        }
+    }
+
+    /**
+     * onMove
+     *
+     * this method is called by the model after a move, which drops the
+     * solution unless the player made it.
+     *
+     * @param from      the index the empty block moved from
+     * @param to        the index the empty block moved to
+     * @param version   the version of the model after the move
+     */
+    @Override
+    public void onMove(int from, int to, long version) {
+        if (!_applying) {
+            drop();
+        }
+    }
+
+    /**
+     * onMoves
+     *
+     * this method is called by the model after a run of moves, which drops
+     * the solution unless the player made it.
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move
+     * @param count     the number of moves
+     * @param version   the version of the model after the last move
+     */
+    @Override
+    public void onMoves(byte[] moves, int offset, int count, long version) {
+        if (!_applying) {
+            drop();
+        }
+    }
+
+    /**
+     * onBoardChanged
+     *
+     * this method is called by the model after any other change, which
+     * drops the solution unless the player made it.
+     *
+     * @param version   the version of the model after the change
+     */
+    @Override
+    public void onBoardChanged(long version) {
+        if (!_applying) {
+            drop();
+        }
+    }
+
+    /**
+     * step
+     *
+     * this method makes the next moves of the solution.
+     *
+     * @param count the number of moves, at least 1
+     */
+    private void step(int count) {
+        _applying = true;
+        try {
+            if (count == 1 && _movesPerSecond <= SLIDE_MOVES_PER_SECOND) {
+                Board board = _model.getBoard();
+                int blocksNum = board.getBlocksNum();
+                int target = Move.target(board.getEmptyIndex(),
+                                         _moves[_position], blocksNum);
+                _model.slideBlocks(target / blocksNum, target % blocksNum);
+            } else {
+                _model.applyMoves(_moves, _position, count);
+            }
+        } finally {
+            _applying = false;
+        }
+        _position += count;
+    }
+
+    /**
+     * onSolved
+     *
+     * this method runs on the UI thread and plays a solution, unless the
+     * board changed since it was copied.
+     *
+     * @param version   the version of the model the board was copied at
+     * @param moves     the moves of the solution
+     * @param length    the number of moves
+     */
+    private void onSolved(long version, byte[] moves, int length) {
+        _solving = false;
+        if (version != _model.getVersion()) {
+            return;
+        }
+
+        _moves = moves;
+        _length = length;
+        _position = 0;
+        _journalStart = _model.getJournal().getPosition();
+        _playing = false;
+        notifyListener();
+        play();
+    }
+
+    /**
+     * drop
+     *
+     * this method forgets the solution, which no longer solves the board.
+     */
+    private void drop() {
+        if (_moves == null) {
+            return;
+        }
+
+        _moves = null;
+        _length = 0;
+        _position = 0;
+        _playing = false;
+        notifyListener();
+    }
+
+    /**
+     * schedule
+     *
+     * this method asks for the next frame unless one is already asked for.
+     */
+    private void schedule() {
+        if (!_scheduled) {
+            _scheduled = true;
+            _choreographer.postFrameCallback(this);
+        }
+    }
+
+    /**
+     * resetHint
+     *
+     * this method tells the hint service about the board playback stopped
+     * on, since it was not told about the moves.
+     */
+    private void resetHint() {
+        if (_hintService != null) {
+            _hintService.onReset(_model.getBoard());
+        }
+    }
+
+    /**
+     * notifyListener
+     */
+    private void notifyListener() {
+        if (_listener != null) {
+            _listener.onPlaybackChanged(_position, _length, _playing);
+        }
+    }
+
+    /**
+     * MoveCollector
+     *
+     * the sink that keeps every move of a solution, on the background
+     * thread.
+     */
+    private static class MoveCollector implements MoveSink {
+        // these variables contain the moves so far
+        byte[] _moves = new byte[INITIAL_CAPACITY];
+        int _count;
+
+        @Override
+        public void onMoves(byte[] moves, int offset, int count) {
+            if (_count + count > _moves.length) {
+                _moves = Arrays.copyOf(_moves, Math.max(_moves.length * 2,
+                                                        _count + count));
+            }
+            System.arraycopy(moves, offset, _moves, _count, count);
+            _count += count;
+        }
+    }
+}
@@ -2,7 +2,17 @@ package com.cs301.squarespuzzle;
 
 import android.view.View;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.widget.Button;
 import android.widget.SeekBar;
+import android.widget.TextView;
+
+import com.cs301.squarespuzzle.generator.Difficulty;
+import com.cs301.squarespuzzle.generator.PuzzlePool;
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import java.util.Locale;
 
 /**
  * SquaresController
@@ -11,15 +21,71 @@ import android.widget.SeekBar;
  * information about the view and model that it controls. the controller is
  * responsible for handling user input and modifying the model accordingly.
  *
+ * one finger moves blocks, and two fingers zoom and pan the table. a touch
+ * that has used two fingers does not move blocks until every finger is up.
+ *
+ * the solve button finds a solution and plays it, pauses it and resumes
+ * it, and two seek bars seek through the solution and set its speed. the
+ * difficulty button selects the difficulty of the next puzzles.
+ *
  * @author Bryce Kwon
  * @version February 21, 2021
  */
 public class SquaresController implements View.OnClickListener,
-        View.OnTouchListener, SeekBar.OnSeekBarChangeListener {
+        View.OnTouchListener, SeekBar.OnSeekBarChangeListener,
+        SolutionPlayer.OnPlaybackListener {
+    // these constants define the sizes the seek bar can select
+    public static final int MIN_BLOCKS_NUM = 2;
+    public static final int MAX_BLOCKS_NUM = 1000;
+
     // these variables contain information about the table
     private SquaresView _squaresView;
     private SquaresModel _squaresModel;
 
+    // the distance on screen a touch moves before it is a swipe
+    private static final float SWIPE_SLOP = 24f;
+
+    // the time each touch event takes to handle
+    private static final Histogram TOUCH_TIME =
+            MetricsRegistry.getDefault().histogram("input.touch");
+
+    // these variables contain information about the current swipe
+    private final MoveBatcher _moveBatcher;
+    private float _downX;
+    private float _downY;
+    private boolean _swiping;
+    private boolean _horizontal;
+    private int _swipeMoves;
+
+    // these variables contain information about zooming and panning
+    private final ScaleGestureDetector _scaleDetector;
+    private float _lastFocusX;
+    private float _lastFocusY;
+    private boolean _gesturing;
+
+    // the label that shows the size selected on the seek bar, if any
+    private TextView _sizeLabel;
+
+    // the service that keeps the hint up to date, if any
+    private HintService _hintService;
+
+    // these variables contain the source of new puzzles, if any
+    private PuzzlePool _puzzlePool;
+    private Difficulty _difficulty = Difficulty.MEDIUM;
+    private Button _difficultyButton;
+
+    // the version of the model a puzzle was last requested at, or -1 if
+    // none is awaited
+    private long _puzzleVersion = -1;
+
+    // the number of steps of the speed seek bar for each factor of ten
+    public static final int SPEED_STEPS_PER_DECADE = 10;
+
+    // these variables contain the solution playback and its controls, if any
+    private SolutionPlayer _solutionPlayer;
+    private Button _solveButton;
+    private SeekBar _solutionBar;
+
     /**
      * SquaresController constructor
      *
@@ -31,39 +97,327 @@ public class SquaresController implements View.OnClickListener,
     public SquaresController(SquaresView view) {
         this._squaresView = view;
         this._squaresModel = view.getModel();
+        this._moveBatcher = new MoveBatcher(_squaresModel);
+        this._scaleDetector = new ScaleGestureDetector(view.getContext(),
+                new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+                    @Override
+                    public boolean onScaleBegin(ScaleGestureDetector detector) {
+                        _lastFocusX = detector.getFocusX();
+                        _lastFocusY = detector.getFocusY();
+                        return true;
+                    }
+
+                    @Override
+                    public boolean onScale(ScaleGestureDetector detector) {
+                        // pinching zooms and moving both fingers pans
+                        float focusX = detector.getFocusX();
+                        float focusY = detector.getFocusY();
+                        _squaresView.panBy(focusX - _lastFocusX,
+                                           focusY - _lastFocusY);
+                        _squaresView.zoomBy(detector.getScaleFactor(),
+                                            focusX, focusY);
+                        _lastFocusX = focusX;
+                        _lastFocusY = focusY;
+                        return true;
+                    }
+                });
+    }
+
+    /**
+     * setSizeLabel
+     *
+     * this method sets the label that shows the size selected on the seek
+     * bar.
+     *
+     * @param sizeLabel the label, or null for none
+     */
+    public void setSizeLabel(TextView sizeLabel) {
+        _sizeLabel = sizeLabel;
+        updateSizeLabel(_squaresModel.getBlocksNum());
+    }
+
+    /**
+     * setHintService
+     *
+     * this method sets the service that is told about every move and reset
+     * so the hint stays up to date.
+     *
+     * @param hintService   the hint service, or null for no hints
+     */
+    public void setHintService(HintService hintService) {
+        _hintService = hintService;
+        _moveBatcher.setHintService(hintService);
+        if (_solutionPlayer != null) {
+            _solutionPlayer.setHintService(hintService);
+        }
+        if (_hintService != null) {
+            _hintService.onReset(_squaresModel.getBoard());
+        }
+    }
+
+    /**
+     * setPuzzlePool
+     *
+     * this method sets the pool that new puzzles of the selected difficulty
+     * are taken from, and starts filling it for the current size.
+     *
+     * @param puzzlePool    the pool, or null to always shuffle
+     */
+    public void setPuzzlePool(PuzzlePool puzzlePool) {
+        _puzzlePool = puzzlePool;
+        preparePuzzles();
+    }
+
+    /**
+     * setDifficulty
+     *
+     * @param difficulty    the difficulty of the next puzzles
+     */
+    public void setDifficulty(Difficulty difficulty) {
+        _difficulty = difficulty;
+        updateDifficultyButton();
+        preparePuzzles();
+    }
+
+    /**
+     * setDifficultyButton
+     *
+     * this method sets the button that shows the selected difficulty and
+     * selects the next one when clicked.
+     *
+     * @param difficultyButton  the button, or null for none
+     */
+    void setDifficultyButton(Button difficultyButton) {
+        _difficultyButton = difficultyButton;
+        updateDifficultyButton();
+    }
+
+    /**
+     * updateDifficultyButton
+     *
+     * this method shows the selected difficulty on the button, as "Easy",
+     * "Medium" or "Hard".
+     */
+    private void updateDifficultyButton() {
+        if (_difficultyButton != null) {
+            String name = _difficulty.name();
+            _difficultyButton.setText(name.charAt(0)
+                                      + name.substring(1)
+                                              .toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * setSolutionPlayer
+     *
+     * this method sets the player of solutions and the controls that show
+     * it.
+     *
+     * @param solutionPlayer    the player of solutions
+     * @param solveButton       the button that solves, pauses and resumes
+     * @param solutionBar       the seek bar that seeks through the solution
+     */
+    void setSolutionPlayer(SolutionPlayer solutionPlayer, Button solveButton,
+                           SeekBar solutionBar) {
+        _solutionPlayer = solutionPlayer;
+        _solveButton = solveButton;
+        _solutionBar = solutionBar;
+        _solutionPlayer.setHintService(_hintService);
+        _solutionPlayer.setOnPlaybackListener(this);
+        onPlaybackChanged(0, 0, false);
+    }
+
+    /**
+     * onPlaybackChanged
+     *
+     * this method is called by the solution player at most once per frame.
+     * it shows the position of playback and what the solve button does.
+     *
+     * @param position  the number of moves made, from 0 to length
+     * @param length    the number of moves of the solution, 0 if there is
+     *                  none
+     * @param playing   true if the moves are being played
+     */
+    @Override
+    public void onPlaybackChanged(int position, int length, boolean playing) {
+        if (_solutionBar.getMax() != length) {
+            _solutionBar.setMax(length);
+        }
+        _solutionBar.setProgress(position);
+        _solutionBar.setEnabled(length > 0);
+
+        if (playing) {
+            _solveButton.setText("Pause");
+        } else if (_solutionPlayer.hasSolution() && position < length) {
+            _solveButton.setText("Play");
+        } else {
+            _solveButton.setText("Solve");
+        }
     }
 
     /**
      * onClick
      *
-     * this method is called when the user clicks on the reset button. it
-     * resets the table to a random configuration. the table is then redrawn.
+     * this method is called when the user clicks on the reset button, the
+     * solve button or the difficulty button. the reset button resets the
+     * table to a new puzzle, and the model tells the view to redraw the
+     * table. the solve button pauses or resumes the solution, or finds one
+     * if there is none. the difficulty button selects the next difficulty
+     * for the puzzles after this one.
      *
      * @param view  the view that the user clicked on
      */
     @Override
     public void onClick(View view) {
-        _squaresModel.shuffleTable();
-        _squaresView.invalidate();
+        if (view.getId() == R.id.buttonSolve) {
+            toggleSolution();
+            return;
+        } else if (view.getId() == R.id.buttonDifficulty) {
+            Difficulty[] difficulties = Difficulty.values();
+            setDifficulty(difficulties[(_difficulty.ordinal() + 1)
+                                       % difficulties.length]);
+            return;
+        }
+
+        // the model tells the view to redraw the table
+        _moveBatcher.clear();
+        newPuzzle();
+        if (_hintService != null) {
+            _hintService.onReset(_squaresModel.getBoard());
+        }
     }
 
     /**
      * onTouch
      *
-     * this method is called when the user touches the screen. it checks to
-     * see if the user touched a block and if so, it moves the block to the
-     * empty space if valid. the table is then redrawn.
+     * this method is called when the user touches the screen. a touch that
+     * stays in place is a tap, which slides the tapped block and the blocks
+     * between it and the empty space into the empty space. a touch that
+     * moves is a swipe, which slides one block along the swipe as soon as
+     * it starts and one more for every block length after that. every
+     * sample of the touch is read, including the ones batched into a single
+     * event, and the moves are applied once per frame by the move batcher.
      *
      * @param view          the view that the user touched
      * @param motionEvent   the motion event that occurred
-     * @return              true if the event was handled, false otherwise
+     * @return              true, so the rest of the touch is received
      */
     @Override
     public boolean onTouch(View view, MotionEvent motionEvent) {
-        // get the x and y coordinates of the touch location
-        float x = motionEvent.getX();
-        float y = motionEvent.getY();
+        long start = TOUCH_TIME.startTimer();
+        handleTouch(motionEvent);
+        TOUCH_TIME.stopTimer(start);
+
+        // keep receiving the touch, so a second finger can still zoom
+        return true;
+    }
+
+    /**
+     * handleTouch
+     *
+     * this method resolves a touch event into moves for the move batcher.
+     *
+     * @param motionEvent   the motion event that occurred
+     */
+    private void handleTouch(MotionEvent motionEvent) {
+        // a touch that has used two fingers only zooms and pans
+        _scaleDetector.onTouchEvent(motionEvent);
+        int action = motionEvent.getActionMasked();
+        if (action == MotionEvent.ACTION_DOWN) {
+            _gesturing = false;
+        }
+        if (motionEvent.getPointerCount() > 1 || _scaleDetector.isInProgress()) {
+            _gesturing = true;
+        }
+        if (_gesturing) {
+            return;
+        }
+
+        _moveBatcher.setEventTime(motionEvent.getEventTime());
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                _downX = motionEvent.getX();
+                _downY = motionEvent.getY();
+                _swiping = false;
+                _swipeMoves = 0;
+                break;
+            case MotionEvent.ACTION_MOVE:
+                // samples batched since the last event come first
+                for (int i = 0; i < motionEvent.getHistorySize(); i++) {
+                    _moveBatcher.setEventTime(
+                            motionEvent.getHistoricalEventTime(i));
+                    trackSwipe(motionEvent.getHistoricalX(i),
+                               motionEvent.getHistoricalY(i));
+                }
+                _moveBatcher.setEventTime(motionEvent.getEventTime());
+                trackSwipe(motionEvent.getX(), motionEvent.getY());
+                break;
+            case MotionEvent.ACTION_UP:
+                trackSwipe(motionEvent.getX(), motionEvent.getY());
+                if (!_swiping) {
+                    Viewport viewport = _squaresView.getViewport();
+                    tapAt(viewport.toTableX(_downX), viewport.toTableY(_downY));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * trackSwipe
+     *
+     * this method follows one sample of a swipe. the swipe keeps the axis
+     * it started on, and queues a move of the empty block each time the
+     * finger passes another block length, or takes one back when the
+     * finger goes back.
+     *
+     * @param x the x coordinate of the sample on screen
+     * @param y the y coordinate of the sample on screen
+     */
+    private void trackSwipe(float x, float y) {
+        float dx = x - _downX;
+        float dy = y - _downY;
+        if (!_swiping) {
+            if (dx * dx + dy * dy < SWIPE_SLOP * SWIPE_SLOP) {
+                return;
+            }
+            _swiping = true;
+            _horizontal = Math.abs(dx) > Math.abs(dy);
+        }
+
+        // the first block slides at the slop and the rest every block
+        float along = _horizontal ? dx : dy;
+        float blockPixels = _squaresView.getBlockLength()
+                            * _squaresView.getViewport().getZoom();
+        int target = 0;
+        if (Math.abs(along) >= SWIPE_SLOP) {
+            target = 1 + (int) ((Math.abs(along) - SWIPE_SLOP) / blockPixels);
+            target = along < 0 ? -target : target;
+        }
 
+        // blocks slide with the finger, so the empty block moves against it
+        int forward = _horizontal ? Move.LEFT : Move.UP;
+        int backward = Move.opposite(forward);
+        while (_swipeMoves < target && _moveBatcher.offer(forward)) {
+            _swipeMoves++;
+        }
+        while (_swipeMoves > target && _moveBatcher.offer(backward)) {
+            _swipeMoves--;
+        }
+    }
+
+    /**
+     * tapAt
+     *
+     * this method queues the slide of the block at a position on the
+     * table, and every block between it and the empty space, towards the
+     * empty space if the block is in the same row or column.
+     *
+     * @param x the x coordinate on the table
+     * @param y the y coordinate on the table
+     */
+    private void tapAt(float x, float y) {
         // get the size of the table panel
         float tableLeft = SquaresView.TABLE_MARGIN;
         float tableRight = SquaresView.TABLE_MARGIN + SquaresView.TABLE_LENGTH;
@@ -72,46 +426,32 @@ public class SquaresController implements View.OnClickListener,
 
         // check if the touch was inside the table panel
         if (x < tableLeft || x > tableRight) {
-            return false;
+            return;
         } else if (y < tableTop || y > tableBottom) {
-            return false;
+            return;
         }
 
-        // calculate the row and column of the block that was touched
-        int row = (int) ((y) / _squaresView.getBlockLength());
-        int col = (int) ((x) / _squaresView.getBlockLength());
+        // read the dimensions from the packed board
+        int blocksNum = _squaresModel.getBlocksNum();
 
-        // check if row is valid (round values to nearest int)
-        if (row > _squaresModel.getBlocksNum()) {
-            row = _squaresModel.getBlocksNum();
-        } else if (row < 0) {
-            row = 0;
-        }
+        // calculate the row and column of the block that was touched
+        int row = (int) ((y - tableTop) / _squaresView.getBlockLength());
+        int col = (int) ((x - tableLeft) / _squaresView.getBlockLength());
 
-        // check if col is valid (round values to nearest int)
-        if (col > _squaresModel.getBlocksNum()) {
-            col = _squaresModel.getBlocksNum();
-        } else if (col < 0) {
-            col = 0;
-        }
+        // the right and bottom edges belong to the last row and column
+        row = Math.min(row, blocksNum - 1);
+        col = Math.min(col, blocksNum - 1);
 
-        // attempt to move the block to the empty space
-        if (_squaresModel.swapBlocks(row, col)) {
-            // if the move was successful, redraw the table
-            _squaresView.invalidate();
-            return true;
-        } else {
-            // if the move was not successful, do nothing
-            return false;
-        }
+        _moveBatcher.offerTap(row * blocksNum + col);
     }
 
     /**
      * onProgressChanged
      *
      * this method is called when the user changes the value of the seek bar.
-     * it changes the number of blocks in the table and redraws the table. it
-     * can increment the number of boxes from 4 to 6.
+     * it only shows the selected size, since building and drawing a large
+     * board on every step of the seek bar would be too slow. the size is
+     * applied when the user lets go of the seek bar.
      *
      * @param seekBar   the seek bar that was changed
      * @param i         the new value of the seek bar
@@ -124,20 +464,72 @@ public class SquaresController implements View.OnClickListener,
             return;
         }
 
-        // check if the value is valid
-        if (i < 0 || i > 2) {
+        if (seekBar.getId() == R.id.seekbarSolution) {
+            _solutionPlayer.seek(i);
+        } else if (seekBar.getId() == R.id.seekbarSpeed) {
+            _solutionPlayer.setMovesPerSecond(toMovesPerSecond(i));
+        } else {
+            updateSizeLabel(toBlocksNum(i));
+        }
+    }
+
+    /**
+     * toMovesPerSecond
+     *
+     * the speed seek bar is logarithmic, so it reaches from a slow
+     * demonstration to the fastest speed in a few steps.
+     *
+     * @param progress  a value of the speed seek bar
+     * @return          the speed of playback in moves per second
+     */
+    static double toMovesPerSecond(int progress) {
+        return SolutionPlayer.MIN_MOVES_PER_SECOND
+               * Math.pow(10, (double) progress / SPEED_STEPS_PER_DECADE);
+    }
+
+    /**
+     * toggleSolution
+     *
+     * this method pauses the solution, resumes it, or finds one if there
+     * is none and the table is not solved already.
+     */
+    private void toggleSolution() {
+        if (_solutionPlayer == null) {
             return;
         }
 
-        // set the number of blocks in the table
-        _squaresModel.setBlocksNum(i + 4);
+        if (_solutionPlayer.isPlaying()) {
+            _solutionPlayer.pause();
+        } else if (_squaresModel.checkWin()) {
+            return;
+        } else if (_solutionPlayer.hasSolution()) {
+            _solutionPlayer.play();
+        } else {
+            _moveBatcher.clear();
+            _solutionPlayer.solve();
+        }
+    }
 
-        // reset the table
-        _squaresModel.resetTable();
-        _squaresModel.shuffleTable();
+    /**
+     * toBlocksNum
+     *
+     * @param progress  a value of the seek bar
+     * @return          the number of blocks in each row and column
+     */
+    private static int toBlocksNum(int progress) {
+        return Math.max(MIN_BLOCKS_NUM,
+                        Math.min(MAX_BLOCKS_NUM, progress + MIN_BLOCKS_NUM));
+    }
 
-        // redraw the table
-        _squaresView.invalidate();
+    /**
+     * updateSizeLabel
+     *
+     * @param blocksNum the number of blocks in each row and column to show
+     */
+    private void updateSizeLabel(int blocksNum) {
+        if (_sizeLabel != null) {
+            _sizeLabel.setText(blocksNum + " x " + blocksNum);
+        }
     }
 
 
@@ -156,12 +548,117 @@ public class SquaresController implements View.OnClickListener,
     /**
      * onStopTrackingTouch
      *
-     * this method is called when the user stops changing the value of the
-     * seek bar. it does nothing in this case.
+     * this method is called when the user stops changing the value of a
+     * seek bar. for the size seek bar, it changes the number of blocks in
+     * the table and shuffles the table.
      *
      * @param seekBar   the seek bar that was changed
      */
     @Override
     public void onStopTrackingTouch(SeekBar seekBar) {
+        if (seekBar.getId() != R.id.seekbarBlocksNum) {
+            return;
+        }
+
+        int blocksNum = toBlocksNum(seekBar.getProgress());
+        if (blocksNum == _squaresModel.getBlocksNum()) {
+            return;
+        }
+
+        // set the number of blocks in the table
+        _moveBatcher.clear();
+        _squaresModel.setBlocksNum(blocksNum);
+
+        // reset the table
+        _squaresModel.resetTable();
+        newPuzzle();
+        preparePuzzles();
+
+        // the model tells the view to redraw the table
+        if (_hintService != null) {
+            _hintService.onReset(_squaresModel.getBoard());
+        }
+    }
+
+    /**
+     * newPuzzle
+     *
+     * this method replaces the table with a puzzle of the selected
+     * difficulty. if none is ready, one is requested from the pool and
+     * the table changes when it arrives, so nothing is generated on the UI
+     * thread and the difficulty is kept. sizes without difficulties are
+     * shuffled.
+     */
+    private void newPuzzle() {
+        int blocksNum = _squaresModel.getBlocksNum();
+        if (_puzzlePool == null || !Difficulty.isSupported(blocksNum)) {
+            _puzzleVersion = -1;
+            _squaresModel.shuffleTable();
+            return;
+        }
+
+        Board board = _puzzlePool.poll(blocksNum, _difficulty);
+        if (board != null) {
+            _puzzleVersion = -1;
+            _squaresModel.setBoard(board);
+            return;
+        }
+
+        final long version = _squaresModel.getVersion();
+        _puzzleVersion = version;
+        _puzzlePool.request(blocksNum, _difficulty,
+                new PuzzlePool.OnPuzzleListener() {
+                    @Override
+                    public void onPuzzle(final Board board) {
+                        _squaresView.post(new Runnable() {
+                            @Override
+                            public void run() {
+                                applyPuzzle(version, board);
+                            }
+                        });
+                    }
+                });
+    }
+
+    /**
+     * applyPuzzle
+     *
+     * this method runs on the UI thread and replaces the table with a
+     * requested puzzle, unless the table changed or another puzzle was
+     * requested since. if the pool could not generate one, the table is
+     * shuffled instead.
+     *
+     * @param version   the version of the model the puzzle was requested at
+     * @param board     the puzzle, or null if none could be generated
+     */
+    private void applyPuzzle(long version, Board board) {
+        if (version != _puzzleVersion
+            || version != _squaresModel.getVersion()) {
+            return;
+        }
+
+        _puzzleVersion = -1;
+        _moveBatcher.clear();
+        if (board != null) {
+            _squaresModel.setBoard(board);
+        } else {
+            _squaresModel.shuffleTable();
+        }
+        if (_hintService != null) {
+            _hintService.onReset(_squaresModel.getBoard());
+        }
+    }
+
+    /**
+     * preparePuzzles
+     *
+     * this method starts generating puzzles of the current size and the
+     * selected difficulty in the background.
+     */
+    private void preparePuzzles() {
+        int blocksNum = _squaresModel.getBlocksNum();
+        if (_puzzlePool != null && Difficulty.isSupported(blocksNum)) {
+            _puzzlePool.prepare(blocksNum, _difficulty);
+        }
     }
 }
@@ -1,10 +1,9 @@
 package com.cs301.squarespuzzle;
 
 import android.content.Context;
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
+import android.graphics.Bitmap;
 import android.util.AttributeSet;
+import android.view.SurfaceHolder;
 import android.view.SurfaceView;
 
 /**
@@ -12,29 +11,31 @@ import android.view.SurfaceView;
  *
  * the view for the SquaresPuzzle application. each view contains a table
  * that can be modified by the user by clicking on the squares. the view is
- * responsible for drawing the table and the blocks.
+ * responsible for drawing the table and the blocks, which is done on its
+ * surface by a RenderThread so touch handling never waits for a frame.
  *
  * @author Bryce Kwon
  * @version February 21, 2021
  */
-public class SquaresView extends SurfaceView {
+public class SquaresView extends SurfaceView
+        implements SquaresModel.OnChangeListener, SurfaceHolder.Callback {
     // these variables contain information about the square model
     private SquaresModel _squaresModel;
 
     // these constants define dimensions of the square table
     public static final float TABLE_LENGTH = 900f;
     public static final float TABLE_MARGIN = 50f;
-    private static final float TABLE_STROKE = 5f;
-    private static final float TABLE_TEXT_SIZE = 50f;
 
-    // these variables contain information about the square blocks
-    private float _blockLength;
-    private float _blocksNum;
+    // the thread that draws the table onto the surface
+    private final RenderThread _renderThread;
 
-    // these variables contain information about the graphics
-    private Paint _tableOutline;
-    private Paint _blockOutline;
-    private Paint _blockValue;
+    // these variables contain the zoom and pan, and the size they fit
+    private final Viewport _viewport = new Viewport();
+    private int _viewportBlocksNum;
+
+    // these variables contain the current hint, -1 when there is none
+    private int _hintIndex = -1;
+    private int _hintMoves = -1;
 
     /**
      * SquareView constructor
@@ -47,122 +48,221 @@ public class SquaresView extends SurfaceView {
      */
     public SquaresView(Context context, AttributeSet attrs) {
         super(context, attrs);
-        setWillNotDraw(false);
 
         // set the dimensions of the view
         setMinimumWidth((int) (TABLE_LENGTH + 2 * TABLE_MARGIN));
         setMinimumHeight((int) (TABLE_LENGTH + 2 * TABLE_MARGIN));
 
-        // set the background color of the view
-        setBackgroundColor(Color.WHITE);
-
         // initialize a new model for the square table
         _squaresModel = new SquaresModel();
+        _squaresModel.addOnChangeListener(this);
+        _viewportBlocksNum = _squaresModel.getBlocksNum();
+        _viewport.setBlocksNum(_viewportBlocksNum);
 
-        // define the paint objects for the table outline
-        _tableOutline = new Paint();
-        _tableOutline.setColor(Color.BLACK);
-        _tableOutline.setStyle(Paint.Style.STROKE);
-        _tableOutline.setStrokeWidth(TABLE_STROKE);
-
-        // define the paint objects for the block outline
-        _blockOutline = new Paint();
-        _blockOutline.setColor(Color.BLACK);
-        _blockOutline.setStyle(Paint.Style.STROKE);
-        _blockOutline.setStrokeWidth(TABLE_STROKE);
+        // start drawing as soon as the surface exists
+        _renderThread = new RenderThread();
+        _renderThread.start();
+        _renderThread.requestSync(_squaresModel.getBoard());
+        getHolder().addCallback(this);
+    }
 
-        // define the paint objects for the block values
-        _blockValue = new Paint();
-        _blockValue.setStyle(Paint.Style.FILL);
-        _blockValue.setTextAlign(Paint.Align.CENTER);
+    /**
+     * surfaceCreated
+     *
+     * this method is called when the surface is created. the render thread
+     * starts drawing onto it.
+     *
+     * @param holder    the holder of the surface
+     */
+    @Override
+    public void surfaceCreated(SurfaceHolder holder) {
+        _renderThread.setSurface(holder);
     }
 
     /**
-     * onDraw
+     * surfaceChanged
      *
-     * this method is called whenever the view needs to be redrawn. it is
-     * responsible for drawing the square table in this view.
+     * this method is called when the surface changes size or format. the
+     * render thread redraws the whole surface.
      *
-     * @param canvas    the canvas on which to draw the view
-     *                  (this is automatically passed by the system)
+     * @param holder    the holder of the surface
+     * @param format    the new pixel format
+     * @param width     the new width
+     * @param height    the new height
      */
     @Override
-    public void onDraw(Canvas canvas) {
-        // calculate the dimensions of the square table
-        _blocksNum = _squaresModel.getBlocksNum();
-        _blockLength = TABLE_LENGTH / _blocksNum;
+    public void surfaceChanged(SurfaceHolder holder, int format, int width,
+                               int height) {
+        _renderThread.setSurface(holder);
+    }
 
-        // set the appropriate text size for the block values
-        _blockValue.setTextSize(TABLE_TEXT_SIZE);
+    /**
+     * surfaceDestroyed
+     *
+     * this method is called before the surface is destroyed. it waits for
+     * the frame being drawn, so the surface is not used after it returns.
+     *
+     * @param holder    the holder of the surface
+     */
+    @Override
+    public void surfaceDestroyed(SurfaceHolder holder) {
+        _renderThread.setSurface(null);
+    }
 
-        drawTable(canvas);
-        drawValue(canvas);
+    /**
+     * onDetachedFromWindow
+     *
+     * this method is called when the view is removed. it stops the render
+     * thread.
+     */
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        _renderThread.quit();
     }
 
     /**
-     * drawTable
+     * onMove
      *
-     * this method is called by the onDraw method to draw the square table. it
-     * is responsible for drawing the table outline and the blocks in this view.
+     * this method is called by the model after a move. the move is handed
+     * to the render thread, which slides the block and redraws only the two
+     * blocks that changed.
      *
-     * @param canvas    the canvas on which to draw the table
+     * @param from      the index the empty block moved from
+     * @param to        the index the empty block moved to
+     * @param version   the version of the model after the move
      */
-    private void drawTable(Canvas canvas) {
-        // draw the table outline
-        canvas.drawRect(TABLE_MARGIN, TABLE_MARGIN, TABLE_LENGTH + TABLE_MARGIN,
-                        TABLE_LENGTH + TABLE_MARGIN, _tableOutline);
+    @Override
+    public void onMove(int from, int to, long version) {
+        _renderThread.postMove(from, to, _squaresModel.getBoard());
+    }
 
-        // draw the blocks outline
-        for (int i = 0; i < _blocksNum; i++) {
-            // draw vertical lines
-            canvas.drawLine(TABLE_MARGIN + (_blockLength * i), TABLE_MARGIN,
-                            TABLE_MARGIN + (_blockLength * i),
-                            TABLE_MARGIN + TABLE_LENGTH, _blockOutline);
+    /**
+     * onMoves
+     *
+     * this method is called by the model after a run of moves, which may
+     * have changed any cell, so the whole table is redrawn.
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move
+     * @param count     the number of moves
+     * @param version   the version of the model after the last move
+     */
+    @Override
+    public void onMoves(byte[] moves, int offset, int count, long version) {
+        _renderThread.requestSync(_squaresModel.getBoard());
+    }
 
-            // draw horizontal lines
-            canvas.drawLine(TABLE_MARGIN, TABLE_MARGIN + (_blockLength * i),
-                            TABLE_MARGIN + TABLE_LENGTH,
-                            TABLE_MARGIN + (_blockLength * i), _blockOutline);
+    /**
+     * onBoardChanged
+     *
+     * this method is called by the model after a shuffle, a reset or a new
+     * board, when the whole table has to be redrawn. a new board size
+     * shows the whole table again.
+     *
+     * @param version   the version of the model after the change
+     */
+    @Override
+    public void onBoardChanged(long version) {
+        _renderThread.requestSync(_squaresModel.getBoard());
+        if (_squaresModel.getBlocksNum() != _viewportBlocksNum) {
+            _viewportBlocksNum = _squaresModel.getBlocksNum();
+            _viewport.setBlocksNum(_viewportBlocksNum);
+            updateViewport();
         }
     }
 
     /**
-     * drawValues
+     * zoomBy
      *
-     * this method is called by the onDraw method to draw the values of the
-     * blocks values in the square table in this view.
+     * this method scales the table around a point on screen.
      *
-     * @param canvas    the canvas on which to draw the values
+     * @param factor    the change in zoom
+     * @param focusX    the x coordinate of the point on screen
+     * @param focusY    the y coordinate of the point on screen
      */
-    private void drawValue(Canvas canvas) {
-        // get the values of the blocks in the table
-        int[][] table = _squaresModel.getTable();
-
-        // draw the values of the blocks
-        for (int i = 0; i < _blocksNum; i++) {
-            for (int j = 0; j < _blocksNum; j++) {
-                // get the value of the current block
-                int value = table[i][j];
+    public void zoomBy(float factor, float focusX, float focusY) {
+        _viewport.zoomBy(factor, focusX, focusY);
+        updateViewport();
+    }
 
-                // check if the value is correct
-                if (value == (i * _blocksNum) + j + 1) {
-                    _blockValue.setColor(Color.GREEN);
-                } else {
-                    _blockValue.setColor(Color.BLACK);
-                }
+    /**
+     * panBy
+     *
+     * this method moves the table on screen.
+     *
+     * @param dx    the distance to move the table right, in pixels
+     * @param dy    the distance to move the table down, in pixels
+     */
+    public void panBy(float dx, float dy) {
+        _viewport.panBy(dx, dy);
+        updateViewport();
+    }
 
-                // get the x and y coordinates of the current block
-                float x = TABLE_MARGIN + (_blockLength * j) + (_blockLength / 2);
-                float y = TABLE_MARGIN + (_blockLength * i) + (_blockLength / 2);
+    /**
+     * updateViewport
+     *
+     * this method hands the zoom and pan to the render thread.
+     */
+    private void updateViewport() {
+        _renderThread.setViewport(_viewport.getZoom(), _viewport.getPanX(),
+                                  _viewport.getPanY());
+    }
 
-                // draw the value of the current block
-                if (value == 0) {
-                    canvas.drawText("", x, y, _blockValue);
-                } else {
-                    canvas.drawText(Integer.toString(value), x, y, _blockValue);
-                }
-            }
+    /**
+     * setHint
+     *
+     * this method sets the hint shown on the table. it is called by the
+     * HintService on the UI thread.
+     *
+     * @param tileIndex the index of the block to move, or -1 for none
+     * @param movesLeft the optimal number of moves left, or -1 if unknown
+     */
+    public void setHint(int tileIndex, int movesLeft) {
+        if (tileIndex == _hintIndex && movesLeft == _hintMoves) {
+            return;
         }
+
+        _hintIndex = tileIndex;
+        _hintMoves = movesLeft;
+        _renderThread.setHint(tileIndex,
+                              movesLeft < 0 ? null : "moves left: " + movesLeft);
+    }
+
+    /**
+     * setImage
+     *
+     * this method sets the picture the blocks show instead of their
+     * numbers. the view takes the picture over and recycles it when it is
+     * replaced, so the caller must not use it afterwards.
+     *
+     * @param image a PuzzleImage.SIZE square picture, or null for numbers
+     */
+    public void setImage(Bitmap image) {
+        _renderThread.setImage(image);
+    }
+
+    /**
+     * getFrameStats
+     *
+     * this method returns the frame-time statistics of the render loop.
+     *
+     * @return  the frame-time statistics
+     */
+    public FrameStats getFrameStats() {
+        return _renderThread.getFrameStats();
+    }
+
+    /**
+     * getViewport
+     *
+     * this method returns the zoom and pan of the table. it is used to map
+     * touches on screen to blocks from the controller.
+     *
+     * @return  the zoom and pan of the table
+     */
+    public Viewport getViewport() {
+        return _viewport;
     }
 
     /**
@@ -186,6 +286,6 @@ public class SquaresView extends SurfaceView {
      * @return  the length of a block in the square table in this view
      */
     public float getBlockLength() {
-        return _blockLength;
+        return TABLE_LENGTH / _squaresModel.getBlocksNum();
     }
 }
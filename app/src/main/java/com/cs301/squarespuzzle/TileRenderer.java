@@ -0,0 +1,510 @@
+package com.cs301.squarespuzzle;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * TileRenderer
+ *
+ * draws the square table onto a canvas through a zoom and pan viewport.
+ * every draw method only visits the blocks inside the clip region, so the
+ * cost of a frame depends on how many blocks are on screen and not on the
+ * size of the board. labels and lines are skipped when they would be too
+ * small to read.
+ *
+ * the paints, the labels of every value and a bitmap of the table outline
+ * and lines are built once per board size, so drawing a frame allocates
+ * nothing. boards with too many values for a label cache write each label
+ * into a reused char array instead.
+ *
+ * in the picture mode, each block is drawn from its slice of one bitmap of
+ * the table with a source rectangle, instead of with its label. the slices
+ * follow the board size, so a new size needs no new bitmap.
+ *
+ * a renderer is owned by a single thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class TileRenderer {
+    // these constants define dimensions of the square table
+    private static final float TABLE_LENGTH = SquaresView.TABLE_LENGTH;
+    private static final float TABLE_MARGIN = SquaresView.TABLE_MARGIN;
+    private static final float TABLE_STROKE = 5f;
+    private static final float TABLE_TEXT_SIZE = 50f;
+
+    // the largest text size as a fraction of the block length
+    private static final float BLOCK_TEXT_RATIO = 0.5f;
+
+    // the smallest blocks on screen that get labels and lines, in pixels
+    private static final float MIN_LABEL_PIXELS = 10f;
+    private static final float MIN_LINE_PIXELS = 4f;
+
+    // the smallest blocks on screen that get a slice of the picture
+    private static final float MIN_TILE_PIXELS = 2f;
+
+    // the largest number of values whose labels are cached as strings
+    private static final int MAX_CACHED_LABELS = 1 << 16;
+
+    // these variables contain information about the square blocks
+    private int _blocksNum;
+    private float _blockLength;
+
+    // these variables contain the zoom and pan of the viewport
+    private float _zoom = 1f;
+    private float _panX;
+    private float _panY;
+    private boolean _showLabels;
+    private boolean _showLines;
+    private boolean _showTiles;
+
+    // these variables contain the labels of the current board size
+    private String[] _labels;
+    private final char[] _digits = new char[10];
+    private float _textOffset;
+
+    // the table outline and lines, drawn once per board size
+    private Bitmap _gridLayer;
+
+    // these variables contain the picture of the picture mode, if any, and
+    // the slice being drawn
+    private Bitmap _image;
+    private final Rect _source = new Rect();
+    private final RectF _target = new RectF();
+
+    // these variables contain information about the graphics
+    private final Paint _tableOutline;
+    private final Paint _blockOutline;
+    private final Paint _blockValue;
+    private final Paint _correctValue;
+    private final Paint _hintOutline;
+    private final Paint _hintText;
+    private final Paint _imagePaint;
+
+    /**
+     * TileRenderer constructor
+     */
+    TileRenderer() {
+        // define the paint objects for the table outline
+        _tableOutline = new Paint();
+        _tableOutline.setColor(Color.BLACK);
+        _tableOutline.setStyle(Paint.Style.STROKE);
+        _tableOutline.setStrokeWidth(TABLE_STROKE);
+
+        // define the paint objects for the block outline
+        _blockOutline = new Paint();
+        _blockOutline.setColor(Color.BLACK);
+        _blockOutline.setStyle(Paint.Style.STROKE);
+        _blockOutline.setStrokeWidth(TABLE_STROKE);
+
+        // define the paint objects for the block values
+        _blockValue = new Paint();
+        _blockValue.setStyle(Paint.Style.FILL);
+        _blockValue.setTextAlign(Paint.Align.CENTER);
+        _blockValue.setColor(Color.BLACK);
+
+        // define the paint objects for the values of blocks in place
+        _correctValue = new Paint(_blockValue);
+        _correctValue.setColor(Color.GREEN);
+
+        // define the paint objects for the hint
+        _hintOutline = new Paint();
+        _hintOutline.setColor(Color.BLUE);
+        _hintOutline.setStyle(Paint.Style.STROKE);
+        _hintOutline.setStrokeWidth(2 * TABLE_STROKE);
+
+        _hintText = new Paint();
+        _hintText.setColor(Color.BLUE);
+        _hintText.setStyle(Paint.Style.FILL);
+        _hintText.setTextSize(TABLE_MARGIN / 2);
+
+        // define the paint objects for the slices of the picture
+        _imagePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+    }
+
+    /**
+     * setImage
+     *
+     * this method sets the picture the blocks are sliced from. the picture
+     * is not copied, and must not change while it is set.
+     *
+     * @param image the picture, or null to draw the labels
+     */
+    void setImage(Bitmap image) {
+        _image = image;
+    }
+
+    /**
+     * setSize
+     *
+     * this method calculates the dimensions of the table, fits the text
+     * size to the block length, builds the label of every value and draws
+     * the grid layer. it does nothing if the size has not changed.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    void setSize(int blocksNum) {
+        if (blocksNum == _blocksNum) {
+            return;
+        }
+
+        // calculate the dimensions of the square table
+        _blocksNum = blocksNum;
+        _blockLength = TABLE_LENGTH / blocksNum;
+
+        // the empty block has no label
+        _labels = null;
+        if (blocksNum * blocksNum <= MAX_CACHED_LABELS) {
+            _labels = new String[blocksNum * blocksNum];
+            for (int value = 1; value < _labels.length; value++) {
+                _labels[value] = Integer.toString(value);
+            }
+        }
+
+        // the whole table is shown again after a resize
+        _zoom = 0;
+        setViewport(1f, 0, 0);
+    }
+
+    /**
+     * setViewport
+     *
+     * this method sets the zoom and pan. the strokes and the text size are
+     * kept the same on screen at every zoom, and the grid layer is redrawn
+     * when the whole table is shown.
+     *
+     * @param zoom  the scale of the table on screen
+     * @param panX  the screen x coordinate of the window's left edge
+     * @param panY  the screen y coordinate of the window's top edge
+     */
+    void setViewport(float zoom, float panX, float panY) {
+        _panX = panX;
+        _panY = panY;
+        if (zoom == _zoom) {
+            return;
+        }
+        _zoom = zoom;
+
+        // keep the lines and the text the same size on screen
+        _tableOutline.setStrokeWidth(TABLE_STROKE / zoom);
+        _blockOutline.setStrokeWidth(TABLE_STROKE / zoom);
+        _hintOutline.setStrokeWidth(2 * TABLE_STROKE / zoom);
+
+        float textSize = Math.min(TABLE_TEXT_SIZE / zoom,
+                                  _blockLength * BLOCK_TEXT_RATIO);
+        _blockValue.setTextSize(textSize);
+        _correctValue.setTextSize(textSize);
+
+        // move the baseline so the text is centered in the block
+        _textOffset = -(_blockValue.ascent() + _blockValue.descent()) / 2;
+
+        float blockPixels = _blockLength * zoom;
+        _showLabels = blockPixels >= MIN_LABEL_PIXELS;
+        _showLines = blockPixels >= MIN_LINE_PIXELS;
+        _showTiles = blockPixels >= MIN_TILE_PIXELS;
+
+        // draw the table outline and lines into the grid layer
+        if (zoom == 1f) {
+            int size = (int) (TABLE_LENGTH + 2 * TABLE_MARGIN);
+            if (_gridLayer == null) {
+                _gridLayer = Bitmap.createBitmap(size, size,
+                                                 Bitmap.Config.ARGB_8888);
+            } else {
+                _gridLayer.eraseColor(Color.TRANSPARENT);
+            }
+            drawTable(new Canvas(_gridLayer));
+        }
+    }
+
+    /**
+     * drawTable
+     *
+     * this method draws the table outline and the blocks outline into the
+     * grid layer.
+     *
+     * @param canvas    the canvas of the grid layer
+     */
+    private void drawTable(Canvas canvas) {
+        // draw the table outline
+        canvas.drawRect(TABLE_MARGIN, TABLE_MARGIN, TABLE_LENGTH + TABLE_MARGIN,
+                        TABLE_LENGTH + TABLE_MARGIN, _tableOutline);
+        if (!_showLines) {
+            return;
+        }
+
+        // draw the blocks outline
+        for (int i = 0; i < _blocksNum; i++) {
+            // draw vertical lines
+            canvas.drawLine(TABLE_MARGIN + (_blockLength * i), TABLE_MARGIN,
+                            TABLE_MARGIN + (_blockLength * i),
+                            TABLE_MARGIN + TABLE_LENGTH, _blockOutline);
+
+            // draw horizontal lines
+            canvas.drawLine(TABLE_MARGIN, TABLE_MARGIN + (_blockLength * i),
+                            TABLE_MARGIN + TABLE_LENGTH,
+                            TABLE_MARGIN + (_blockLength * i), _blockOutline);
+        }
+    }
+
+    /**
+     * blockBounds
+     *
+     * this method finds the region of a block on screen, including the
+     * lines and the hint outline around it.
+     *
+     * @param index     the index of the block
+     * @param bounds    the rectangle to store the region in
+     */
+    void blockBounds(int index, Rect bounds) {
+        float left = (TABLE_MARGIN + _blockLength * (index % _blocksNum)) * _zoom
+                     - _panX;
+        float top = (TABLE_MARGIN + _blockLength * (index / _blocksNum)) * _zoom
+                    - _panY;
+        float length = _blockLength * _zoom;
+        bounds.set((int) Math.floor(left - TABLE_STROKE),
+                   (int) Math.floor(top - TABLE_STROKE),
+                   (int) Math.ceil(left + length + TABLE_STROKE),
+                   (int) Math.ceil(top + length + TABLE_STROKE));
+    }
+
+    /**
+     * labelBounds
+     *
+     * @param bounds    the rectangle to store the region of the hint label in
+     */
+    void labelBounds(Rect bounds) {
+        bounds.set(0, 0, (int) (TABLE_LENGTH + 2 * TABLE_MARGIN),
+                   (int) TABLE_MARGIN);
+    }
+
+    /**
+     * begin
+     *
+     * this method clears the clip region, applies the viewport to the
+     * canvas and draws the lines inside the clip region. the blocks are
+     * drawn in table coordinates until end() is called.
+     *
+     * @param canvas    the canvas on which to draw
+     * @param clip      the rectangle to store the clip region in, in table
+     *                  coordinates
+     * @return          the save count to pass to end()
+     */
+    int begin(Canvas canvas, Rect clip) {
+        canvas.drawColor(Color.WHITE);
+        if (_zoom == 1f) {
+            canvas.drawBitmap(_gridLayer, 0, 0, null);
+        }
+
+        int saveCount = canvas.save();
+        canvas.translate(-_panX, -_panY);
+        canvas.scale(_zoom, _zoom);
+        canvas.getClipBounds(clip);
+
+        if (_zoom != 1f) {
+            drawLines(canvas, clip);
+        }
+        return saveCount;
+    }
+
+    /**
+     * end
+     *
+     * this method removes the viewport from the canvas.
+     *
+     * @param canvas    the canvas on which to draw
+     * @param saveCount the save count returned by begin()
+     */
+    void end(Canvas canvas, int saveCount) {
+        canvas.restoreToCount(saveCount);
+    }
+
+    /**
+     * drawLines
+     *
+     * this method draws the table outline and the lines of the rows and
+     * columns inside the clip region.
+     *
+     * @param canvas    the canvas on which to draw the lines
+     * @param clip      the region being redrawn, in table coordinates
+     */
+    private void drawLines(Canvas canvas, Rect clip) {
+        canvas.drawRect(TABLE_MARGIN, TABLE_MARGIN, TABLE_LENGTH + TABLE_MARGIN,
+                        TABLE_LENGTH + TABLE_MARGIN, _tableOutline);
+        if (!_showLines) {
+            return;
+        }
+
+        int last = _blocksNum - 1;
+        int firstRow = clamp((clip.top - TABLE_MARGIN) / _blockLength, last);
+        int lastRow = clamp((clip.bottom - TABLE_MARGIN) / _blockLength, last);
+        int firstCol = clamp((clip.left - TABLE_MARGIN) / _blockLength, last);
+        int lastCol = clamp((clip.right - TABLE_MARGIN) / _blockLength, last);
+
+        float top = TABLE_MARGIN + _blockLength * firstRow;
+        float bottom = TABLE_MARGIN + _blockLength * (lastRow + 1);
+        float left = TABLE_MARGIN + _blockLength * firstCol;
+        float right = TABLE_MARGIN + _blockLength * (lastCol + 1);
+
+        for (int col = firstCol + 1; col <= lastCol; col++) {
+            float x = TABLE_MARGIN + _blockLength * col;
+            canvas.drawLine(x, top, x, bottom, _blockOutline);
+        }
+        for (int row = firstRow + 1; row <= lastRow; row++) {
+            float y = TABLE_MARGIN + _blockLength * row;
+            canvas.drawLine(left, y, right, y, _blockOutline);
+        }
+    }
+
+    /**
+     * drawValues
+     *
+     * this method draws the values, or the slices of the picture, of the
+     * blocks inside the clip region, except the blocks that are sliding
+     * and drawn separately.
+     *
+     * @param canvas    the canvas on which to draw the values
+     * @param tiles     the block values in row-major order
+     * @param clip      the region being redrawn
+     * @param sliding   the slide of every block, negative when at rest
+     */
+    void drawValues(Canvas canvas, int[] tiles, Rect clip, int[] sliding) {
+        if (_image != null ? !_showTiles : !_showLabels) {
+            return;
+        }
+
+        // find the rows and columns inside the region being redrawn
+        int last = _blocksNum - 1;
+        int firstRow = clamp((clip.top - TABLE_MARGIN) / _blockLength, last);
+        int lastRow = clamp((clip.bottom - TABLE_MARGIN) / _blockLength, last);
+        int firstCol = clamp((clip.left - TABLE_MARGIN) / _blockLength, last);
+        int lastCol = clamp((clip.right - TABLE_MARGIN) / _blockLength, last);
+
+        // draw the values of the blocks
+        for (int i = firstRow; i <= lastRow; i++) {
+            int index = i * _blocksNum + firstCol;
+            for (int j = firstCol; j <= lastCol; j++, index++) {
+                if (tiles[index] != 0 && sliding[index] < 0) {
+                    drawValue(canvas, tiles[index], index, i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * drawValue
+     *
+     * this method draws one value, or its slice of the picture, at a
+     * position that may lie between blocks, for a block that is sliding.
+     *
+     * @param canvas    the canvas on which to draw the value
+     * @param value     the value of the block
+     * @param index     the index the block is moving to
+     * @param row       the row to draw at, possibly fractional
+     * @param col       the column to draw at, possibly fractional
+     */
+    void drawValue(Canvas canvas, int value, int index, float row, float col) {
+        if (_image != null) {
+            if (_showTiles) {
+                drawTile(canvas, value, row, col);
+            }
+            return;
+        } else if (!_showLabels) {
+            return;
+        }
+
+        // get the x and y coordinates of the current block
+        float x = TABLE_MARGIN + (_blockLength * col) + (_blockLength / 2);
+        float y = TABLE_MARGIN + (_blockLength * row) + (_blockLength / 2)
+                  + _textOffset;
+
+        // draw the value in green if the block is in place
+        Paint paint = value == index + 1 ? _correctValue : _blockValue;
+        if (_labels != null) {
+            canvas.drawText(_labels[value], x, y, paint);
+            return;
+        }
+
+        // write the digits from the end of the reused array
+        int start = _digits.length;
+        do {
+            _digits[--start] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        canvas.drawText(_digits, start, _digits.length - start, x, y, paint);
+    }
+
+    /**
+     * drawTile
+     *
+     * this method draws the slice of the picture that belongs in the cell
+     * of a value, stretched over the block it is drawn at.
+     *
+     * @param canvas    the canvas on which to draw the slice
+     * @param value     the value of the block
+     * @param row       the row to draw at, possibly fractional
+     * @param col       the column to draw at, possibly fractional
+     */
+    private void drawTile(Canvas canvas, int value, float row, float col) {
+        // the block of value v belongs in cell v - 1
+        int size = _image.getWidth();
+        int homeRow = (value - 1) / _blocksNum;
+        int homeCol = (value - 1) % _blocksNum;
+        _source.set(homeCol * size / _blocksNum, homeRow * size / _blocksNum,
+                    (homeCol + 1) * size / _blocksNum,
+                    (homeRow + 1) * size / _blocksNum);
+
+        float left = TABLE_MARGIN + _blockLength * col;
+        float top = TABLE_MARGIN + _blockLength * row;
+        _target.set(left, top, left + _blockLength, top + _blockLength);
+        canvas.drawBitmap(_image, _source, _target, _imagePaint);
+    }
+
+    /**
+     * drawHint
+     *
+     * this method outlines the block that the hint suggests moving. it is
+     * drawn between begin() and end().
+     *
+     * @param canvas    the canvas on which to draw the hint
+     * @param index     the index of the block to move, or -1 for none
+     */
+    void drawHint(Canvas canvas, int index) {
+        if (index >= 0 && index < _blocksNum * _blocksNum) {
+            float left = TABLE_MARGIN + _blockLength * (index % _blocksNum);
+            float top = TABLE_MARGIN + _blockLength * (index / _blocksNum);
+            canvas.drawRect(left, top, left + _blockLength, top + _blockLength,
+                            _hintOutline);
+        }
+    }
+
+    /**
+     * drawHintLabel
+     *
+     * this method shows the number of moves left above the table. it is
+     * drawn after end(), so it stays in place while zooming.
+     *
+     * @param canvas    the canvas on which to draw the label
+     * @param label     the moves left label, or null for none
+     */
+    void drawHintLabel(Canvas canvas, String label) {
+        if (label != null) {
+            canvas.drawText(label, TABLE_MARGIN, TABLE_MARGIN - TABLE_STROKE,
+                            _hintText);
+        }
+    }
+
+    /**
+     * clamp
+     *
+     * @param position  a position in blocks from the table edge
+     * @param last      the index of the last row or column
+     * @return          the row or column holding the position
+     */
+    private static int clamp(float position, int last) {
+        return Math.max(0, Math.min(last, (int) position));
+    }
+}
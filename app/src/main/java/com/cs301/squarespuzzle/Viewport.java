@@ -0,0 +1,139 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * Viewport
+ *
+ * the zoom and pan of the table on screen. a table position p is drawn at
+ * p * zoom - pan on screen, and the window is the square the whole table
+ * fills at a zoom of 1, so at that zoom the pan is always 0. the zoom is
+ * limited so that a block never grows past MAX_BLOCK_PIXELS, which keeps
+ * small boards from zooming at all.
+ *
+ * a viewport is owned by the UI thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class Viewport {
+    // the largest a block may be zoomed to, in pixels
+    public static final float MAX_BLOCK_PIXELS = 150f;
+
+    // the length of the window the table is shown in
+    private static final float WINDOW_LENGTH =
+            SquaresView.TABLE_LENGTH + 2 * SquaresView.TABLE_MARGIN;
+
+    // these variables contain the current zoom and pan
+    private float _zoom = 1f;
+    private float _maxZoom = 1f;
+    private float _panX;
+    private float _panY;
+
+    /**
+     * setBlocksNum
+     *
+     * this method fits the zoom limit to a board size and shows the whole
+     * table again.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    public void setBlocksNum(int blocksNum) {
+        float blockLength = SquaresView.TABLE_LENGTH / blocksNum;
+        _maxZoom = Math.max(1f, MAX_BLOCK_PIXELS / blockLength);
+        _zoom = 1f;
+        _panX = 0;
+        _panY = 0;
+    }
+
+    /**
+     * zoomBy
+     *
+     * this method scales the table around a point on screen, so the table
+     * position under that point stays under it.
+     *
+     * @param factor    the change in zoom
+     * @param focusX    the x coordinate of the point on screen
+     * @param focusY    the y coordinate of the point on screen
+     */
+    public void zoomBy(float factor, float focusX, float focusY) {
+        float zoom = Math.max(1f, Math.min(_maxZoom, _zoom * factor));
+        float tableX = toTableX(focusX);
+        float tableY = toTableY(focusY);
+
+        _zoom = zoom;
+        _panX = tableX * zoom - focusX;
+        _panY = tableY * zoom - focusY;
+        clampPan();
+    }
+
+    /**
+     * panBy
+     *
+     * this method moves the table on screen.
+     *
+     * @param dx    the distance to move the table right, in pixels
+     * @param dy    the distance to move the table down, in pixels
+     */
+    public void panBy(float dx, float dy) {
+        _panX -= dx;
+        _panY -= dy;
+        clampPan();
+    }
+
+    /**
+     * clampPan
+     *
+     * this method keeps the table covering the whole window.
+     */
+    private void clampPan() {
+        float maxPan = WINDOW_LENGTH * _zoom - WINDOW_LENGTH;
+        _panX = Math.max(0, Math.min(maxPan, _panX));
+        _panY = Math.max(0, Math.min(maxPan, _panY));
+    }
+
+    /**
+     * toTableX
+     *
+     * @param screenX   an x coordinate on screen
+     * @return          the x coordinate on the table
+     */
+    public float toTableX(float screenX) {
+        return (screenX + _panX) / _zoom;
+    }
+
+    /**
+     * toTableY
+     *
+     * @param screenY   a y coordinate on screen
+     * @return          the y coordinate on the table
+     */
+    public float toTableY(float screenY) {
+        return (screenY + _panY) / _zoom;
+    }
+
+    /**
+     * getZoom
+     *
+     * @return  the scale of the table on screen
+     */
+    public float getZoom() {
+        return _zoom;
+    }
+
+    /**
+     * getPanX
+     *
+     * @return  the screen x coordinate of the window's left edge, zoomed
+     */
+    public float getPanX() {
+        return _panX;
+    }
+
+    /**
+     * getPanY
+     *
+     * @return  the screen y coordinate of the window's top edge, zoomed
+     */
+    public float getPanY() {
+        return _panY;
+    }
+}
@@ -0,0 +1,182 @@
+package com.cs301.squarespuzzle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BoardBenchmark
+ *
+ * compares the board representations on the same inputs. every
+ * representation replays the same seeded walk of moves, one swap at a time
+ * and as one applyMoves() call, slides the same segments, scans the same
+ * cells and loads the same permutation, so the numbers differ only by the
+ * storage behind the Board interface. the sizes are the ones every
+ * representation can hold.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+    // the number of moves in the replayed walk
+    private static final int WALK_LENGTH = 4096;
+
+    // the number of blocks in each row and column
+    @Param({"3", "4"})
+    public int blocksNum;
+
+    // the storage behind the board
+    @Param({"packed", "byte", "short"})
+    public String representation;
+
+    // these variables contain the board and the inputs it is fed
+    private Board _board;
+    private int[] _walk;
+    private byte[] _moves;
+    private int[] _values;
+
+    /**
+     * setup
+     *
+     * this method creates the board and a seeded random walk of the empty
+     * block that returns to where it started.
+     */
+    @Setup
+    public void setup() {
+        if (representation.equals("packed")) {
+            _board = new PackedBoard(blocksNum);
+        } else if (representation.equals("byte")) {
+            _board = new ByteBoard(blocksNum);
+        } else {
+            _board = new ShortBoard(blocksNum);
+        }
+        _board.reset();
+
+        Random random = new Random(blocksNum);
+        new ShuffleEngine(random).shuffle(_board);
+        _values = new int[_board.getLength()];
+        _board.copyTo(_values);
+
+        // walk forward for half the moves and retrace for the other half
+        _walk = new int[WALK_LENGTH];
+        _moves = new byte[WALK_LENGTH];
+        int blank = _board.getEmptyIndex();
+        for (int i = 0; i < WALK_LENGTH / 2; i++) {
+            int direction;
+            int target;
+            do {
+                direction = random.nextInt(Move.COUNT);
+                target = Move.target(blank, direction, blocksNum);
+            } while (target < 0);
+            _walk[i] = target;
+            _walk[WALK_LENGTH - 1 - i] = blank;
+            _moves[i] = (byte) direction;
+            _moves[WALK_LENGTH - 1 - i] = (byte) Move.opposite(direction);
+            blank = target;
+        }
+    }
+
+    /**
+     * swap
+     *
+     * @return  the inversion parity after the walk
+     */
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public int swap() {
+        Board board = _board;
+        int[] walk = _walk;
+        for (int i = 0; i < walk.length; i++) {
+            board.swap(board.getEmptyIndex(), walk[i]);
+        }
+        return board.getInversionParity();
+    }
+
+    /**
+     * applyMoves
+     *
+     * this method replays the same walk as swap() in one call.
+     *
+     * @return  the inversion parity after the walk
+     */
+    @Benchmark
+    @OperationsPerInvocation(WALK_LENGTH)
+    public int applyMoves() {
+        _board.applyMoves(_moves, 0, WALK_LENGTH);
+        return _board.getInversionParity();
+    }
+
+    /**
+     * slide
+     *
+     * this method slides the empty block to the far end of its row and
+     * back, then to the far end of its column and back.
+     *
+     * @return  the inversion parity after the slides
+     */
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public int slide() {
+        Board board = _board;
+        int empty = board.getEmptyIndex();
+        int row = empty / blocksNum;
+        int col = empty % blocksNum;
+        int rowEnd = row * blocksNum + (col == 0 ? blocksNum - 1 : 0);
+        int colEnd = (row == 0 ? blocksNum - 1 : 0) * blocksNum + col;
+
+        board.slide(rowEnd);
+        board.slide(empty);
+        board.slide(colEnd);
+        board.slide(empty);
+        return board.getInversionParity();
+    }
+
+    /**
+     * scan
+     *
+     * this method reads every cell, the way the view draws the board.
+     *
+     * @return  the sum of the cells weighted by index
+     */
+    @Benchmark
+    public long scan() {
+        Board board = _board;
+        long sum = 0;
+        for (int i = 0, n = board.getLength(); i < n; i++) {
+            sum += (long) board.get(i) * i;
+        }
+        return sum;
+    }
+
+    /**
+     * load
+     *
+     * this method loads a permutation, which validates it and counts its
+     * inversions.
+     *
+     * @return  the number of misplaced blocks
+     */
+    @Benchmark
+    public int load() {
+        _board.load(_values);
+        return _board.getMisplaced();
+    }
+}
@@ -0,0 +1,89 @@
+package com.cs301.squarespuzzle;
+
+import com.cs301.squarespuzzle.metrics.Counter;
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MetricsBenchmark
+ *
+ * the cost the metrics add to the code they measure, with recording on and
+ * off, from one thread and from four threads sharing the same metrics.
+ * with recording off every call should cost about as much as a volatile
+ * read.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+    // whether the registry records
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    // these variables contain the metrics shared by every thread
+    private Histogram _histogram;
+    private Counter _counter;
+    private long _value;
+
+    /**
+     * setup
+     *
+     * this method creates the metrics in a registry of their own.
+     */
+    @Setup
+    public void setup() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.setEnabled(enabled);
+        _histogram = registry.histogram("benchmark.histogram");
+        _counter = registry.counter("benchmark.counter");
+        _value = 12345;
+    }
+
+    @Benchmark
+    public void record() {
+        _histogram.record(_value);
+    }
+
+    @Benchmark
+    public void timer() {
+        _histogram.stopTimer(_histogram.startTimer());
+    }
+
+    @Benchmark
+    public void increment() {
+        _counter.increment();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended() {
+        _histogram.record(_value);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void incrementContended() {
+        _counter.increment();
+    }
+}
@@ -0,0 +1,173 @@
+package com.cs301.squarespuzzle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ModelBenchmark
+ *
+ * measures the operations the controller calls on SquaresModel, for every
+ * board size from 3x3 up to the largest boards the model supports. run it
+ * with the gc profiler (the default for this module) to see the allocation
+ * rate next to the throughput.
+ *
+ * every move on the model is also recorded in its MoveJournal, which grows
+ * for as long as moves are made. the model is given a fresh copy of the
+ * starting board before every iteration, which empties the journal, so
+ * swapBlocks measures the lock, the listener loop and the journal append
+ * with the journal growth of one iteration spread over its moves. boardSwap
+ * measures the move on the Board alone, which allocates nothing.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelBenchmark {
+    // the number of blocks in each row and column
+    @Param({"3", "4", "5", "6", "7", "8", "9", "10", "16", "32", "100", "250"})
+    public int blocksNum;
+
+    // these variables contain the model under test
+    private SquaresModel _model;
+    private int[] _tiles;
+    private Board _board;
+    private int _emptyRow;
+    private int _emptyCol;
+    private int _neighborRow;
+    private int _neighborCol;
+
+    /**
+     * setup
+     *
+     * this method creates a shuffled model of the benchmark size and finds
+     * a block next to the empty block for the swap benchmark.
+     */
+    @Setup
+    public void setup() {
+        _model = new SquaresModel();
+        _model.setBlocksNum(blocksNum);
+        _model.resetTable();
+        _model.shuffleTable();
+
+        _tiles = new int[blocksNum * blocksNum];
+        _model.getBoard().copyTo(_tiles);
+        _board = Board.create(blocksNum);
+        _board.load(_tiles);
+
+        int emptyIndex = _model.getBoard().getEmptyIndex();
+        _emptyRow = emptyIndex / blocksNum;
+        _emptyCol = emptyIndex % blocksNum;
+        _neighborRow = _emptyRow;
+        _neighborCol = _emptyCol == 0 ? 1 : _emptyCol - 1;
+    }
+
+    /**
+     * resetJournal
+     *
+     * this method gives the model a copy of the starting board before
+     * every iteration, so the journal starts empty and its growth in one
+     * iteration is all that swapBlocks pays for.
+     */
+    @Setup(Level.Iteration)
+    public void resetJournal() {
+        Board board = Board.create(blocksNum);
+        board.load(_tiles);
+        _model.setBoard(board);
+    }
+
+    /**
+     * shuffleTable
+     *
+     * @return  the index of the empty block, so the shuffle is not removed
+     */
+    @Benchmark
+    public int shuffleTable() {
+        _model.shuffleTable();
+        return _model.getBoard().getEmptyIndex();
+    }
+
+    /**
+     * isValidTable
+     *
+     * @return  whether the board is solvable
+     */
+    @Benchmark
+    public boolean isValidTable() {
+        return _model.isValidTable();
+    }
+
+    /**
+     * checkWin
+     *
+     * @return  whether the board is solved
+     */
+    @Benchmark
+    public boolean checkWin() {
+        return _model.checkWin();
+    }
+
+    /**
+     * swapBlocks
+     *
+     * this method slides a block into the empty block and back, so the
+     * board is the same before every invocation.
+     *
+     * @return  whether both moves were made
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean swapBlocks() {
+        return _model.swapBlocks(_neighborRow, _neighborCol)
+               & _model.swapBlocks(_emptyRow, _emptyCol);
+    }
+
+    /**
+     * boardSwap
+     *
+     * this method makes the same two moves as swapBlocks on a Board with
+     * no model around it, so there is no lock, listener or journal.
+     *
+     * @return  the index of the empty block
+     */
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public int boardSwap() {
+        int emptyIndex = _emptyRow * blocksNum + _emptyCol;
+        int neighborIndex = _neighborRow * blocksNum + _neighborCol;
+        _board.swap(emptyIndex, neighborIndex);
+        _board.swap(neighborIndex, emptyIndex);
+        return _board.getEmptyIndex();
+    }
+
+    /**
+     * resetTable
+     *
+     * this method resets the board in place, which is what the reset
+     * button does when the size has not changed.
+     *
+     * @return  the index of the empty block
+     */
+    @Benchmark
+    public int resetTable() {
+        _model.resetTable();
+        return _model.getBoard().getEmptyIndex();
+    }
+}
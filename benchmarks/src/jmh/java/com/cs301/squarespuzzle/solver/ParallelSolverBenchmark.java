@@ -0,0 +1,136 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.Move;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ParallelSolverBenchmark
+ *
+ * measures how ParallelSolver scales with the number of worker threads on
+ * fixed sets of 4x4 and 5x5 boards. the boards are scrambled with the same
+ * seeded random walks as SolverBenchmark but longer, so every solve runs
+ * many iterations and there is enough work to split. each thread count
+ * gets its own pool, and threads = 1 is the baseline the others are read
+ * against. the numbers only mean something on a machine with at least as
+ * many free cores as the largest thread count.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ParallelSolverBenchmark {
+    // the number of boards solved in rotation
+    private static final int BOARD_COUNT = 16;
+
+    // the number of worker threads in the pool
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    // the number of blocks in each row and column
+    @Param({"4", "5"})
+    public int blocksNum;
+
+    // the number of random moves each board is scrambled with
+    @Param({"50"})
+    public int scramble;
+
+    // these variables contain the solver and its inputs
+    private ForkJoinPool _pool;
+    private ParallelSolver _solver;
+    private int[][] _boards;
+    private int _next;
+
+    /**
+     * setup
+     *
+     * this method starts the pool and scrambles the boards with seeded
+     * random walks that never undo the previous move.
+     */
+    @Setup
+    public void setup() {
+        _pool = new ForkJoinPool(threads);
+        _solver = new ParallelSolver(
+                blocksNum, new ManhattanConflictHeuristic(blocksNum), _pool);
+        _boards = new int[BOARD_COUNT][];
+
+        Random random = new Random(blocksNum * 31L + scramble);
+        for (int i = 0; i < BOARD_COUNT; i++) {
+            Board board = Board.create(blocksNum);
+            board.load(goal(board.getLength()));
+
+            int previous = -1;
+            for (int move = 0; move < scramble; move++) {
+                int blank = board.getEmptyIndex();
+                int dir;
+                int target;
+                do {
+                    dir = random.nextInt(Move.COUNT);
+                    target = Move.target(blank, dir, blocksNum);
+                } while (target < 0 || dir == Move.opposite(previous));
+                board.swap(blank, target);
+                previous = dir;
+            }
+
+            _boards[i] = new int[board.getLength()];
+            board.copyTo(_boards[i]);
+        }
+    }
+
+    /**
+     * tearDown
+     *
+     * this method stops the threads of the pool.
+     */
+    @TearDown
+    public void tearDown() {
+        _pool.shutdown();
+    }
+
+    /**
+     * goal
+     *
+     * @param length    the number of cells on the board
+     * @return          the solved board with the empty block last
+     */
+    private static int[] goal(int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length - 1; i++) {
+            values[i] = i + 1;
+        }
+        return values;
+    }
+
+    /**
+     * solve
+     *
+     * @return  the length of the solution of the next board
+     */
+    @Benchmark
+    public int solve() {
+        int[] tiles = _boards[_next];
+        _next = (_next + 1) % BOARD_COUNT;
+        return _solver.solve(tiles).getLength();
+    }
+}
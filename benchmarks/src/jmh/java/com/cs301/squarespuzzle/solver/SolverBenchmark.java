@@ -0,0 +1,116 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.Move;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SolverBenchmark
+ *
+ * measures the IDA* solver with Manhattan distance plus linear conflicts on
+ * a fixed set of boards. the boards are scrambled with a seeded random walk
+ * of a fixed length instead of a full shuffle, so a solve stays in the
+ * millisecond range on every size and the runs are comparable between
+ * commits. the solver reports no allocation per node, so the gc profiler
+ * should show only the per-solve setup.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    // the number of boards solved in rotation
+    private static final int BOARD_COUNT = 16;
+
+    // the number of blocks in each row and column
+    @Param({"3", "4", "5"})
+    public int blocksNum;
+
+    // the number of random moves each board is scrambled with
+    @Param({"30"})
+    public int scramble;
+
+    // these variables contain the solver and its inputs
+    private IdaStarSolver _solver;
+    private int[][] _boards;
+    private int _next;
+
+    /**
+     * setup
+     *
+     * this method scrambles the boards with seeded random walks that never
+     * undo the previous move.
+     */
+    @Setup
+    public void setup() {
+        _solver = new IdaStarSolver(blocksNum);
+        _boards = new int[BOARD_COUNT][];
+
+        Random random = new Random(blocksNum * 31L + scramble);
+        for (int i = 0; i < BOARD_COUNT; i++) {
+            Board board = Board.create(blocksNum);
+            board.load(goal(board.getLength()));
+
+            int previous = -1;
+            for (int move = 0; move < scramble; move++) {
+                int blank = board.getEmptyIndex();
+                int dir;
+                int target;
+                do {
+                    dir = random.nextInt(Move.COUNT);
+                    target = Move.target(blank, dir, blocksNum);
+                } while (target < 0 || dir == Move.opposite(previous));
+                board.swap(blank, target);
+                previous = dir;
+            }
+
+            _boards[i] = new int[board.getLength()];
+            board.copyTo(_boards[i]);
+        }
+    }
+
+    /**
+     * goal
+     *
+     * @param length    the number of cells on the board
+     * @return          the solved board with the empty block last
+     */
+    private static int[] goal(int length) {
+        int[] values = new int[length];
+        for (int i = 0; i < length - 1; i++) {
+            values[i] = i + 1;
+        }
+        return values;
+    }
+
+    /**
+     * solve
+     *
+     * @return  the length of the solution of the next board
+     */
+    @Benchmark
+    public int solve() {
+        int[] tiles = _boards[_next];
+        _next = (_next + 1) % BOARD_COUNT;
+        return _solver.solve(tiles).getLength();
+    }
+}
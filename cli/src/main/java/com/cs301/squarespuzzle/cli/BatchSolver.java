@@ -0,0 +1,720 @@
+package com.cs301.squarespuzzle.cli;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.InversionCounter;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+import com.cs301.squarespuzzle.solver.Heuristic;
+import com.cs301.squarespuzzle.solver.IdaStarSolver;
+import com.cs301.squarespuzzle.solver.ManhattanConflictHeuristic;
+import com.cs301.squarespuzzle.solver.ParallelSolver;
+import com.cs301.squarespuzzle.solver.PatternDatabaseHeuristic;
+import com.cs301.squarespuzzle.solver.Solution;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BatchSolver
+ *
+ * a command-line runner that solves a stream of boards in parallel. the
+ * input has one board per line, with the block values in row-major order
+ * separated by spaces or commas and 0 for the empty block. the size of the
+ * board is taken from the number of values. blank lines and lines starting
+ * with '#' are skipped.
+ *
+ * the input is read one line at a time and at most a fixed window of boards
+ * is in flight, so memory stays bounded no matter how long the input is.
+ * results are written in input order as soon as every earlier board is done,
+ * one tab-separated line per board:
+ *
+ *      line    blocksNum   length  nodes   millis  moves
+ *
+ * where the moves are the directions the empty block travels, as U, L, R
+ * and D. a board that cannot be parsed, is not a permutation of 0 to
+ * n^2 - 1, is not solvable, or fails in the solver gives
+ *
+ *      line    error   message
+ *
+ * and the run goes on with the next board. a board is given up with an
+ * error line when it is not solved within the timeout, so one hard board
+ * cannot hold back the boards after it forever.
+ *
+ * with -P, the boards are solved one at a time by a ParallelSolver that
+ * spreads each search over a pool of the given number of threads, instead
+ * of that many boards being solved at the same time. this helps when a few
+ * hard boards would otherwise keep a single thread busy each; the results
+ * are the same either way.
+ *
+ * with -m, the solver metrics of the run are written to the given file as
+ * JSON when it ends.
+ *
+ * usage: BatchSolver [-t threads] [-P] [-w window] [-p pdbDir] [-o output]
+ *                    [-m metrics] [-x timeoutSeconds] [input]
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class BatchSolver {
+    // the symbol of every move direction, indexed by direction
+    private static final String MOVE_SYMBOLS = "ULRD";
+
+    // the number of results written between flushes of the output
+    private static final int FLUSH_INTERVAL = 1024;
+
+    // the time each board may take to solve unless -x is given
+    private static final int DEFAULT_TIMEOUT_SECONDS = 60;
+
+    // these variables contain the options of the run
+    private final int _threads;
+    private final boolean _parallel;
+    private final int _window;
+    private final File _pdbDir;
+    private final long _timeoutMillis;
+
+    // the thread that cancels the searches that run out of time
+    private ScheduledExecutorService _timer;
+
+    // the pool every search is spread over with -P, or null
+    private ForkJoinPool _pool;
+
+    // the heuristic every solver of a board size copies
+    private final Map<Integer, Heuristic> _heuristics =
+            new ConcurrentHashMap<Integer, Heuristic>();
+
+    // every worker thread keeps one solver per board size
+    private final ThreadLocal<Map<Integer, BoardSolver>> _solvers =
+            new ThreadLocal<Map<Integer, BoardSolver>>() {
+                @Override
+                protected Map<Integer, BoardSolver> initialValue() {
+                    return new HashMap<Integer, BoardSolver>();
+                }
+            };
+
+    // these variables contain the totals of the run
+    private long _solved;
+    private long _errors;
+    private long _solveNanos;
+
+    /**
+     * BatchSolver constructor
+     *
+     * @param threads   the number of boards solved at the same time
+     * @param window    the largest number of boards in flight
+     * @param pdbDir    the pattern database directory, or null to use
+     *                  Manhattan distance plus linear conflicts
+     */
+    public BatchSolver(int threads, int window, File pdbDir) {
+        this(threads, window, pdbDir,
+             TimeUnit.SECONDS.toMillis(DEFAULT_TIMEOUT_SECONDS));
+    }
+
+    /**
+     * BatchSolver constructor
+     *
+     * @param threads       the number of boards solved at the same time
+     * @param window        the largest number of boards in flight
+     * @param pdbDir        the pattern database directory, or null to use
+     *                      Manhattan distance plus linear conflicts
+     * @param timeoutMillis the time each board may take to solve, or 0 for
+     *                      no limit
+     */
+    public BatchSolver(int threads, int window, File pdbDir,
+                       long timeoutMillis) {
+        this(threads, false, window, pdbDir, timeoutMillis);
+    }
+
+    /**
+     * BatchSolver constructor
+     *
+     * @param threads       the number of boards solved at the same time, or
+     *                      the number of threads each search is spread over
+     *                      if parallel is true
+     * @param parallel      true to solve one board at a time with a
+     *                      ParallelSolver
+     * @param window        the largest number of boards in flight
+     * @param pdbDir        the pattern database directory, or null to use
+     *                      Manhattan distance plus linear conflicts
+     * @param timeoutMillis the time each board may take to solve, or 0 for
+     *                      no limit
+     */
+    public BatchSolver(int threads, boolean parallel, int window, File pdbDir,
+                       long timeoutMillis) {
+        if (threads < 1 || window < threads) {
+            throw new IllegalArgumentException("need at least one thread and "
+                                               + "a window of at least "
+                                               + "as many boards");
+        } else if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("timeout is negative");
+        }
+        _threads = threads;
+        _parallel = parallel;
+        _window = window;
+        _pdbDir = pdbDir;
+        _timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * run
+     *
+     * this method solves every board of the input and writes the results.
+     * the results written so far are flushed even if the run fails.
+     * neither stream is closed.
+     *
+     * @param input         the boards, one per line
+     * @param output        the results, one per line
+     * @throws IOException  if the input cannot be read or the output written
+     */
+    public void run(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(output, StandardCharsets.UTF_8));
+
+        // with -P a single worker hands each board to the pool
+        ExecutorService executor = Executors.newFixedThreadPool(
+                _parallel ? 1 : _threads, daemon("batch-solver"));
+        if (_parallel) {
+            _pool = new ForkJoinPool(_threads);
+        }
+        _timer = Executors.newSingleThreadScheduledExecutor(
+                daemon("batch-timer"));
+
+        // the results of the boards in flight, oldest first
+        ArrayDeque<Future<Result>> pending = new ArrayDeque<Future<Result>>();
+        try {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.charAt(0) == '#') {
+                    continue;
+                }
+
+                // wait for the oldest board before reading further
+                if (pending.size() >= _window) {
+                    write(writer, pending.poll());
+                }
+                pending.add(executor.submit(new Task(lineNumber, trimmed)));
+            }
+
+            while (!pending.isEmpty()) {
+                write(writer, pending.poll());
+            }
+        } finally {
+            executor.shutdownNow();
+            _timer.shutdownNow();
+            if (_pool != null) {
+                _pool.shutdownNow();
+                _pool = null;
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * daemon
+     *
+     * @param name  the name of the threads
+     * @return      a factory of daemon threads, so a stuck search cannot
+     *              keep the process alive
+     */
+    private static ThreadFactory daemon(final String name) {
+        return new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        };
+    }
+
+    /**
+     * write
+     *
+     * this method waits for a result and writes it to the output. the
+     * worker turns every failure of a board into an error line, so only a
+     * failure of the run itself is thrown.
+     *
+     * @param writer        the output
+     * @param future        the result to wait for
+     * @throws IOException  if the output cannot be written
+     */
+    private void write(Writer writer, Future<Result> future) throws IOException {
+        Result result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for a result", e);
+        } catch (ExecutionException e) {
+            throw new IOException("solver failed", e.getCause());
+        }
+
+        writer.write(result._line);
+        writer.write('\n');
+        if (result._solved) {
+            _solved++;
+            _solveNanos += result._nanos;
+        } else {
+            _errors++;
+        }
+
+        if ((_solved + _errors) % FLUSH_INTERVAL == 0) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * solve
+     *
+     * this method parses and solves one board on a worker thread. every
+     * failure of the board becomes its error line.
+     *
+     * @param task  the board to solve
+     * @return      the result line for the board
+     */
+    private Result solve(Task task) {
+        long lineNumber = task._lineNumber;
+        int[] tiles;
+        int blocksNum;
+        try {
+            tiles = parse(task._line);
+            blocksNum = (int) Math.round(Math.sqrt(tiles.length));
+            if (blocksNum < 2 || blocksNum * blocksNum != tiles.length) {
+                throw new IllegalArgumentException(tiles.length
+                                                   + " values do not form "
+                                                   + "a square board");
+            }
+            Board.checkPermutation(tiles);
+            if (!new InversionCounter(tiles.length - 1)
+                    .isSolvable(tiles, blocksNum)) {
+                throw new IllegalArgumentException("board is not solvable");
+            }
+        } catch (IllegalArgumentException e) {
+            return new Result(lineNumber + "\terror\t" + e.getMessage());
+        }
+
+        Solution solution;
+        try {
+            solution = solveInTime(task, blocksNum, tiles);
+        } catch (IOException e) {
+            return new Result(lineNumber + "\terror\t" + e.getMessage());
+        } catch (RuntimeException e) {
+            return new Result(lineNumber + "\terror\t" + e);
+        }
+        if (solution == null) {
+            return new Result(lineNumber + "\terror\tnot solved within "
+                              + _timeoutMillis + " ms");
+        }
+
+        byte[] moves = solution.getMoves();
+        StringBuilder builder = new StringBuilder(48 + moves.length);
+        builder.append(lineNumber).append('\t')
+               .append(blocksNum).append('\t')
+               .append(moves.length).append('\t')
+               .append(solution.getNodes()).append('\t')
+               .append(String.format("%.3f",
+                                     solution.getElapsedNanos() / 1e6))
+               .append('\t');
+        for (byte move : moves) {
+            builder.append(MOVE_SYMBOLS.charAt(move));
+        }
+        return new Result(builder.toString(), solution.getElapsedNanos());
+    }
+
+    /**
+     * solveInTime
+     *
+     * this method solves a board and cancels the search if it runs out of
+     * time. a solver whose search may have been cancelled is dropped, since
+     * a cancel that arrives just as the search ends would stop its next
+     * search instead.
+     *
+     * @param task          the board being solved
+     * @param blocksNum     the number of blocks in each row and column
+     * @param tiles         the block values in row-major order
+     * @return              the solution, or null if it ran out of time
+     * @throws IOException  if the pattern databases cannot be loaded
+     */
+    private Solution solveInTime(final Task task, int blocksNum, int[] tiles)
+            throws IOException {
+        BoardSolver solver = solver(blocksNum);
+        if (_timeoutMillis == 0) {
+            return solver.solve(tiles);
+        }
+
+        task.start(solver);
+        ScheduledFuture<?> timeout = _timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                task.timeout();
+            }
+        }, _timeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            return solver.solve(tiles);
+        } finally {
+            timeout.cancel(false);
+            if (task.finish()) {
+                _solvers.get().remove(blocksNum);
+            }
+        }
+    }
+
+    /**
+     * parse
+     *
+     * this method reads the block values of a line, separated by spaces,
+     * tabs or commas. the board itself is validated by InversionCounter.
+     *
+     * @param line  the line to parse
+     * @return      the block values in row-major order
+     */
+    static int[] parse(String line) {
+        int[] values = new int[16];
+        int count = 0;
+        int value = -1;
+        for (int i = 0, n = line.length(); i <= n; i++) {
+            char c = i < n ? line.charAt(i) : ' ';
+            if (c >= '0' && c <= '9') {
+                value = (value < 0 ? 0 : value * 10) + (c - '0');
+                if (value > 1 << 24) {
+                    throw new IllegalArgumentException("value out of range");
+                }
+            } else if (c == ' ' || c == '\t' || c == ',') {
+                if (value >= 0) {
+                    if (count == values.length) {
+                        values = Arrays.copyOf(values, 2 * count);
+                    }
+                    values[count++] = value;
+                    value = -1;
+                }
+            } else {
+                throw new IllegalArgumentException("unexpected character '"
+                                                   + c + "'");
+            }
+        }
+        return Arrays.copyOf(values, count);
+    }
+
+    /**
+     * solver
+     *
+     * @param blocksNum     the number of blocks in each row and column
+     * @return              the solver of the calling thread for the size
+     * @throws IOException  if the pattern databases cannot be loaded
+     */
+    private BoardSolver solver(int blocksNum) throws IOException {
+        Map<Integer, BoardSolver> solvers = _solvers.get();
+        BoardSolver solver = solvers.get(blocksNum);
+        if (solver == null) {
+            Heuristic heuristic = heuristic(blocksNum).copy();
+            if (_parallel) {
+                final ParallelSolver parallel =
+                        new ParallelSolver(blocksNum, heuristic, _pool);
+                solver = new BoardSolver() {
+                    @Override
+                    public Solution solve(int[] tiles) {
+                        return parallel.solve(tiles);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        parallel.cancel();
+                    }
+                };
+            } else {
+                final IdaStarSolver serial =
+                        new IdaStarSolver(blocksNum, heuristic);
+                solver = new BoardSolver() {
+                    @Override
+                    public Solution solve(int[] tiles) {
+                        return serial.solve(tiles);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        serial.cancel();
+                    }
+                };
+            }
+            solvers.put(blocksNum, solver);
+        }
+        return solver;
+    }
+
+    /**
+     * heuristic
+     *
+     * this method loads the heuristic of a board size once and shares it
+     * between the threads, which each solve with their own copy.
+     *
+     * @param blocksNum     the number of blocks in each row and column
+     * @return              the heuristic for the size
+     * @throws IOException  if the pattern databases cannot be loaded
+     */
+    private Heuristic heuristic(int blocksNum) throws IOException {
+        Heuristic heuristic = _heuristics.get(blocksNum);
+        if (heuristic != null) {
+            return heuristic;
+        }
+
+        synchronized (_heuristics) {
+            heuristic = _heuristics.get(blocksNum);
+            if (heuristic == null) {
+                // sizes without databases in the directory fall back
+                heuristic = PatternDatabaseHeuristic.exists(_pdbDir, blocksNum)
+                            ? PatternDatabaseHeuristic.load(_pdbDir, blocksNum)
+                            : new ManhattanConflictHeuristic(blocksNum);
+                _heuristics.put(blocksNum, heuristic);
+            }
+        }
+        return heuristic;
+    }
+
+    /**
+     * printSummary
+     *
+     * this method prints the totals of the run.
+     *
+     * @param elapsedNanos  the wall time of the run
+     */
+    private void printSummary(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.err.printf("solved %d, errors %d in %.1f s (%.1f boards/s), "
+                          + "%.3f ms solver time per board%n",
+                          _solved, _errors, seconds,
+                          (_solved + _errors) / Math.max(seconds, 1e-9),
+                          _solved == 0 ? 0.0 : _solveNanos / 1e6 / _solved);
+    }
+
+    /**
+     * main
+     *
+     * this method parses the options and runs the batch. the input is
+     * standard input when no file or '-' is given.
+     *
+     * @param args          the command-line arguments
+     * @throws IOException  if the input or output fails
+     */
+    public static void main(String[] args) throws IOException {
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean parallel = false;
+        int window = -1;
+        File pdbDir = null;
+        String outputName = null;
+        File metricsFile = null;
+        String inputName = null;
+        int timeoutSeconds = DEFAULT_TIMEOUT_SECONDS;
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("-t")) {
+                    threads = Integer.parseInt(args[++i]);
+                } else if (arg.equals("-P")) {
+                    parallel = true;
+                } else if (arg.equals("-w")) {
+                    window = Integer.parseInt(args[++i]);
+                } else if (arg.equals("-p")) {
+                    pdbDir = new File(args[++i]);
+                } else if (arg.equals("-o")) {
+                    outputName = args[++i];
+                } else if (arg.equals("-m")) {
+                    metricsFile = new File(args[++i]);
+                } else if (arg.equals("-x")) {
+                    timeoutSeconds = Integer.parseInt(args[++i]);
+                    if (timeoutSeconds < 0) {
+                        throw new IllegalArgumentException("negative timeout");
+                    }
+                } else if (inputName == null) {
+                    inputName = arg;
+                } else {
+                    throw new IllegalArgumentException("unexpected " + arg);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println("usage: BatchSolver [-t threads] [-P] "
+                               + "[-w window] [-p pdbDir] [-o output] "
+                               + "[-m metrics] [-x timeoutSeconds] [input]");
+            System.exit(2);
+        }
+        if (window < 0) {
+            window = 4 * threads;
+        }
+
+        InputStream input = inputName == null || inputName.equals("-")
+                            ? System.in : new FileInputStream(inputName);
+        OutputStream output = outputName == null
+                              ? System.out : new FileOutputStream(outputName);
+
+        long start = System.nanoTime();
+        BatchSolver batch = new BatchSolver(
+                threads, parallel, window, pdbDir,
+                TimeUnit.SECONDS.toMillis(timeoutSeconds));
+        try {
+            batch.run(input, output);
+        } finally {
+            if (input != System.in) {
+                input.close();
+            }
+            if (output != System.out) {
+                output.close();
+            }
+        }
+        batch.printSummary(System.nanoTime() - start);
+        if (metricsFile != null) {
+            MetricsRegistry.getDefault().dump(metricsFile);
+        }
+    }
+
+    /**
+     * Task
+     *
+     * the work of solving a single board.
+     */
+    private class Task implements Callable<Result> {
+        // these variables contain the board to solve
+        private final long _lineNumber;
+        private final String _line;
+
+        // these variables contain the running search and whether it ran
+        // out of time, guarded by the task
+        private BoardSolver _running;
+        private boolean _timedOut;
+
+        /**
+         * Task constructor
+         *
+         * @param lineNumber    the line of the board in the input
+         * @param line          the block values of the board
+         */
+        Task(long lineNumber, String line) {
+            _lineNumber = lineNumber;
+            _line = line;
+        }
+
+        @Override
+        public Result call() {
+            return solve(this);
+        }
+
+        /**
+         * start
+         *
+         * @param solver    the solver about to search for the board
+         */
+        synchronized void start(BoardSolver solver) {
+            _running = solver;
+        }
+
+        /**
+         * timeout
+         *
+         * this method is called on the timer thread and cancels the search
+         * if it is still running.
+         */
+        synchronized void timeout() {
+            _timedOut = true;
+            if (_running != null) {
+                _running.cancel();
+            }
+        }
+
+        /**
+         * finish
+         *
+         * @return  true if the search was cancelled, or may still be
+         */
+        synchronized boolean finish() {
+            _running = null;
+            return _timedOut;
+        }
+    }
+
+    /**
+     * BoardSolver
+     *
+     * the part of IdaStarSolver and ParallelSolver a worker uses, so a
+     * timeout can cancel either.
+     */
+    private interface BoardSolver {
+        /**
+         * solve
+         *
+         * @param tiles the block values in row-major order
+         * @return      the solution, or null if the search was cancelled
+         */
+        Solution solve(int[] tiles);
+
+        /**
+         * cancel
+         *
+         * this method asks the running search to stop.
+         */
+        void cancel();
+    }
+
+    /**
+     * Result
+     *
+     * the output line of a board and the solver time it took.
+     */
+    private static class Result {
+        // these variables contain the outcome of one board
+        private final String _line;
+        private final boolean _solved;
+        private final long _nanos;
+
+        /**
+         * Result constructor
+         *
+         * the constructor for a board that could not be solved.
+         *
+         * @param line  the output line
+         */
+        Result(String line) {
+            _line = line;
+            _solved = false;
+            _nanos = 0;
+        }
+
+        /**
+         * Result constructor
+         *
+         * @param line  the output line
+         * @param nanos the solver time of the board
+         */
+        Result(String line, long nanos) {
+            _line = line;
+            _solved = true;
+            _nanos = nanos;
+        }
+    }
+}
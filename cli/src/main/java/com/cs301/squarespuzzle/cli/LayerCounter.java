@@ -0,0 +1,97 @@
+package com.cs301.squarespuzzle.cli;
+
+import com.cs301.squarespuzzle.bfs.ExternalBfs;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * LayerCounter
+ *
+ * a command-line runner that counts the boards at every distance from the
+ * goal with an ExternalBfs. the layers are kept in the given directory, and
+ * running again with the same directory resumes after the last finished
+ * layer. every layer is printed as it finishes, one tab-separated line:
+ *
+ *      depth   states  bytes   bytes/state generated   seconds states/s
+ *
+ * the heap the search needs is about eight bytes per buffered state plus a
+ * few megabytes, so -b sets the memory of the run.
+ *
+ * usage: LayerCounter [-b bufferStates] [-d maxDepth] blocksNum dir
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class LayerCounter {
+    // the number of states sorted in memory at a time by default, 256 MB
+    private static final int DEFAULT_BUFFER_STATES = 1 << 25;
+
+    /**
+     * LayerCounter constructor
+     *
+     * the runner only has static methods and is never instantiated.
+     */
+    private LayerCounter() {
+    }
+
+    /**
+     * main
+     *
+     * this method parses the options and runs the search.
+     *
+     * @param args          the command-line arguments
+     * @throws IOException  if a layer cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        int bufferStates = DEFAULT_BUFFER_STATES;
+        int maxDepth = Integer.MAX_VALUE;
+        int blocksNum = 0;
+        File dir = null;
+
+        try {
+            int i = 0;
+            for (; i < args.length && args[i].startsWith("-"); i++) {
+                if (args[i].equals("-b")) {
+                    bufferStates = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-d")) {
+                    maxDepth = Integer.parseInt(args[++i]);
+                } else {
+                    throw new IllegalArgumentException("unexpected " + args[i]);
+                }
+            }
+            if (args.length - i != 2) {
+                throw new IllegalArgumentException("expected blocksNum and dir");
+            }
+            blocksNum = Integer.parseInt(args[i]);
+            dir = new File(args[i + 1]);
+        } catch (RuntimeException e) {
+            System.err.println("usage: LayerCounter [-b bufferStates] "
+                               + "[-d maxDepth] blocksNum dir");
+            System.exit(2);
+        }
+
+        ExternalBfs search = new ExternalBfs(blocksNum, dir, bufferStates);
+        search.setListener(new ExternalBfs.Listener() {
+            @Override
+            public void onLayer(int depth, long states, long bytes,
+                                long generated, long elapsedNanos) {
+                double seconds = elapsedNanos / 1e9;
+                System.out.printf("%d\t%d\t%d\t%.2f\t%d\t%.1f\t%.0f%n",
+                                  depth, states, bytes,
+                                  states == 0 ? 0.0 : (double) bytes / states,
+                                  generated, seconds,
+                                  states / Math.max(seconds, 1e-9));
+            }
+        });
+
+        long start = System.nanoTime();
+        long[] counts = search.run(maxDepth);
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        System.err.printf("%d states in %d layers in %.1f s%n", total,
+                          counts.length, (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,162 @@
+package com.cs301.squarespuzzle.cli;
+
+import com.cs301.squarespuzzle.InversionCounter;
+import com.cs301.squarespuzzle.solver.MoveSink;
+import com.cs301.squarespuzzle.solver.ReductionSolver;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+
+/**
+ * StreamSolver
+ *
+ * a command-line runner that solves random boards too large for an optimal
+ * search with a ReductionSolver. every board is printed as it finishes,
+ * one tab-separated line:
+ *
+ *      blocksNum   moves   lowerBound  moves/lowerBound    seconds
+ *
+ * where the lower bound is the Manhattan distance of the board. with -o the
+ * moves of every board are written to a file as they are found, one
+ * character per move and one line per board, so the solution is never
+ * held in memory.
+ *
+ * usage: StreamSolver [-c count] [-s seed] [-o output] blocksNum
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class StreamSolver {
+    // the symbol of every move direction, indexed by direction
+    private static final byte[] MOVE_SYMBOLS = { 'U', 'L', 'R', 'D' };
+
+    /**
+     * StreamSolver constructor
+     *
+     * the runner only has static methods and is never instantiated.
+     */
+    private StreamSolver() {
+    }
+
+    /**
+     * main
+     *
+     * this method parses the options and solves the boards.
+     *
+     * @param args          the command-line arguments
+     * @throws IOException  if the moves cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int count = 1;
+        long seed = System.nanoTime();
+        String output = null;
+        int blocksNum = 0;
+
+        try {
+            int i = 0;
+            for (; i < args.length && args[i].startsWith("-"); i++) {
+                if (args[i].equals("-c")) {
+                    count = Integer.parseInt(args[++i]);
+                } else if (args[i].equals("-s")) {
+                    seed = Long.parseLong(args[++i]);
+                } else if (args[i].equals("-o")) {
+                    output = args[++i];
+                } else {
+                    throw new IllegalArgumentException("unexpected " + args[i]);
+                }
+            }
+            if (args.length - i != 1) {
+                throw new IllegalArgumentException("expected blocksNum");
+            }
+            blocksNum = Integer.parseInt(args[i]);
+        } catch (RuntimeException e) {
+            System.err.println("usage: StreamSolver [-c count] [-s seed] "
+                               + "[-o output] blocksNum");
+            System.exit(2);
+        }
+
+        final OutputStream moves = output == null ? null
+                : new BufferedOutputStream(new FileOutputStream(output));
+        MoveSink sink = new MoveSink() {
+            @Override
+            public void onMoves(byte[] chunk, int offset, int length) {
+                if (moves == null) {
+                    return;
+                }
+                try {
+                    for (int i = offset; i < offset + length; i++) {
+                        moves.write(MOVE_SYMBOLS[chunk[i]]);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+
+        try {
+            Random random = new Random(seed);
+            ReductionSolver solver = new ReductionSolver(blocksNum);
+            for (int board = 0; board < count; board++) {
+                int[] tiles = shuffle(blocksNum, random);
+                long start = System.nanoTime();
+                long length = solver.solve(tiles, sink);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                if (moves != null) {
+                    moves.write('\n');
+                }
+
+                long lowerBound = solver.lowerBound(tiles);
+                System.out.printf("%d\t%d\t%d\t%.2f\t%.3f%n", blocksNum, length,
+                                  lowerBound,
+                                  lowerBound == 0 ? 1.0
+                                          : (double) length / lowerBound,
+                                  seconds);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            if (moves != null) {
+                moves.close();
+            }
+        }
+    }
+
+    /**
+     * shuffle
+     *
+     * this method returns a uniformly random solvable board. half of all
+     * permutations are solvable, and swapping two blocks other than the
+     * empty block turns an unsolvable one into a solvable one.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param random    the source of randomness
+     * @return          the block values in row-major order
+     */
+    private static int[] shuffle(int blocksNum, Random random) {
+        int length = blocksNum * blocksNum;
+        int[] tiles = new int[length];
+        for (int i = 0; i < length; i++) {
+            tiles[i] = i;
+        }
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = tiles[i];
+            tiles[i] = tiles[j];
+            tiles[j] = value;
+        }
+
+        if (length > 2 && !new InversionCounter(length - 1)
+                .isSolvable(tiles, blocksNum)) {
+            int a = tiles[0] == 0 ? 1 : 0;
+            int b = tiles[a + 1] == 0 ? a + 2 : a + 1;
+            int value = tiles[a];
+            tiles[a] = tiles[b];
+            tiles[b] = value;
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,510 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Hashing a board without rehashing every cell after a move.
+ *
+ * Resource:
+ *      * Zobrist, "A New Hashing Method with Application for Game Playing"
+ *        (1970)
+ *      * Steele, Lea and Flood, "Fast Splittable Pseudorandom Number
+ *        Generators" (2014)
+ * Solution: I used a Zobrist hash, the exclusive or of one random key per
+ *           block and cell, with the keys computed by the SplitMix64
+ *           finalizer instead of stored in a table.
+ */
+
+/**
+ * Board
+ *
+ * a flat, primitive board of blocksNum x blocksNum cells stored in row-major
+ * order. each cell holds a block value from 0 to n^2 - 1, where 0 is the
+ * empty block. the board keeps the location of the empty block and the
+ * number of misplaced blocks up to date on every swap, so both the empty
+ * block and the win check are available in constant time. the parity of
+ * the inversion count is tracked the same way, so solvability is too, and
+ * so is a 64-bit Zobrist hash of the cells for caches keyed by board.
+ *
+ * besides single swaps, a board can slide a whole row or column segment
+ * into the empty block at once, and replay a compact array of moves in one
+ * loop after validating it up front.
+ *
+ * the subclasses decide how the cells are stored. use create() to get the
+ * smallest representation for a given number of blocks.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public abstract class Board {
+    // these variables contain information about the board dimensions
+    protected final int _blocksNum;
+    protected final int _length;
+
+    // these variables are maintained incrementally on every swap
+    protected int _emptyIndex;
+    protected int _misplaced;
+    protected int _inversionParity;
+    protected long _hash;
+
+    /**
+     * Board constructor
+     *
+     * the constructor for the Board class. the cells are left for the
+     * subclass to allocate, and the board is reset by create().
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    protected Board(int blocksNum) {
+        _blocksNum = blocksNum;
+        _length = blocksNum * blocksNum;
+    }
+
+    /**
+     * create
+     *
+     * this method creates a board with the smallest representation that can
+     * hold n^2 block values. boards up to 4x4 are packed into a single long,
+     * boards up to 16x16 use a byte per cell, boards up to 256x256 use a
+     * short per cell, and larger boards use an int per cell.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          a reset board of blocksNum x blocksNum cells
+     */
+    public static Board create(int blocksNum) {
+        if (blocksNum < 1) {
+            throw new IllegalArgumentException("blocksNum must be positive");
+        }
+
+        Board board;
+        long length = (long) blocksNum * blocksNum;
+        if (blocksNum <= PackedBoard.MAX_BLOCKS_NUM) {
+            board = new PackedBoard(blocksNum);
+        } else if (length <= ByteBoard.MAX_LENGTH) {
+            board = new ByteBoard(blocksNum);
+        } else if (length <= ShortBoard.MAX_LENGTH) {
+            board = new ShortBoard(blocksNum);
+        } else if (blocksNum <= IntBoard.MAX_BLOCKS_NUM) {
+            board = new IntBoard(blocksNum);
+        } else {
+            throw new IllegalArgumentException("blocksNum is too large: "
+                                               + blocksNum);
+        }
+
+        board.reset();
+        return board;
+    }
+
+    /**
+     * get
+     *
+     * this method returns the value of the block at the given index.
+     *
+     * @param index the row-major index of the block
+     * @return      the value of the block
+     */
+    public abstract int get(int index);
+
+    /**
+     * set
+     *
+     * this method stores a value at the given index without updating the
+     * empty block or the misplaced count. callers must keep those in sync.
+     *
+     * @param index the row-major index of the block
+     * @param value the value of the block
+     */
+    protected abstract void set(int index, int value);
+
+    /**
+     * get
+     *
+     * this method returns the value of the block at the given row and column.
+     *
+     * @param row   the row of the block
+     * @param col   the column of the block
+     * @return      the value of the block
+     */
+    public int get(int row, int col) {
+        return get(row * _blocksNum + col);
+    }
+
+    /**
+     * swap
+     *
+     * this method swaps the blocks at the two given indices. the empty block
+     * and the misplaced count are updated in constant time.
+     *
+     * @param a the row-major index of the first block
+     * @param b the row-major index of the second block
+     */
+    public void swap(int a, int b) {
+        int valueA = get(a);
+        int valueB = get(b);
+
+        set(a, valueB);
+        set(b, valueA);
+        afterSwap(a, b, valueA, valueB);
+    }
+
+    /**
+     * afterSwap
+     *
+     * this method updates the empty block, the misplaced count, the
+     * inversion parity and the hash after the blocks at the two indices
+     * have been exchanged. exchanging two blocks is a transposition and always flips
+     * the parity. moving a block into the empty block jumps it over the
+     * cells in between, and each of those flips the parity once.
+     *
+     * @param a         the row-major index of the first block
+     * @param b         the row-major index of the second block
+     * @param valueA    the value that was at index a before the swap
+     * @param valueB    the value that was at index b before the swap
+     */
+    protected void afterSwap(int a, int b, int valueA, int valueB) {
+        _misplaced += misplaced(a, valueB) + misplaced(b, valueA)
+                      - misplaced(a, valueA) - misplaced(b, valueB);
+        _hash ^= zobrist(a, valueA) ^ zobrist(b, valueB)
+                 ^ zobrist(a, valueB) ^ zobrist(b, valueA);
+
+        // track the location of the empty block
+        if (valueA == 0) {
+            _emptyIndex = b;
+            _inversionParity ^= (Math.abs(a - b) - 1) & 1;
+        } else if (valueB == 0) {
+            _emptyIndex = a;
+            _inversionParity ^= (Math.abs(a - b) - 1) & 1;
+        } else {
+            _inversionParity ^= 1;
+        }
+    }
+
+    /**
+     * slide
+     *
+     * this method moves the empty block to the given index, which must be
+     * in the same row or column, by shifting every block in between one
+     * cell towards where the empty block was. it has the same effect as a
+     * swap with the empty block for each cell on the way, but the blocks
+     * are shifted in one pass.
+     *
+     * the blocks keep their row-major order when the empty block moves
+     * along a row, so the inversion parity only changes for columns, by
+     * n - 1 for every row crossed.
+     *
+     * @param index the row-major index to move the empty block to
+     * @return      the number of blocks that moved
+     */
+    public int slide(int index) {
+        int empty = _emptyIndex;
+        int step;
+        int count;
+        if (index / _blocksNum == empty / _blocksNum) {
+            step = index < empty ? -1 : 1;
+            count = Math.abs(index - empty);
+        } else if (index % _blocksNum == empty % _blocksNum) {
+            step = index < empty ? -_blocksNum : _blocksNum;
+            count = Math.abs(index - empty) / _blocksNum;
+            _inversionParity ^= (count * (_blocksNum - 1)) & 1;
+        } else {
+            throw new IllegalArgumentException("index " + index
+                    + " is not in the row or column of the empty block");
+        }
+
+        // every block in between moves one cell towards the old empty block
+        for (int i = empty; i != index; i += step) {
+            int value = get(i + step);
+            _misplaced += misplaced(i, value) - misplaced(i + step, value);
+            _hash ^= zobrist(i, value) ^ zobrist(i + step, value);
+        }
+        _hash ^= zobrist(empty, 0) ^ zobrist(index, 0);
+
+        shift(index, empty, step);
+        set(index, 0);
+        _emptyIndex = index;
+        return count;
+    }
+
+    /**
+     * shift
+     *
+     * this method moves the values from the given index up to the empty
+     * block one cell towards the empty block, overwriting it. the value at
+     * the given index is left for the caller to replace. subclasses that
+     * store the cells in an array override it to copy a row segment at
+     * once.
+     *
+     * @param index the row-major index the empty block moves to
+     * @param empty the row-major index of the empty block
+     * @param step  the distance between neighbouring cells of the segment,
+     *              negative when the index is before the empty block
+     */
+    protected void shift(int index, int empty, int step) {
+        for (int i = empty; i != index; i += step) {
+            set(i, get(i + step));
+        }
+    }
+
+    /**
+     * applyMoves
+     *
+     * this method moves the empty block through a sequence of directions,
+     * encoded as in Move. the whole sequence is checked before anything is
+     * changed, so an invalid sequence leaves the board as it was, and the
+     * moves are then applied without any more checks.
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move to apply
+     * @param count     the number of moves to apply
+     */
+    public void applyMoves(byte[] moves, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > moves.length - count) {
+            throw new IndexOutOfBoundsException("offset " + offset
+                    + ", count " + count + ", length " + moves.length);
+        }
+
+        // follow the empty block by row and column only
+        int end = offset + count;
+        int row = _emptyIndex / _blocksNum;
+        int col = _emptyIndex % _blocksNum;
+        for (int i = offset; i < end; i++) {
+            switch (moves[i]) {
+                case Move.UP:
+                    row--;
+                    break;
+                case Move.LEFT:
+                    col--;
+                    break;
+                case Move.RIGHT:
+                    col++;
+                    break;
+                case Move.DOWN:
+                    row++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("invalid move "
+                                                       + moves[i] + " at " + i);
+            }
+
+            if (row < 0 || row >= _blocksNum || col < 0 || col >= _blocksNum) {
+                throw new IllegalArgumentException("move " + i
+                                                   + " leaves the board");
+            }
+        }
+
+        // the change of index for each direction, in the order of Move
+        int[] deltas = { -_blocksNum, -1, 1, _blocksNum };
+        int empty = _emptyIndex;
+        for (int i = offset; i < end; i++) {
+            int target = empty + deltas[moves[i]];
+            swap(empty, target);
+            empty = target;
+        }
+    }
+
+    /**
+     * reset
+     *
+     * this method fills the board with numbers in ascending order. the first
+     * block is set to 0 to represent the empty block.
+     */
+    public void reset() {
+        _hash = 0;
+        for (int i = 0; i < _length; i++) {
+            set(i, i);
+            _hash ^= zobrist(i, i);
+        }
+
+        _emptyIndex = 0;
+        _misplaced = _length - 1;
+        _inversionParity = 0;
+    }
+
+    /**
+     * load
+     *
+     * this method replaces the contents of the board with the given values
+     * in row-major order and recomputes the tracked state. the values must
+     * be a permutation of 0 to n^2 - 1. the inversion parity is recounted
+     * with an InversionCounter in O(n log n).
+     *
+     * @param values    the n^2 block values to load
+     */
+    public void load(int[] values) {
+        if (values.length != _length) {
+            throw new IllegalArgumentException("expected " + _length
+                                               + " values, got " + values.length);
+        }
+        checkPermutation(values);
+
+        _misplaced = 0;
+        _hash = 0;
+        for (int i = 0; i < _length; i++) {
+            set(i, values[i]);
+            _misplaced += misplaced(i, values[i]);
+            _hash ^= zobrist(i, values[i]);
+            if (values[i] == 0) {
+                _emptyIndex = i;
+            }
+        }
+
+        _inversionParity = (int) (new InversionCounter(_length - 1)
+                                  .count(values) & 1);
+    }
+
+    /**
+     * checkPermutation
+     *
+     * this method checks that every value from 0 to the number of values
+     * minus 1 appears exactly once, so the values are a board.
+     *
+     * @param values    the block values in row-major order
+     * @throws IllegalArgumentException if a value is out of range or
+     *                                  appears twice
+     */
+    public static void checkPermutation(int[] values) {
+        boolean[] seen = new boolean[values.length];
+        for (int value : values) {
+            if (value < 0 || value >= values.length || seen[value]) {
+                throw new IllegalArgumentException("not a permutation of 0 to "
+                                                   + (values.length - 1));
+            }
+            seen[value] = true;
+        }
+    }
+
+    /**
+     * copyTo
+     *
+     * this method copies the block values in row-major order into the given
+     * array, which must hold at least n^2 values.
+     *
+     * @param values    the array to copy the block values into
+     */
+    public void copyTo(int[] values) {
+        for (int i = 0; i < _length; i++) {
+            values[i] = get(i);
+        }
+    }
+
+    /**
+     * misplaced
+     *
+     * this method checks if a value is out of place at the given index. the
+     * empty block is never counted as misplaced.
+     *
+     * @param index the row-major index of the block
+     * @param value the value of the block
+     * @return      1 if the value is misplaced, 0 otherwise
+     */
+    protected static int misplaced(int index, int value) {
+        return (value != 0 && value != index + 1) ? 1 : 0;
+    }
+
+    /**
+     * zobrist
+     *
+     * this method returns the random key of a block at an index. the index
+     * and the value are packed into one long and scrambled by the
+     * SplitMix64 finalizer, which is a bijection, so no two pairs share a
+     * key and no table of n^4 keys is needed. the hash of a board is the
+     * exclusive or of the keys of all of its cells, the empty block
+     * included.
+     *
+     * @param index the row-major index of the block
+     * @param value the value of the block
+     * @return      the key of the block at the index
+     */
+    public static long zobrist(int index, int value) {
+        long z = (((long) index << 32) | value) + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * isSolved
+     *
+     * this method checks if every block is in ascending order with the
+     * empty block last.
+     *
+     * @return  true if the board is solved, false otherwise
+     */
+    public boolean isSolved() {
+        return _misplaced == 0;
+    }
+
+    /**
+     * isSolvable
+     *
+     * this method checks if the board can be solved from its current
+     * configuration using the tracked inversion parity.
+     *
+     * @return  true if the board is solvable, false otherwise
+     */
+    public boolean isSolvable() {
+        if (_blocksNum % 2 == 1) {
+            return _inversionParity == 0;
+        }
+        return ((_inversionParity + _emptyIndex / _blocksNum) & 1) == 1;
+    }
+
+    /**
+     * getInversionParity
+     *
+     * @return  0 if the number of inversions is even, 1 if it is odd
+     */
+    public int getInversionParity() {
+        return _inversionParity;
+    }
+
+    /**
+     * getHash
+     *
+     * this method returns the Zobrist hash of the cells, which is updated
+     * in constant time on every swap. equal boards of the same size always
+     * have the same hash, and different boards collide with a chance of
+     * about one in 2^64.
+     *
+     * @return  the hash of the board
+     */
+    public long getHash() {
+        return _hash;
+    }
+
+    /**
+     * getMisplaced
+     *
+     * @return  the number of blocks that are not in their goal position
+     */
+    public int getMisplaced() {
+        return _misplaced;
+    }
+
+    /**
+     * getEmptyIndex
+     *
+     * @return  the row-major index of the empty block
+     */
+    public int getEmptyIndex() {
+        return _emptyIndex;
+    }
+
+    /**
+     * getBlocksNum
+     *
+     * @return  the number of blocks in each row and column
+     */
+    public int getBlocksNum() {
+        return _blocksNum;
+    }
+
+    /**
+     * getLength
+     *
+     * @return  the total number of cells on the board
+     */
+    public int getLength() {
+        return _length;
+    }
+}
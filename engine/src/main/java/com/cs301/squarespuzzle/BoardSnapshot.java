@@ -0,0 +1,130 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * BoardSnapshot
+ *
+ * an immutable copy of the table at one version of a SquaresModel. a
+ * snapshot can be read from any thread without locking, and it never
+ * changes after it is made, so a renderer or a solver can keep one as long
+ * as it likes while the model moves on.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public final class BoardSnapshot {
+    // these variables contain the copied table
+    private final long _version;
+    private final int _blocksNum;
+    private final int[] _cells;
+    private final int _emptyIndex;
+    private final long _hash;
+
+    /**
+     * BoardSnapshot constructor
+     *
+     * the snapshot takes the array of cells as it is, so the caller must not
+     * keep it.
+     *
+     * @param version       the version of the model the table was copied at
+     * @param blocksNum     the number of blocks in each row and column
+     * @param cells         the block values in row-major order
+     * @param emptyIndex    the index of the empty block
+     * @param hash          the Zobrist hash of the table
+     */
+    BoardSnapshot(long version, int blocksNum, int[] cells, int emptyIndex,
+                  long hash) {
+        _version = version;
+        _blocksNum = blocksNum;
+        _cells = cells;
+        _emptyIndex = emptyIndex;
+        _hash = hash;
+    }
+
+    /**
+     * get
+     *
+     * @param index the row-major index of a cell
+     * @return      the value of the block in the cell
+     */
+    public int get(int index) {
+        return _cells[index];
+    }
+
+    /**
+     * get
+     *
+     * @param row   the row of a cell
+     * @param col   the column of a cell
+     * @return      the value of the block in the cell
+     */
+    public int get(int row, int col) {
+        return _cells[row * _blocksNum + col];
+    }
+
+    /**
+     * copyTo
+     *
+     * @param values    the array to copy the block values into, in row-major
+     *                  order, at least getLength() long
+     */
+    public void copyTo(int[] values) {
+        System.arraycopy(_cells, 0, values, 0, _cells.length);
+    }
+
+    /**
+     * toBoard
+     *
+     * @return  a new board with the same blocks as the snapshot
+     */
+    public Board toBoard() {
+        Board board = Board.create(_blocksNum);
+        board.load(_cells);
+        return board;
+    }
+
+    /**
+     * getVersion
+     *
+     * @return  the version of the model the table was copied at
+     */
+    public long getVersion() {
+        return _version;
+    }
+
+    /**
+     * getBlocksNum
+     *
+     * @return  the number of blocks in each row and column
+     */
+    public int getBlocksNum() {
+        return _blocksNum;
+    }
+
+    /**
+     * getLength
+     *
+     * @return  the number of cells
+     */
+    public int getLength() {
+        return _cells.length;
+    }
+
+    /**
+     * getEmptyIndex
+     *
+     * @return  the index of the empty block
+     */
+    public int getEmptyIndex() {
+        return _emptyIndex;
+    }
+
+    /**
+     * getHash
+     *
+     * @return  the Zobrist hash of the table, the same as the hash of a
+     *          board with the same blocks
+     */
+    public long getHash() {
+        return _hash;
+    }
+}
@@ -0,0 +1,76 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * ByteBoard
+ *
+ * a board that stores one unsigned byte per cell. it holds boards of up to
+ * 256 cells (16x16).
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ByteBoard extends Board {
+    // the largest number of cells that fit in an unsigned byte
+    public static final int MAX_LENGTH = 1 << 8;
+
+    // the cells of the board in row-major order
+    private final byte[] _cells;
+
+    /**
+     * ByteBoard constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    ByteBoard(int blocksNum) {
+        super(blocksNum);
+        _cells = new byte[_length];
+    }
+
+    @Override
+    public int get(int index) {
+        return _cells[index] & 0xFF;
+    }
+
+    @Override
+    protected void set(int index, int value) {
+        _cells[index] = (byte) value;
+    }
+
+    @Override
+    public void swap(int a, int b) {
+        byte valueA = _cells[a];
+        byte valueB = _cells[b];
+
+        _cells[a] = valueB;
+        _cells[b] = valueA;
+        afterSwap(a, b, valueA & 0xFF, valueB & 0xFF);
+    }
+
+    /**
+     * shift
+     *
+     * this method copies a row segment with one System.arraycopy, and
+     * falls back to a strided loop for a column.
+     */
+    @Override
+    protected void shift(int index, int empty, int step) {
+        if (step == -1) {
+            System.arraycopy(_cells, index, _cells, index + 1, empty - index);
+        } else if (step == 1) {
+            System.arraycopy(_cells, empty + 1, _cells, empty, index - empty);
+        } else {
+            for (int i = empty; i != index; i += step) {
+                _cells[i] = _cells[i + step];
+            }
+        }
+    }
+
+    /**
+     * getCells
+     *
+     * @return  the cells of the board in row-major order
+     */
+    public byte[] getCells() {
+        return _cells;
+    }
+}
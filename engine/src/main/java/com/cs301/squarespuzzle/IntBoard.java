@@ -0,0 +1,76 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * IntBoard
+ *
+ * a board that stores one int per cell. it holds every board whose number
+ * of cells fits in an int, up to 46340x46340.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class IntBoard extends Board {
+    // the largest number of blocks in a row whose square fits in an int
+    public static final int MAX_BLOCKS_NUM = 46340;
+
+    // the cells of the board in row-major order
+    private final int[] _cells;
+
+    /**
+     * IntBoard constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    IntBoard(int blocksNum) {
+        super(blocksNum);
+        _cells = new int[_length];
+    }
+
+    @Override
+    public int get(int index) {
+        return _cells[index];
+    }
+
+    @Override
+    protected void set(int index, int value) {
+        _cells[index] = value;
+    }
+
+    @Override
+    public void swap(int a, int b) {
+        int valueA = _cells[a];
+        int valueB = _cells[b];
+
+        _cells[a] = valueB;
+        _cells[b] = valueA;
+        afterSwap(a, b, valueA, valueB);
+    }
+
+    /**
+     * shift
+     *
+     * this method copies a row segment with one System.arraycopy, and
+     * falls back to a strided loop for a column.
+     */
+    @Override
+    protected void shift(int index, int empty, int step) {
+        if (step == -1) {
+            System.arraycopy(_cells, index, _cells, index + 1, empty - index);
+        } else if (step == 1) {
+            System.arraycopy(_cells, empty + 1, _cells, empty, index - empty);
+        } else {
+            for (int i = empty; i != index; i += step) {
+                _cells[i] = _cells[i + step];
+            }
+        }
+    }
+
+    /**
+     * getCells
+     *
+     * @return  the cells of the board in row-major order
+     */
+    public int[] getCells() {
+        return _cells;
+    }
+}
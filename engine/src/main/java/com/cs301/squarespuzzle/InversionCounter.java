@@ -0,0 +1,117 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Counting inversions faster than comparing every pair.
+ *
+ * Resource:
+ *      * https://en.wikipedia.org/wiki/Fenwick_tree
+ * Solution: I used a Fenwick tree to count the smaller values already seen
+ *           while walking the blocks from right to left.
+ */
+
+/**
+ * External Citation
+ *      Date:   February 21, 2023
+ *      Problem: Trouble checking if the N-Square puzzle is solvable.
+ *
+ * Resource:
+ *      * https://mathworld.wolfram.com/15Puzzle.html
+ *      * https://www.geeksforgeeks.org/check-instance-15-puzzle-solvable/
+ * Solution: I used the algorithm to check if the N-Square puzzle is solvable.
+ */
+
+/**
+ * InversionCounter
+ *
+ * counts the inversions of a board in O(n log n) time with a Fenwick tree,
+ * where n is the number of cells. the empty block (0) is ignored. the tree
+ * is allocated once and reused, so counting the same size of board again
+ * does not allocate.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class InversionCounter {
+    // the Fenwick tree, indexed by block value
+    private long[] _tree;
+
+    /**
+     * InversionCounter constructor
+     *
+     * @param maxValue  the largest block value that will be counted
+     */
+    public InversionCounter(int maxValue) {
+        _tree = new long[maxValue + 1];
+    }
+
+    /**
+     * count
+     *
+     * this method counts the pairs of blocks that appear in the wrong order.
+     * every non-empty value must be between 1 and the maximum value.
+     *
+     * @param values    the block values in row-major order
+     * @return          the number of inversions
+     */
+    public long count(int[] values) {
+        int maxValue = _tree.length - 1;
+        for (int value : values) {
+            if (value > maxValue) {
+                maxValue = value;
+            }
+        }
+
+        // grow or clear the tree
+        if (maxValue >= _tree.length) {
+            _tree = new long[maxValue + 1];
+        } else {
+            java.util.Arrays.fill(_tree, 0);
+        }
+
+        // walk right to left, counting smaller values already seen
+        long inversions = 0;
+        for (int i = values.length - 1; i >= 0; i--) {
+            int value = values[i];
+            if (value == 0) {
+                continue;
+            }
+
+            for (int j = value - 1; j > 0; j -= j & -j) {
+                inversions += _tree[j];
+            }
+            for (int j = value; j < _tree.length; j += j & -j) {
+                _tree[j]++;
+            }
+        }
+
+        return inversions;
+    }
+
+    /**
+     * isSolvable
+     *
+     * this method checks if the given values can be solved with the empty
+     * block last. on odd boards the inversions must be even. on even boards
+     * the inversions plus the row of the empty block must be odd.
+     *
+     * @param values    the block values in row-major order
+     * @param blocksNum the number of blocks in each row and column
+     * @return          true if the values are solvable, false otherwise
+     */
+    public boolean isSolvable(int[] values, int blocksNum) {
+        long inversions = count(values);
+
+        if (blocksNum % 2 == 1) {
+            return inversions % 2 == 0;
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == 0) {
+                return (inversions + i / blocksNum) % 2 == 1;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,287 @@
+package com.cs301.squarespuzzle;
+
+import java.util.Arrays;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Removing from a linear probing table without tombstones.
+ *
+ * Resource:
+ *      * Knuth, "The Art of Computer Programming, Volume 3", section 6.4,
+ *        Algorithm R
+ * Solution: I used the deletion that moves later entries of the run back
+ *           into the hole when their home slot allows it.
+ */
+
+/**
+ * LongHashMap
+ *
+ * a hash map from primitive long keys, such as board hashes, to objects.
+ * the keys are stored in a long array with open addressing and linear
+ * probing, so a lookup does not box the key or allocate, and a probe reads
+ * neighbouring slots. the slot of a key is the top bits of the key times
+ * the golden ratio, which spreads keys that differ only in their high or
+ * low bits.
+ *
+ * key 0 marks a free slot, so its entry is kept outside the table. the
+ * table doubles when it is three quarters full. removed entries leave no
+ * tombstones, so the table never has to be rebuilt because of removals.
+ *
+ * the map is not thread-safe.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class LongHashMap<V> {
+    // the multiplier that spreads the keys over the slots
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    // the smallest number of slots
+    private static final int MIN_CAPACITY = 16;
+
+    // the largest number of slots
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    // these variables contain the entries, with key 0 in every free slot
+    private long[] _keys;
+    private Object[] _values;
+    private int _shift;
+    private int _size;
+    private int _threshold;
+
+    // these variables contain the entry of key 0, if there is one
+    private boolean _hasZeroKey;
+    private V _zeroValue;
+
+    /**
+     * LongHashMap constructor
+     */
+    public LongHashMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * LongHashMap constructor
+     *
+     * @param expectedSize  the number of entries the map holds without
+     *                      growing
+     */
+    public LongHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize is negative");
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < MAX_CAPACITY && capacity / 4 * 3 < expectedSize) {
+            capacity *= 2;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * get
+     *
+     * @param key   the key to look up
+     * @return      the value of the key, or null if it has none
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return _zeroValue;
+        }
+
+        int mask = _keys.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long found = _keys[slot];
+            if (found == key) {
+                return (V) _values[slot];
+            } else if (found == 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * containsKey
+     *
+     * @param key   the key to look up
+     * @return      true if the map has an entry for the key
+     */
+    public boolean containsKey(long key) {
+        if (key == 0) {
+            return _hasZeroKey;
+        }
+
+        int mask = _keys.length - 1;
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long found = _keys[slot];
+            if (found == key) {
+                return true;
+            } else if (found == 0) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * put
+     *
+     * @param key   the key to store
+     * @param value the value of the key, which may be null
+     * @return      the previous value of the key, or null if it had none
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        if (key == 0) {
+            V previous = _zeroValue;
+            _zeroValue = value;
+            _hasZeroKey = true;
+            return previous;
+        }
+
+        int mask = _keys.length - 1;
+        int slot = slot(key);
+        for (; _keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (_keys[slot] == key) {
+                V previous = (V) _values[slot];
+                _values[slot] = value;
+                return previous;
+            }
+        }
+
+        // the key is new, so it is inserted again after growing
+        if (_size == _threshold) {
+            grow();
+            return put(key, value);
+        }
+        _keys[slot] = key;
+        _values[slot] = value;
+        _size++;
+        return null;
+    }
+
+    /**
+     * remove
+     *
+     * this method removes the entry of a key. the entries after it in the
+     * same run are moved back into the hole unless their home slot is
+     * after it, so every key stays reachable from its home slot.
+     *
+     * @param key   the key to remove
+     * @return      the value of the key, or null if it had none
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            V previous = _zeroValue;
+            _zeroValue = null;
+            _hasZeroKey = false;
+            return previous;
+        }
+
+        int mask = _keys.length - 1;
+        int hole = slot(key);
+        for (; _keys[hole] != key; hole = (hole + 1) & mask) {
+            if (_keys[hole] == 0) {
+                return null;
+            }
+        }
+        V previous = (V) _values[hole];
+
+        for (int slot = (hole + 1) & mask; _keys[slot] != 0;
+             slot = (slot + 1) & mask) {
+            // the entry may move back if the hole is between it and home
+            int home = slot(_keys[slot]);
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                _keys[hole] = _keys[slot];
+                _values[hole] = _values[slot];
+                hole = slot;
+            }
+        }
+        _keys[hole] = 0;
+        _values[hole] = null;
+        _size--;
+        return previous;
+    }
+
+    /**
+     * size
+     *
+     * @return  the number of entries
+     */
+    public int size() {
+        return _hasZeroKey ? _size + 1 : _size;
+    }
+
+    /**
+     * isEmpty
+     *
+     * @return  true if there are no entries
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * clear
+     *
+     * this method removes every entry but keeps the table.
+     */
+    public void clear() {
+        Arrays.fill(_keys, 0);
+        Arrays.fill(_values, null);
+        _size = 0;
+        _hasZeroKey = false;
+        _zeroValue = null;
+    }
+
+    /**
+     * slot
+     *
+     * @param key   a key other than 0
+     * @return      the home slot of the key
+     */
+    private int slot(long key) {
+        return (int) ((key * GOLDEN_RATIO) >>> _shift);
+    }
+
+    /**
+     * allocate
+     *
+     * @param capacity  the number of slots, a power of two
+     */
+    private void allocate(int capacity) {
+        _keys = new long[capacity];
+        _values = new Object[capacity];
+        _shift = Long.numberOfLeadingZeros(capacity - 1);
+        _threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * grow
+     *
+     * this method doubles the table and moves every entry to its slot in
+     * the new table.
+     */
+    private void grow() {
+        if (_keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("map is full");
+        }
+
+        long[] keys = _keys;
+        Object[] values = _values;
+        allocate(keys.length * 2);
+        int mask = _keys.length - 1;
+        for (int i = 0; i < keys.length; i++) {
+            long key = keys[i];
+            if (key != 0) {
+                int slot = slot(key);
+                while (_keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                _keys[slot] = key;
+                _values[slot] = values[i];
+            }
+        }
+    }
+}
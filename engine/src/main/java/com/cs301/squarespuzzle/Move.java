@@ -0,0 +1,96 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * Move
+ *
+ * the compact encoding of a single move. a move is the direction that the
+ * empty block travels, so UP means the block above the empty block slides
+ * down into it. the four directions fit in two bits, and opposite directions
+ * add up to 3 so undoing a move is a subtraction.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public final class Move {
+    // the four directions of the empty block
+    public static final int UP = 0;
+    public static final int LEFT = 1;
+    public static final int RIGHT = 2;
+    public static final int DOWN = 3;
+
+    // the number of directions
+    public static final int COUNT = 4;
+
+    /**
+     * Move constructor
+     *
+     * the Move class only holds constants and is never instantiated.
+     */
+    private Move() {
+    }
+
+    /**
+     * opposite
+     *
+     * @param direction the direction of a move
+     * @return          the direction that undoes the move
+     */
+    public static int opposite(int direction) {
+        return 3 - direction;
+    }
+
+    /**
+     * target
+     *
+     * this method returns the index that the empty block moves to when it
+     * travels in the given direction.
+     *
+     * @param index     the row-major index of the empty block
+     * @param direction the direction of the move
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the index of the target block, or -1 if the move
+     *                  would leave the board
+     */
+    public static int target(int index, int direction, int blocksNum) {
+        int row = index / blocksNum;
+        int col = index - row * blocksNum;
+
+        switch (direction) {
+            case UP:
+                return row > 0 ? index - blocksNum : -1;
+            case LEFT:
+                return col > 0 ? index - 1 : -1;
+            case RIGHT:
+                return col < blocksNum - 1 ? index + 1 : -1;
+            case DOWN:
+                return row < blocksNum - 1 ? index + blocksNum : -1;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * direction
+     *
+     * this method returns the direction that takes the empty block from one
+     * index to an adjacent index.
+     *
+     * @param from      the row-major index of the empty block
+     * @param to        the row-major index of the adjacent block
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the direction of the move, or -1 if the blocks are
+     *                  not adjacent
+     */
+    public static int direction(int from, int to, int blocksNum) {
+        if (to == from - blocksNum) {
+            return UP;
+        } else if (to == from + blocksNum) {
+            return DOWN;
+        } else if (to == from - 1 && from % blocksNum != 0) {
+            return LEFT;
+        } else if (to == from + 1 && to % blocksNum != 0) {
+            return RIGHT;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,393 @@
+package com.cs301.squarespuzzle;
+
+import java.util.Arrays;
+
+/**
+ * MoveJournal
+ *
+ * the history of moves made on a board, with undo, redo and seeking to any
+ * move. each move is stored as its direction in two bits, 32 moves to a
+ * long, so a million moves take about 250 KB. the journal keeps a position
+ * in the history: undo and redo move it by one move in constant time, and
+ * recording a move after an undo drops the moves that could have been
+ * redone.
+ *
+ * a copy of the whole board is kept every snapshot interval moves, in one
+ * flat int array. seeking far away loads the nearest copy before the target
+ * and replays at most one interval of moves, so a seek costs O(interval)
+ * instead of O(history). the default interval is at least the number of
+ * cells, so the copies never take more than four bytes per move.
+ *
+ * the journal does not move the board when a move is recorded. the owner
+ * moves the board first and then records the direction.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class MoveJournal {
+    // the smallest number of moves between two copies of the board
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 1024;
+
+    // the number of moves stored in each long
+    private static final int MOVES_PER_WORD = 32;
+
+    // these variables contain the board and the moves made on it
+    private Board _board;
+    private long[] _words;
+    private int _size;
+    private int _position;
+
+    // these variables contain the copies of the board, one every interval
+    private final int _requestedInterval;
+    private int _snapshotInterval;
+    private int[] _snapshots;
+    private int _snapshotCount;
+    private int[] _scratch;
+
+    /**
+     * MoveJournal constructor
+     *
+     * @param board the board whose moves are recorded, in its first state
+     */
+    public MoveJournal(Board board) {
+        this(board, 0);
+    }
+
+    /**
+     * MoveJournal constructor
+     *
+     * @param board             the board whose moves are recorded, in its
+     *                          first state
+     * @param snapshotInterval  the number of moves between two copies of
+     *                          the board, or 0 for the default
+     */
+    public MoveJournal(Board board, int snapshotInterval) {
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException("snapshotInterval must not be "
+                                               + "negative");
+        }
+        _requestedInterval = snapshotInterval;
+        _words = new long[16];
+        reset(board);
+    }
+
+    /**
+     * reset
+     *
+     * this method forgets every move and starts recording the given board
+     * from its current state.
+     *
+     * @param board the board whose moves are recorded
+     */
+    public void reset(Board board) {
+        _board = board;
+        _size = 0;
+        _position = 0;
+
+        int length = board.getLength();
+        _snapshotInterval = _requestedInterval > 0 ? _requestedInterval
+                : Math.max(DEFAULT_SNAPSHOT_INTERVAL, length);
+        if (_scratch == null || _scratch.length != length) {
+            _scratch = new int[length];
+            _snapshots = new int[length];
+        }
+        _snapshotCount = 0;
+        snapshot();
+    }
+
+    /**
+     * record
+     *
+     * this method records a move that was just made on the board. any moves
+     * that could have been redone are dropped.
+     *
+     * @param direction the direction the empty block moved in
+     */
+    public void record(int direction) {
+        if (append(direction)) {
+            snapshot();
+        }
+    }
+
+    /**
+     * record
+     *
+     * this method records a run of moves in the same direction that were
+     * just made on the board, such as by Board.slide().
+     *
+     * @param direction the direction the empty block moved in
+     * @param count     the number of moves
+     */
+    public void record(int direction, int count) {
+        for (int i = 1; i <= count; i++) {
+            if (append(direction)) {
+                // the board is already past this position, so the moves
+                // after it are taken back on a copy
+                int empty = copyBoard();
+                for (int j = i; j < count; j++) {
+                    empty = unstep(empty, direction);
+                }
+                store();
+            }
+        }
+    }
+
+    /**
+     * record
+     *
+     * this method records a sequence of moves that were just made on the
+     * board, such as by Board.applyMoves().
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move
+     * @param count     the number of moves
+     */
+    public void record(byte[] moves, int offset, int count) {
+        int end = offset + count;
+        for (int i = offset; i < end; i++) {
+            if (append(moves[i])) {
+                // the board is already past this position, so the moves
+                // after it are taken back on a copy
+                int empty = copyBoard();
+                for (int j = end - 1; j > i; j--) {
+                    empty = unstep(empty, moves[j]);
+                }
+                store();
+            }
+        }
+    }
+
+    /**
+     * undo
+     *
+     * this method moves the board back by one move.
+     *
+     * @return  the direction the empty block moved in to undo the move, or
+     *          -1 if there is nothing to undo
+     */
+    public int undo() {
+        if (_position == 0) {
+            return -1;
+        }
+
+        int direction = Move.opposite(get(--_position));
+        step(direction);
+        return direction;
+    }
+
+    /**
+     * redo
+     *
+     * this method makes the move that was last undone again.
+     *
+     * @return  the direction the empty block moved in, or -1 if there is
+     *          nothing to redo
+     */
+    public int redo() {
+        if (_position == _size) {
+            return -1;
+        }
+
+        int direction = get(_position++);
+        step(direction);
+        return direction;
+    }
+
+    /**
+     * seek
+     *
+     * this method moves the board to the state after the given number of
+     * moves. a target within one interval is reached by undoing or redoing
+     * moves, and any other target from the nearest copy before it.
+     *
+     * @param position  the number of moves from the first state, from 0 to
+     *                  getSize()
+     */
+    public void seek(int position) {
+        if (position < 0 || position > _size) {
+            throw new IndexOutOfBoundsException("position " + position
+                                                + ", size " + _size);
+        }
+
+        if (Math.abs(position - _position) > _snapshotInterval) {
+            int snapshot = position / _snapshotInterval;
+            int length = _scratch.length;
+            System.arraycopy(_snapshots, snapshot * length, _scratch, 0, length);
+            _board.load(_scratch);
+            _position = snapshot * _snapshotInterval;
+        }
+
+        while (_position < position) {
+            step(get(_position++));
+        }
+        while (_position > position) {
+            step(Move.opposite(get(--_position)));
+        }
+    }
+
+    /**
+     * get
+     *
+     * @param index the index of a recorded move
+     * @return      the direction of the move
+     */
+    public int get(int index) {
+        int shift = (index % MOVES_PER_WORD) * 2;
+        return (int) (_words[index / MOVES_PER_WORD] >>> shift) & 3;
+    }
+
+    /**
+     * step
+     *
+     * this method moves the empty block of the board one cell.
+     *
+     * @param direction the direction the empty block moves in
+     */
+    private void step(int direction) {
+        int empty = _board.getEmptyIndex();
+        _board.swap(empty, Move.target(empty, direction,
+                                       _board.getBlocksNum()));
+    }
+
+    /**
+     * append
+     *
+     * this method adds a move at the current position, dropping any moves
+     * that could have been redone.
+     *
+     * @param direction the direction the empty block moved in
+     * @return          true if the board has to be copied at the new
+     *                  position
+     */
+    private boolean append(int direction) {
+        if (_position < _size) {
+            truncate();
+        }
+
+        int word = _position / MOVES_PER_WORD;
+        if (word == _words.length) {
+            _words = Arrays.copyOf(_words, _words.length * 2);
+        }
+        int shift = (_position % MOVES_PER_WORD) * 2;
+        _words[word] = (_words[word] & ~(3L << shift))
+                       | ((long) direction << shift);
+
+        _size = ++_position;
+        return _position % _snapshotInterval == 0;
+    }
+
+    /**
+     * snapshot
+     *
+     * this method copies the board at the current position, which is a
+     * multiple of the interval, after the copies before it.
+     */
+    private void snapshot() {
+        _board.copyTo(_scratch);
+        store();
+    }
+
+    /**
+     * copyBoard
+     *
+     * @return  the index of the empty block in the copy of the board now
+     *          in the scratch array
+     */
+    private int copyBoard() {
+        _board.copyTo(_scratch);
+        return _board.getEmptyIndex();
+    }
+
+    /**
+     * unstep
+     *
+     * this method takes a move back on the scratch array.
+     *
+     * @param empty     the index of the empty block in the scratch array
+     * @param direction the direction the empty block moved in
+     * @return          the index of the empty block before the move
+     */
+    private int unstep(int empty, int direction) {
+        int previous = Move.target(empty, Move.opposite(direction),
+                                   _board.getBlocksNum());
+        _scratch[empty] = _scratch[previous];
+        _scratch[previous] = 0;
+        return previous;
+    }
+
+    /**
+     * store
+     *
+     * this method keeps the scratch array as the copy of the board at the
+     * current position, after the copies before it.
+     */
+    private void store() {
+        int length = _scratch.length;
+        int needed = (_snapshotCount + 1) * length;
+        if (needed > _snapshots.length) {
+            _snapshots = Arrays.copyOf(_snapshots,
+                                       Math.max(needed, _snapshots.length * 2));
+        }
+
+        System.arraycopy(_scratch, 0, _snapshots, _snapshotCount * length,
+                         length);
+        _snapshotCount++;
+    }
+
+    /**
+     * truncate
+     *
+     * this method drops the moves after the current position, and the
+     * copies of the board made after it.
+     */
+    private void truncate() {
+        _size = _position;
+        _snapshotCount = _position / _snapshotInterval + 1;
+    }
+
+    /**
+     * getPosition
+     *
+     * @return  the number of moves from the first state to the board
+     */
+    public int getPosition() {
+        return _position;
+    }
+
+    /**
+     * getSize
+     *
+     * @return  the number of recorded moves, including undone moves
+     */
+    public int getSize() {
+        return _size;
+    }
+
+    /**
+     * canUndo
+     *
+     * @return  true if there is a move to undo
+     */
+    public boolean canUndo() {
+        return _position > 0;
+    }
+
+    /**
+     * canRedo
+     *
+     * @return  true if there is a move to redo
+     */
+    public boolean canRedo() {
+        return _position < _size;
+    }
+
+    /**
+     * getMemoryBytes
+     *
+     * @return  the approximate number of bytes held by the moves and the
+     *          copies of the board
+     */
+    public long getMemoryBytes() {
+        return 8L * _words.length + 4L * (_snapshots.length + _scratch.length);
+    }
+}
@@ -0,0 +1,91 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * PackedBoard
+ *
+ * a board of up to 4x4 blocks packed into a single long. each cell takes
+ * four bits, with cell 0 in the lowest nibble, so the whole board fits in a
+ * register and a swap is a handful of bit operations.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PackedBoard extends Board {
+    // the largest board that fits in 64 bits at four bits per cell
+    public static final int MAX_BLOCKS_NUM = 4;
+
+    // the nibble-packed cells of the board
+    private long _cells;
+
+    /**
+     * PackedBoard constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    PackedBoard(int blocksNum) {
+        super(blocksNum);
+    }
+
+    @Override
+    public int get(int index) {
+        return (int) (_cells >>> (index << 2)) & 0xF;
+    }
+
+    @Override
+    protected void set(int index, int value) {
+        int shift = index << 2;
+        _cells = (_cells & ~(0xFL << shift)) | ((long) value << shift);
+    }
+
+    /**
+     * swap
+     *
+     * this method swaps two nibbles in place by xor-ing their difference
+     * back into both positions.
+     *
+     * @param a the row-major index of the first block
+     * @param b the row-major index of the second block
+     */
+    @Override
+    public void swap(int a, int b) {
+        int shiftA = a << 2;
+        int shiftB = b << 2;
+        long valueA = (_cells >>> shiftA) & 0xF;
+        long valueB = (_cells >>> shiftB) & 0xF;
+        long diff = valueA ^ valueB;
+
+        _cells ^= (diff << shiftA) | (diff << shiftB);
+        afterSwap(a, b, (int) valueA, (int) valueB);
+    }
+
+    /**
+     * shift
+     *
+     * this method shifts a row segment as one run of nibbles, and a column
+     * segment one nibble at a time.
+     */
+    @Override
+    protected void shift(int index, int empty, int step) {
+        if (step == -1) {
+            // the nibbles from index move up into the empty block
+            long source = ((1L << ((empty - index) << 2)) - 1) << (index << 2);
+            _cells = (_cells & ~(source << 4)) | ((_cells & source) << 4);
+        } else if (step == 1) {
+            // the nibbles after the empty block move down into it
+            long source = ((1L << ((index - empty) << 2)) - 1)
+                          << ((empty + 1) << 2);
+            _cells = (_cells & ~(source >>> 4)) | ((_cells & source) >>> 4);
+        } else {
+            super.shift(index, empty, step);
+        }
+    }
+
+    /**
+     * getCells
+     *
+     * @return  the nibble-packed cells of the board
+     */
+    public long getCells() {
+        return _cells;
+    }
+}
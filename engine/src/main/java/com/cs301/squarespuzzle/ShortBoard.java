@@ -0,0 +1,76 @@
+package com.cs301.squarespuzzle;
+
+/**
+ * ShortBoard
+ *
+ * a board that stores one unsigned short per cell. it holds boards of up
+ * to 65536 cells (256x256).
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ShortBoard extends Board {
+    // the largest number of cells that fit in an unsigned short
+    public static final int MAX_LENGTH = 1 << 16;
+
+    // the cells of the board in row-major order
+    private final short[] _cells;
+
+    /**
+     * ShortBoard constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    ShortBoard(int blocksNum) {
+        super(blocksNum);
+        _cells = new short[_length];
+    }
+
+    @Override
+    public int get(int index) {
+        return _cells[index] & 0xFFFF;
+    }
+
+    @Override
+    protected void set(int index, int value) {
+        _cells[index] = (short) value;
+    }
+
+    @Override
+    public void swap(int a, int b) {
+        short valueA = _cells[a];
+        short valueB = _cells[b];
+
+        _cells[a] = valueB;
+        _cells[b] = valueA;
+        afterSwap(a, b, valueA & 0xFFFF, valueB & 0xFFFF);
+    }
+
+    /**
+     * shift
+     *
+     * this method copies a row segment with one System.arraycopy, and
+     * falls back to a strided loop for a column.
+     */
+    @Override
+    protected void shift(int index, int empty, int step) {
+        if (step == -1) {
+            System.arraycopy(_cells, index, _cells, index + 1, empty - index);
+        } else if (step == 1) {
+            System.arraycopy(_cells, empty + 1, _cells, empty, index - empty);
+        } else {
+            for (int i = empty; i != index; i += step) {
+                _cells[i] = _cells[i + step];
+            }
+        }
+    }
+
+    /**
+     * getCells
+     *
+     * @return  the cells of the board in row-major order
+     */
+    public short[] getCells() {
+        return _cells;
+    }
+}
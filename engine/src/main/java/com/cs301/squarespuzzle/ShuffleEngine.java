@@ -0,0 +1,75 @@
+package com.cs301.squarespuzzle;
+
+import java.util.Random;
+
+/**
+ * External Citation
+ *      Date:   February 21, 2023
+ *      Problem: Trouble shuffling the contents of a 2D array.
+ *
+ * Resource:
+ *      * https://en.wikipedia.org/wiki/Fisher%E2%80%93Yates_shuffle
+ *      * https://www.geeksforgeeks.org/shuffle-a-given-array-using-fisher-
+ *        yates-shuffle-algorithm/
+ * Solution: I used the algorithm to shuffle the contents of the board.
+ */
+
+/**
+ * ShuffleEngine
+ *
+ * shuffles a board into a uniformly random solvable configuration in a
+ * single O(n) pass over the cells. the board tracks its inversion parity
+ * on every swap, so an unsolvable result is fixed by swapping the first two
+ * non-empty blocks instead of shuffling again. for a fixed empty block that
+ * swap pairs every unsolvable board with exactly one solvable board, so the
+ * result stays uniform.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ShuffleEngine {
+    // the random number generator used for every shuffle
+    private final Random _random;
+
+    /**
+     * ShuffleEngine constructor
+     *
+     * @param random    the random number generator to shuffle with
+     */
+    public ShuffleEngine(Random random) {
+        _random = random;
+    }
+
+    /**
+     * shuffle
+     *
+     * this method shuffles the board until it is solvable and not already
+     * solved. a solved result is rare (one in (n^2)!/2) and simply shuffled
+     * again in the loop.
+     *
+     * @param board the board to shuffle in place
+     */
+    public void shuffle(Board board) {
+        int length = board.getLength();
+        if (length < 3) {
+            return;
+        }
+
+        do {
+            // Fisher-Yates over the flat cells
+            for (int i = length - 1; i > 0; i--) {
+                int j = _random.nextInt(i + 1);
+                if (j != i) {
+                    board.swap(i, j);
+                }
+            }
+
+            // one transposition of two blocks flips the parity
+            if (!board.isSolvable()) {
+                int first = board.get(0) == 0 ? 1 : 0;
+                int second = board.get(first + 1) == 0 ? first + 2 : first + 1;
+                board.swap(first, second);
+            }
+        } while (board.isSolved());
+    }
+}
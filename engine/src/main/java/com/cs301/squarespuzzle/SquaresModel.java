@@ -0,0 +1,716 @@
+package com.cs301.squarespuzzle;
+
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * SquaresModel
+ *
+ * the model for the SquaresPuzzle application. each model contains information
+ * about the state of the table that is displayed in the view and modified
+ * by the controller.
+ *
+ * every change to the table is made under the write lock of a StampedLock
+ * and raises the version of the model, one per move. other threads read
+ * the table through snapshot(), which copies it under an optimistic read
+ * stamp and tries again if a change overlapped the copy, so a reader never
+ * blocks the thread that makes the moves. listeners are told about each
+ * change on the thread that made it, after the lock is released.
+ *
+ * @author Bryce Kwon
+ * @version February 21, 2021
+ */
+public class SquaresModel {
+    // the time each shuffle takes
+    private static final Histogram SHUFFLE_TIME =
+            MetricsRegistry.getDefault().histogram("model.shuffle");
+
+    // these variables contain information about the table model
+    private int _blocksNum;
+    private Board _board;
+
+    // the engine that shuffles the board into solvable configurations
+    private final ShuffleEngine _shuffleEngine = new ShuffleEngine(new Random());
+
+    // the history of moves since the last shuffle or reset
+    private MoveJournal _journal;
+
+    // the longest seek that is told to the listeners as its moves. a
+    // longer one is told as a new board, since the journal seeks through
+    // a snapshot and listing its moves would cost the whole distance
+    private static final int MAX_SEEK_MOVES =
+            MoveJournal.DEFAULT_SNAPSHOT_INTERVAL;
+
+    // the number of optimistic copies a snapshot tries before it waits
+    private static final int OPTIMISTIC_ATTEMPTS = 4;
+
+    // these variables guard the table against readers on other threads
+    private final StampedLock _lock = new StampedLock();
+    private volatile long _version;
+    private volatile BoardSnapshot _snapshot;
+
+    // the listeners that are told about every change, replaced on change
+    private volatile OnChangeListener[] _changeListeners =
+            new OnChangeListener[0];
+
+    /**
+     * OnChangeListener
+     *
+     * the interface for being told about every change to the table with
+     * the version it made. a move is two cells and a run of moves keeps
+     * its directions, so redrawing, saving or caching can follow the table
+     * without reading it, and the version ties each event to the snapshot
+     * that includes it.
+     */
+    public interface OnChangeListener {
+        /**
+         * onMove
+         *
+         * this method is called after the empty block moved to an
+         * adjacent cell, once for every cell of a slide.
+         *
+         * @param from      the index the empty block moved from
+         * @param to        the index the empty block moved to
+         * @param version   the version of the model after the move
+         */
+        void onMove(int from, int to, long version);
+
+        /**
+         * onMoves
+         *
+         * this method is called after a run of moves was applied at once,
+         * such as a solution or a short seek through the history. the
+         * array is only valid during the call.
+         *
+         * @param moves     the directions of the empty block, as in Move
+         * @param offset    the index of the first move
+         * @param count     the number of moves, at least 1
+         * @param version   the version of the model after the last move
+         */
+        void onMoves(byte[] moves, int offset, int count, long version);
+
+        /**
+         * onBoardChanged
+         *
+         * this method is called after the table was replaced in a way that
+         * is not a move, such as after a shuffle, a reset, a new board or
+         * a long seek through the history.
+         *
+         * @param version   the version of the model after the change
+         */
+        void onBoardChanged(long version);
+    }
+
+    /**
+     * SquaresModel constructor
+     *
+     * the constructor for the SquaresModel class. each model contains
+     * information about the state of the square table that is displayed
+     * in the view and modified by the controller.
+     */
+    public SquaresModel() {
+        // set initial squares to 4x4 (16 total)
+        _blocksNum = 4;
+
+        // initialize the table
+        this.resetTable();
+        this.shuffleTable();
+    }
+
+    /**
+     * resetTable
+     *
+     * this method resets the table to a random configuration. a new board
+     * is only allocated when the number of blocks has changed, otherwise the
+     * current board is filled with numbers in ascending order in place. the
+     * first block is set to 0 to represent the empty.
+     */
+    public void resetTable() {
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            // initialize the table
+            if (_board == null || _board.getBlocksNum() != _blocksNum) {
+                _board = Board.create(_blocksNum);
+            } else {
+                _board.reset();
+            }
+            resetJournal();
+            version = ++_version;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+        notifyBoardChanged(version);
+    }
+
+    /**
+     * shuffleTable
+     *
+     * this method shuffles the table into a random configuration that is
+     * solvable and not already solved. the work is done by the shuffle
+     * engine in a single pass over the board.
+     */
+    public void shuffleTable() {
+        long start = SHUFFLE_TIME.startTimer();
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            _shuffleEngine.shuffle(_board);
+            resetJournal();
+            version = ++_version;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+        SHUFFLE_TIME.stopTimer(start);
+        notifyBoardChanged(version);
+    }
+
+    /**
+     * isValidTable
+     *
+     * this method is used to check if the table is solvable. the board
+     * tracks the parity of its inversions on every swap, so the check is
+     * constant time.
+     *
+     * @return  true if the table is valid, false otherwise
+     */
+    public boolean isValidTable() {
+        return _board.isSolvable();
+    }
+
+    /**
+     * swapBlocks
+     *
+     * this method swaps the selected block with the empty block. the method
+     * checks if the selected block is adjacent to the empty block. if the
+     * adjacent, the method swaps the blocks and increments the total count.
+     *
+     * @param row   the row of the selected block
+     * @param col   the column of the selected block
+     * @return      true if the blocks were swapped, false otherwise
+     */
+    public boolean swapBlocks(int row, int col) {
+        int emptyIndex;
+        int index;
+        int direction;
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            emptyIndex = _board.getEmptyIndex();
+            int emptyRow = emptyIndex / _blocksNum;
+            int emptyCol = emptyIndex % _blocksNum;
+
+            if (row == emptyRow && col == emptyCol) {
+                return false;
+            } else if (row != emptyRow && col != emptyCol) {
+                return false;
+            } else if (col - emptyCol > 1 || col - emptyCol < -1) {
+                return false;
+            } else if (row - emptyRow > 1 || row - emptyRow < -1) {
+                return false;
+            }
+
+            index = row * _blocksNum + col;
+            _board.swap(index, emptyIndex);
+            direction = Move.direction(emptyIndex, index, _blocksNum);
+            _journal.record(direction);
+            version = ++_version;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+
+        notifyMove(emptyIndex, index, version);
+
+        return true;
+    }
+
+    /**
+     * slideBlocks
+     *
+     * this method slides every block between the selected block and the
+     * empty block one cell towards the empty block, so the selected block
+     * ends up next to where the empty block was. the selected block must be
+     * in the same row or column as the empty block. the listener is told
+     * about each cell the empty block passes, in order, as if the blocks
+     * had been swapped one at a time.
+     *
+     * @param row   the row of the selected block
+     * @param col   the column of the selected block
+     * @return      the number of blocks that moved, 0 if none did
+     */
+    public int slideBlocks(int row, int col) {
+        int emptyIndex;
+        int index;
+        int count;
+        int step;
+        int direction;
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            emptyIndex = _board.getEmptyIndex();
+            int emptyRow = emptyIndex / _blocksNum;
+            int emptyCol = emptyIndex % _blocksNum;
+
+            if (row < 0 || row >= _blocksNum || col < 0 || col >= _blocksNum) {
+                return 0;
+            } else if (row == emptyRow && col == emptyCol) {
+                return 0;
+            } else if (row != emptyRow && col != emptyCol) {
+                return 0;
+            }
+
+            index = row * _blocksNum + col;
+            count = _board.slide(index);
+
+            step = (index - emptyIndex) / count;
+            direction = Move.direction(emptyIndex, emptyIndex + step,
+                                       _blocksNum);
+            _journal.record(direction, count);
+            version = _version += count;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+
+        // every cell the empty block passed is a move of its own
+        long moveVersion = version - count;
+        for (int i = emptyIndex; i != index; i += step) {
+            notifyMove(i, i + step, ++moveVersion);
+        }
+
+        return count;
+    }
+
+    /**
+     * applyMoves
+     *
+     * this method applies a sequence of moves of the empty block, encoded as
+     * in Move, such as a solution or a recorded session. the sequence is
+     * checked once before any move is applied, and the listeners are told
+     * about the whole run at once.
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move to apply
+     * @param count     the number of moves to apply
+     * @throws IllegalArgumentException if a move would leave the board, in
+     *                                  which case nothing is changed
+     */
+    public void applyMoves(byte[] moves, int offset, int count) {
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            _board.applyMoves(moves, offset, count);
+            _journal.record(moves, offset, count);
+            version = _version += count;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+
+        if (count > 0) {
+            notifyMoves(moves, offset, count, version);
+        }
+    }
+
+    /**
+     * undo
+     *
+     * this method takes back the last move.
+     *
+     * @return  true if a move was taken back, false if there was none
+     */
+    public boolean undo() {
+        int emptyIndex;
+        int newEmptyIndex;
+        int direction;
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            emptyIndex = _board.getEmptyIndex();
+            direction = _journal.undo();
+            if (direction < 0) {
+                return false;
+            }
+            newEmptyIndex = _board.getEmptyIndex();
+            version = ++_version;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+
+        notifyMove(emptyIndex, newEmptyIndex, version);
+        return true;
+    }
+
+    /**
+     * redo
+     *
+     * this method makes the last move taken back again.
+     *
+     * @return  true if a move was made, false if there was none
+     */
+    public boolean redo() {
+        int emptyIndex;
+        int newEmptyIndex;
+        int direction;
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            emptyIndex = _board.getEmptyIndex();
+            direction = _journal.redo();
+            if (direction < 0) {
+                return false;
+            }
+            newEmptyIndex = _board.getEmptyIndex();
+            version = ++_version;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+
+        notifyMove(emptyIndex, newEmptyIndex, version);
+        return true;
+    }
+
+    /**
+     * seekMove
+     *
+     * this method moves the table to the state after the given number of
+     * moves since the last shuffle or reset. the listeners are told about
+     * a short seek as the run of moves that leads from the old state to
+     * the new one, the moves taken back reversed and the moves made again
+     * as recorded, so a listener that saves moves does not have to start
+     * over. a seek of more than one snapshot interval is told as a new
+     * board instead, so it costs no more than the journal's own seek.
+     *
+     * @param position  the number of moves, from 0 to the journal size
+     */
+    public void seekMove(int position) {
+        int count;
+        byte[] moves = null;
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            int start = _journal.getPosition();
+            count = Math.abs(position - start);
+            if (count <= MAX_SEEK_MOVES) {
+                // the run is the listeners' own, since they may keep it
+                // past a later seek on another thread
+                moves = new byte[count];
+                for (int i = 0; i < count; i++) {
+                    moves[i] = position < start
+                            ? (byte) Move.opposite(_journal.get(start - 1 - i))
+                            : (byte) _journal.get(start + i);
+                }
+            }
+            _journal.seek(position);
+            if (moves != null) {
+                version = _version += count;
+            } else {
+                version = ++_version;
+            }
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+
+        if (moves == null) {
+            notifyBoardChanged(version);
+        } else if (count > 0) {
+            notifyMoves(moves, 0, count, version);
+        }
+    }
+
+    /**
+     * setBoard
+     *
+     * this method replaces the table with the given board, such as a saved
+     * game. the board is owned by the model afterwards.
+     *
+     * @param board the new board
+     */
+    public void setBoard(Board board) {
+        long version;
+        long stamp = _lock.writeLock();
+        try {
+            _board = board;
+            _blocksNum = board.getBlocksNum();
+            resetJournal();
+            version = ++_version;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+        notifyBoardChanged(version);
+    }
+
+    /**
+     * notifyMove
+     *
+     * this method tells the change listeners about a move. the array of
+     * listeners is read once, so a listener added or removed meanwhile
+     * does not change the loop, and nothing is allocated.
+     *
+     * @param from      the index the empty block moved from
+     * @param to        the index the empty block moved to
+     * @param version   the version of the model after the move
+     */
+    private void notifyMove(int from, int to, long version) {
+        for (OnChangeListener listener : _changeListeners) {
+            listener.onMove(from, to, version);
+        }
+    }
+
+    /**
+     * notifyMoves
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move
+     * @param count     the number of moves
+     * @param version   the version of the model after the last move
+     */
+    private void notifyMoves(byte[] moves, int offset, int count,
+                             long version) {
+        for (OnChangeListener listener : _changeListeners) {
+            listener.onMoves(moves, offset, count, version);
+        }
+    }
+
+    /**
+     * notifyBoardChanged
+     *
+     * @param version   the version of the model after the change
+     */
+    private void notifyBoardChanged(long version) {
+        for (OnChangeListener listener : _changeListeners) {
+            listener.onBoardChanged(version);
+        }
+    }
+
+    /**
+     * resetJournal
+     *
+     * this method starts a new history from the current table.
+     */
+    private void resetJournal() {
+        if (_journal == null) {
+            _journal = new MoveJournal(_board);
+        } else {
+            _journal.reset(_board);
+        }
+    }
+
+    /**
+     * getJournal
+     *
+     * this method returns the history of moves since the last shuffle or
+     * reset. it should only be read, and changed through the model.
+     *
+     * @return  the history of moves
+     */
+    public MoveJournal getJournal() {
+        return _journal;
+    }
+
+    /**
+     * checkWin
+     *
+     * this method checks if the game has been won. the method checks if the
+     * table is in ascending order. the empty block should be the last block.
+     * the board keeps a count of misplaced blocks, so this is constant time.
+     *
+     * @return  true if the game has been won, false otherwise
+     */
+    public boolean checkWin() {
+        return _board.isSolved();
+    }
+
+    /**
+     * getBlocksNum
+     *
+     * this method returns the number of blocks in the table. the number of
+     * blocks is equal to the number of rows and columns in the table.
+     *
+     * @return  the number of blocks in the table
+     */
+    public int getBlocksNum() {
+        return _blocksNum;
+    }
+
+    /**
+     * getTable
+     *
+     * this method returns the table. the table is a two-dimensional array
+     * of integers. the table contains the numbers 0 to n^2 - 1, where n is
+     * the number of blocks in the table.
+     *
+     * the table is a copy of the board made on every call and is kept for
+     * compatibility only. changes to it are not reflected in the model, and
+     * hot paths should read getBoard() instead.
+     *
+     * @return  the table of blocks
+     */
+    public int[][] getTable() {
+        int[][] table = new int[_blocksNum][_blocksNum];
+        for (int i = 0; i < _blocksNum; i++) {
+            for (int j = 0; j < _blocksNum; j++) {
+                table[i][j] = _board.get(i, j);
+            }
+        }
+
+        return table;
+    }
+
+    /**
+     * getHash
+     *
+     * this method returns a 64-bit Zobrist hash of the table, for caches
+     * and sets keyed by board such as a LongHashMap. the board updates it
+     * in constant time on every swap, so it is current after every move,
+     * shuffle, reset, undo or seek without reading the table.
+     *
+     * @return  the hash of the table
+     */
+    public long getHash() {
+        return _board.getHash();
+    }
+
+    /**
+     * getVersion
+     *
+     * this method returns the version of the model, which every change
+     * raises, by one per move. it may be read from any thread.
+     *
+     * @return  the version of the model
+     */
+    public long getVersion() {
+        return _version;
+    }
+
+    /**
+     * snapshot
+     *
+     * this method returns an immutable copy of the table and its version,
+     * and may be called from any thread. the copy is made under an
+     * optimistic read stamp, which costs the writer nothing, and is thrown
+     * away and made again if a change overlapped it. only a reader that
+     * keeps overlapping changes falls back to the read lock, which holds
+     * the writer up for one copy. a snapshot of the current version is
+     * shared rather than copied again.
+     *
+     * @return  a snapshot of the table
+     */
+    public BoardSnapshot snapshot() {
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+            long stamp = _lock.tryOptimisticRead();
+            if (stamp == 0) {
+                Thread.yield();
+                continue;
+            }
+
+            BoardSnapshot snapshot = copy();
+            if (_lock.validate(stamp)) {
+                _snapshot = snapshot;
+                return snapshot;
+            }
+        }
+
+        long stamp = _lock.readLock();
+        try {
+            BoardSnapshot snapshot = copy();
+            _snapshot = snapshot;
+            return snapshot;
+        } finally {
+            _lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * copy
+     *
+     * this method copies the table for a snapshot, or returns the last
+     * snapshot if the version has not changed since. under an optimistic
+     * stamp the copy may be torn, so it is only used once the stamp is
+     * validated. the board of a torn copy is still a whole board whose
+     * length is final, so the copy itself cannot fail.
+     *
+     * @return  a snapshot of the table, valid if nothing changed meanwhile
+     */
+    private BoardSnapshot copy() {
+        long version = _version;
+        BoardSnapshot cached = _snapshot;
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+
+        Board board = _board;
+        int[] cells = new int[board.getLength()];
+        board.copyTo(cells);
+        return new BoardSnapshot(version, board.getBlocksNum(), cells,
+                                 board.getEmptyIndex(), board.getHash());
+    }
+
+    /**
+     * addOnChangeListener
+     *
+     * this method adds a listener that is told about every change.
+     *
+     * @param listener  the listener to add
+     */
+    public synchronized void addOnChangeListener(OnChangeListener listener) {
+        OnChangeListener[] listeners = Arrays.copyOf(
+                _changeListeners, _changeListeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        _changeListeners = listeners;
+    }
+
+    /**
+     * removeOnChangeListener
+     *
+     * this method removes a listener added before, if it is still there.
+     *
+     * @param listener  the listener to remove
+     */
+    public synchronized void removeOnChangeListener(
+            OnChangeListener listener) {
+        OnChangeListener[] listeners = _changeListeners;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                OnChangeListener[] remaining =
+                        new OnChangeListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i,
+                                 remaining.length - i);
+                _changeListeners = remaining;
+                return;
+            }
+        }
+    }
+
+    /**
+     * getBoard
+     *
+     * this method returns the packed board that backs the table. the board
+     * is owned by the model and should only be modified through it.
+     *
+     * @return  the board of blocks
+     */
+    public Board getBoard() {
+        return _board;
+    }
+
+    /**
+     * setBlocksNum
+     *
+     * this method sets the number of blocks in the table. the number of
+     * blocks is equal to the number of rows and columns in the table.
+     *
+     * @param blocksNum the number of blocks in the table
+     */
+    public void setBlocksNum(int blocksNum) {
+        long stamp = _lock.writeLock();
+        try {
+            _blocksNum = blocksNum;
+        } finally {
+            _lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,618 @@
+package com.cs301.squarespuzzle.bfs;
+
+import com.cs301.squarespuzzle.Move;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Breadth-first search of state spaces larger than memory.
+ *
+ * Resource:
+ *      * Korf, "Delayed Duplicate Detection: Extended Abstract" (2003)
+ *      * Korf and Schultze, "Large-Scale Parallel Breadth-First Search"
+ *        (2005)
+ * Solution: I kept every layer as a sorted file and found duplicates by
+ *           merging, instead of keeping a hash table of visited states.
+ */
+
+/**
+ * ExternalBfs
+ *
+ * a breadth-first search of every board reachable from the goal, with the
+ * layers kept on disk instead of in memory, for counting the states at
+ * each distance on boards too large to search in RAM. a board is packed
+ * four bits per cell into a long, so boards up to 4x4 are supported.
+ *
+ * each layer is a file of sorted, distinct states written by StateWriter.
+ * the next layer is found in three sequential passes:
+ *
+ *      * the states of the layer are expanded into a bounded buffer, which
+ *        is sorted, stripped of duplicates and written as a run whenever
+ *        it fills
+ *      * the runs are merged, at most MAX_FAN_IN at a time, until one
+ *        merge is left
+ *      * the last merge drops duplicates across runs and every state that
+ *        is in the current or the previous layer, which is every neighbor
+ *        that is not new, and writes the next layer
+ *
+ * the heap needed is the buffer plus one read buffer per merged run, no
+ * matter how large the layers are.
+ *
+ * every finished layer is forced to the disk and recorded in a manifest in
+ * the directory, which is replaced with a rename. run() resumes after the
+ * last layer in the manifest and deletes whatever a crash left behind.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ExternalBfs {
+    // the largest board whose states fit in a long
+    public static final int MAX_BLOCKS_NUM = 4;
+
+    // the most runs merged at the same time
+    public static final int MAX_FAN_IN = 64;
+
+    // these variables define the buffers of the files
+    private static final int LAYER_BUFFER_SIZE = 1 << 20;
+    private static final int RUN_BUFFER_SIZE = 1 << 16;
+
+    // the name of the manifest file
+    private static final String MANIFEST = "manifest.txt";
+
+    /**
+     * Listener
+     *
+     * the interface that is told about every finished layer.
+     */
+    public interface Listener {
+        /**
+         * onLayer
+         *
+         * @param depth         the distance of the layer from the goal
+         * @param states        the number of states in the layer
+         * @param bytes         the size of the layer file
+         * @param generated     the number of neighbors generated to find it
+         * @param elapsedNanos  the time it took to find
+         */
+        void onLayer(int depth, long states, long bytes, long generated,
+                     long elapsedNanos);
+    }
+
+    // these variables contain the board and the directory of the search
+    private final int _blocksNum;
+    private final int _length;
+    private final File _dir;
+
+    // the buffer the neighbors are sorted in
+    private final long[] _buffer;
+
+    // the listener that is told about every layer, if any
+    private Listener _listener;
+
+    // these variables contain the size of every finished layer
+    private final List<long[]> _layers = new ArrayList<long[]>();
+
+    /**
+     * ExternalBfs constructor
+     *
+     * @param blocksNum     the number of blocks in each row and column
+     * @param dir           the directory of the layer files
+     * @param bufferStates  the number of states sorted in memory at a time
+     */
+    public ExternalBfs(int blocksNum, File dir, int bufferStates) {
+        if (blocksNum < 2 || blocksNum > MAX_BLOCKS_NUM) {
+            throw new IllegalArgumentException("blocksNum must be 2 to "
+                                               + MAX_BLOCKS_NUM);
+        } else if (bufferStates < Move.COUNT) {
+            throw new IllegalArgumentException("buffer is too small");
+        }
+
+        _blocksNum = blocksNum;
+        _length = blocksNum * blocksNum;
+        _dir = dir;
+        _buffer = new long[bufferStates];
+    }
+
+    /**
+     * setListener
+     *
+     * @param listener  the listener that is told about every layer, or
+     *                  null for none
+     */
+    public void setListener(Listener listener) {
+        _listener = listener;
+    }
+
+    /**
+     * run
+     *
+     * this method searches until the given depth or until every state was
+     * found, resuming from the manifest if there is one.
+     *
+     * @param maxDepth      the deepest layer to find
+     * @return              the number of states in each layer found so far,
+     *                      ending with an empty layer if the search is done
+     * @throws IOException  if a file cannot be read or written
+     */
+    public long[] run(int maxDepth) throws IOException {
+        if (!_dir.isDirectory() && !_dir.mkdirs()) {
+            throw new IOException("cannot create " + _dir);
+        }
+        readManifest();
+        deleteLeftovers();
+
+        if (_layers.isEmpty()) {
+            long start = System.nanoTime();
+            StateWriter writer = new StateWriter(layer(0), RUN_BUFFER_SIZE);
+            writer.write(goal());
+            writer.close(true);
+            finish(0, writer, 0, start);
+        }
+
+        while (_layers.size() - 1 < maxDepth
+               && _layers.get(_layers.size() - 1)[0] > 0) {
+            expand(_layers.size() - 1);
+        }
+        return getCounts();
+    }
+
+    /**
+     * getCounts
+     *
+     * @return  the number of states in each finished layer
+     */
+    public long[] getCounts() {
+        long[] counts = new long[_layers.size()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = _layers.get(i)[0];
+        }
+        return counts;
+    }
+
+    /**
+     * expand
+     *
+     * this method finds the layer after the given one.
+     *
+     * @param depth         the depth of the last finished layer
+     * @throws IOException  if a file cannot be read or written
+     */
+    private void expand(int depth) throws IOException {
+        long start = System.nanoTime();
+        List<File> runs = new ArrayList<File>();
+        long generated = 0;
+
+        // expand the layer into sorted runs of distinct neighbors
+        StateReader reader = new StateReader(layer(depth), LAYER_BUFFER_SIZE);
+        try {
+            int count = 0;
+            while (reader.next()) {
+                if (count > _buffer.length - Move.COUNT) {
+                    runs.add(writeRun(depth + 1, runs.size(), count));
+                    count = 0;
+                }
+                int before = count;
+                count = neighbors(reader.get(), count);
+                generated += count - before;
+            }
+            if (count > 0 || runs.isEmpty()) {
+                runs.add(writeRun(depth + 1, runs.size(), count));
+            }
+        } finally {
+            reader.close();
+        }
+
+        // merge the runs until one merge can take all of them
+        for (int pass = 0; runs.size() > MAX_FAN_IN; pass++) {
+            List<File> merged = new ArrayList<File>();
+            for (int i = 0; i < runs.size(); i += MAX_FAN_IN) {
+                List<File> group = runs.subList(i, Math.min(runs.size(),
+                                                            i + MAX_FAN_IN));
+                File file = new File(_dir, "merge-" + (depth + 1) + "-" + pass
+                                           + "-" + merged.size() + ".tmp");
+                StateWriter writer = new StateWriter(file, LAYER_BUFFER_SIZE);
+                merge(group, writer, new File[0]);
+                writer.close(false);
+                delete(group);
+                merged.add(file);
+            }
+            runs = merged;
+        }
+
+        // the last merge drops every neighbor that is not new
+        File temp = new File(_dir, "layer-" + (depth + 1) + ".tmp");
+        StateWriter writer = new StateWriter(temp, LAYER_BUFFER_SIZE);
+        File[] known = depth == 0 ? new File[] { layer(0) }
+                                  : new File[] { layer(depth - 1),
+                                                 layer(depth) };
+        merge(runs, writer, known);
+        writer.close(true);
+        delete(runs);
+
+        if (!temp.renameTo(layer(depth + 1))) {
+            throw new IOException("cannot rename " + temp);
+        }
+        finish(depth + 1, writer, generated, start);
+    }
+
+    /**
+     * neighbors
+     *
+     * this method adds every board one move away from the given board to
+     * the buffer.
+     *
+     * @param state the packed board
+     * @param count the number of states in the buffer
+     * @return      the number of states in the buffer afterwards
+     */
+    private int neighbors(long state, int count) {
+        int blank = 0;
+        while (((state >>> (blank * 4)) & 0xF) != 0) {
+            blank++;
+        }
+
+        for (int direction = 0; direction < Move.COUNT; direction++) {
+            int target = Move.target(blank, direction, _blocksNum);
+            if (target >= 0) {
+                long value = (state >>> (target * 4)) & 0xF;
+                _buffer[count++] = state & ~(0xFL << (target * 4))
+                                   | value << (blank * 4);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * writeRun
+     *
+     * this method sorts the buffer and writes its distinct states as a run.
+     *
+     * @param depth         the depth of the layer being found
+     * @param index         the number of runs written before
+     * @param count         the number of states in the buffer
+     * @return              the run file
+     * @throws IOException  if the run cannot be written
+     */
+    private File writeRun(int depth, int index, int count) throws IOException {
+        Arrays.sort(_buffer, 0, count);
+        File file = new File(_dir, "run-" + depth + "-" + index + ".tmp");
+        StateWriter writer = new StateWriter(file, LAYER_BUFFER_SIZE);
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || _buffer[i] != _buffer[i - 1]) {
+                writer.write(_buffer[i]);
+            }
+        }
+        writer.close(false);
+        return file;
+    }
+
+    /**
+     * merge
+     *
+     * this method merges sorted runs into one sorted run of distinct
+     * states, leaving out every state in the known files.
+     *
+     * @param runs          the runs to merge
+     * @param writer        the writer of the merged run
+     * @param known         the sorted files of states to leave out
+     * @throws IOException  if a file cannot be read or written
+     */
+    private void merge(List<File> runs, StateWriter writer, File[] known)
+            throws IOException {
+        Cursor[] heap = new Cursor[runs.size()];
+        Cursor[] excluded = new Cursor[known.length];
+        int size = 0;
+        try {
+            for (int i = 0; i < known.length; i++) {
+                excluded[i] = new Cursor(known[i]);
+            }
+            for (File run : runs) {
+                Cursor cursor = new Cursor(run);
+                if (cursor._valid) {
+                    heap[size++] = cursor;
+                } else {
+                    cursor.close();
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(heap, size, i);
+            }
+
+            boolean first = true;
+            long last = 0;
+            while (size > 0) {
+                long state = heap[0]._state;
+                if ((first || state != last) && !contains(excluded, state)) {
+                    writer.write(state);
+                }
+                first = false;
+                last = state;
+
+                if (!heap[0].advance()) {
+                    heap[0].close();
+                    heap[0] = heap[--size];
+                }
+                siftDown(heap, size, 0);
+            }
+        } finally {
+            for (int i = 0; i < size; i++) {
+                heap[i].close();
+            }
+            for (Cursor cursor : excluded) {
+                if (cursor != null) {
+                    cursor.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * contains
+     *
+     * this method advances each cursor to the given state and checks if
+     * any of them is on it. the states asked for must be ascending.
+     *
+     * @param cursors       cursors over sorted files
+     * @param state         the state to look for
+     * @return              true if a file contains the state
+     * @throws IOException  if a file cannot be read
+     */
+    private static boolean contains(Cursor[] cursors, long state)
+            throws IOException {
+        boolean found = false;
+        for (Cursor cursor : cursors) {
+            while (cursor._valid && cursor._state < state) {
+                cursor.advance();
+            }
+            found |= cursor._valid && cursor._state == state;
+        }
+        return found;
+    }
+
+    /**
+     * siftDown
+     *
+     * @param heap  a min-heap of cursors by their state
+     * @param size  the number of cursors in the heap
+     * @param index the index of the cursor to move down
+     */
+    private static void siftDown(Cursor[] heap, int size, int index) {
+        Cursor cursor = heap[index];
+        while (2 * index + 1 < size) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && heap[child + 1]._state < heap[child]._state) {
+                child++;
+            }
+            if (heap[child]._state >= cursor._state) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        if (size > 0) {
+            heap[index] = cursor;
+        }
+    }
+
+    /**
+     * finish
+     *
+     * this method records a layer in the manifest and tells the listener.
+     *
+     * @param depth         the depth of the layer
+     * @param writer        the writer of the layer file
+     * @param generated     the number of neighbors generated to find it
+     * @param start         the time the layer was started
+     * @throws IOException  if the manifest cannot be written
+     */
+    private void finish(int depth, StateWriter writer, long generated,
+                        long start) throws IOException {
+        _layers.add(new long[] { writer.getCount(), writer.getBytes() });
+        writeManifest();
+        if (_listener != null) {
+            _listener.onLayer(depth, writer.getCount(), writer.getBytes(),
+                              generated, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * readManifest
+     *
+     * this method loads the finished layers from the manifest, if any, and
+     * checks that their files are whole.
+     *
+     * @throws IOException  if the manifest is for another board or a layer
+     *                      file does not match it
+     */
+    private void readManifest() throws IOException {
+        _layers.clear();
+        File file = new File(_dir, MANIFEST);
+        if (!file.isFile()) {
+            return;
+        }
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(
+                new FileInputStream(file), StandardCharsets.UTF_8));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.trim().split("\\s+");
+                if (fields[0].equals("blocksNum")
+                    && Integer.parseInt(fields[1]) != _blocksNum) {
+                    throw new IOException(_dir + " holds a search of "
+                                          + fields[1] + "x" + fields[1]);
+                } else if (fields[0].equals("layer")) {
+                    int depth = Integer.parseInt(fields[1]);
+                    if (depth != _layers.size()) {
+                        throw new IOException(file + " skips layer "
+                                              + _layers.size());
+                    }
+                    _layers.add(new long[] { Long.parseLong(fields[2]),
+                                             Long.parseLong(fields[3]) });
+                }
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException(file + " is damaged", e);
+        } finally {
+            in.close();
+        }
+
+        // the next layer only reads the last two
+        for (int depth = Math.max(0, _layers.size() - 2);
+             depth < _layers.size(); depth++) {
+            if (layer(depth).length() != _layers.get(depth)[1]) {
+                throw new IOException(layer(depth) + " does not match "
+                                      + file);
+            }
+        }
+    }
+
+    /**
+     * writeManifest
+     *
+     * this method replaces the manifest with one that lists every finished
+     * layer.
+     *
+     * @throws IOException  if the manifest cannot be written
+     */
+    private void writeManifest() throws IOException {
+        File temp = new File(_dir, MANIFEST + ".tmp");
+        FileOutputStream stream = new FileOutputStream(temp);
+        try {
+            Writer out = new OutputStreamWriter(stream, StandardCharsets.UTF_8);
+            out.write("blocksNum " + _blocksNum + "\n");
+            for (int depth = 0; depth < _layers.size(); depth++) {
+                out.write("layer " + depth + " " + _layers.get(depth)[0] + " "
+                          + _layers.get(depth)[1] + "\n");
+            }
+            out.flush();
+            stream.getFD().sync();
+        } finally {
+            stream.close();
+        }
+
+        if (!temp.renameTo(new File(_dir, MANIFEST))) {
+            throw new IOException("cannot rename " + temp);
+        }
+    }
+
+    /**
+     * deleteLeftovers
+     *
+     * this method deletes the runs and the layers past the manifest that a
+     * crash left behind.
+     */
+    private void deleteLeftovers() {
+        File[] files = _dir.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(".tmp")) {
+                file.delete();
+            } else if (name.startsWith("layer-") && name.endsWith(".bin")) {
+                String depth = name.substring(6, name.length() - 4);
+                try {
+                    if (Integer.parseInt(depth) >= _layers.size()) {
+                        file.delete();
+                    }
+                } catch (NumberFormatException e) {
+                    // not a layer of this search
+                }
+            }
+        }
+    }
+
+    /**
+     * delete
+     *
+     * @param files the files to delete
+     */
+    private static void delete(List<File> files) {
+        for (File file : files) {
+            file.delete();
+        }
+    }
+
+    /**
+     * layer
+     *
+     * @param depth the depth of a layer
+     * @return      the file of the layer
+     */
+    private File layer(int depth) {
+        return new File(_dir, "layer-" + depth + ".bin");
+    }
+
+    /**
+     * goal
+     *
+     * @return  the packed solved board, with the empty block last
+     */
+    private long goal() {
+        long state = 0;
+        for (int i = 0; i < _length - 1; i++) {
+            state |= (long) (i + 1) << (i * 4);
+        }
+        return state;
+    }
+
+    /**
+     * Cursor
+     *
+     * a reader of a sorted file that remembers its current state.
+     */
+    private static class Cursor {
+        // these variables contain the reader and its position
+        private final StateReader _reader;
+        private long _state;
+        private boolean _valid;
+
+        /**
+         * Cursor constructor
+         *
+         * @param file          a sorted file of states
+         * @throws IOException  if the file cannot be opened
+         */
+        Cursor(File file) throws IOException {
+            _reader = new StateReader(file, RUN_BUFFER_SIZE);
+            advance();
+        }
+
+        /**
+         * advance
+         *
+         * @return              false if the file has no more states
+         * @throws IOException  if the file cannot be read
+         */
+        boolean advance() throws IOException {
+            _valid = _reader.next();
+            _state = _reader.get();
+            return _valid;
+        }
+
+        /**
+         * close
+         *
+         * @throws IOException  if the file cannot be closed
+         */
+        void close() throws IOException {
+            _reader.close();
+        }
+    }
+}
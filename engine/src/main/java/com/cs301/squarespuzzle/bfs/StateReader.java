@@ -0,0 +1,112 @@
+package com.cs301.squarespuzzle.bfs;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * StateReader
+ *
+ * reads back a run of states written by a StateWriter, one at a time,
+ * through one buffer with sequential channel reads.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class StateReader {
+    // these variables contain the file and the bytes read ahead
+    private final File _file;
+    private final FileInputStream _stream;
+    private final FileChannel _channel;
+    private final ByteBuffer _buffer;
+    private boolean _endOfFile;
+
+    // the last state read
+    private long _state;
+
+    /**
+     * StateReader constructor
+     *
+     * @param file          the file to read
+     * @param bufferSize    the number of bytes read at a time
+     * @throws IOException  if the file cannot be opened
+     */
+    StateReader(File file, int bufferSize) throws IOException {
+        _file = file;
+        _stream = new FileInputStream(file);
+        _channel = _stream.getChannel();
+        _buffer = ByteBuffer.allocateDirect(bufferSize);
+        _buffer.flip();
+    }
+
+    /**
+     * next
+     *
+     * this method reads the next state, which get() returns afterwards.
+     *
+     * @return              false if every state has been read
+     * @throws IOException  if the file cannot be read or is truncated
+     */
+    boolean next() throws IOException {
+        if (_buffer.remaining() < StateWriter.MAX_VARINT_BYTES && !_endOfFile) {
+            fill();
+        }
+        if (!_buffer.hasRemaining()) {
+            return false;
+        }
+
+        long delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (!_buffer.hasRemaining()) {
+                throw new IOException(_file + " is truncated");
+            }
+            b = _buffer.get();
+            delta |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+
+        _state += delta;
+        return true;
+    }
+
+    /**
+     * get
+     *
+     * @return  the state read by the last call to next()
+     */
+    long get() {
+        return _state;
+    }
+
+    /**
+     * close
+     *
+     * @throws IOException  if the file cannot be closed
+     */
+    void close() throws IOException {
+        _stream.close();
+    }
+
+    /**
+     * fill
+     *
+     * this method moves the unread bytes to the front of the buffer and
+     * reads until it is full or the file ends.
+     *
+     * @throws IOException  if the file cannot be read
+     */
+    private void fill() throws IOException {
+        _buffer.compact();
+        while (_buffer.hasRemaining()) {
+            if (_channel.read(_buffer) < 0) {
+                _endOfFile = true;
+                break;
+            }
+        }
+        _buffer.flip();
+    }
+}
@@ -0,0 +1,123 @@
+package com.cs301.squarespuzzle.bfs;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * StateWriter
+ *
+ * writes an ascending run of packed states to a file. each state is stored
+ * as the difference from the previous one in an unsigned varint of seven
+ * bits per byte, so neighboring states of a dense layer take two or three
+ * bytes instead of eight. the file is written through one large buffer
+ * with sequential channel writes.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class StateWriter {
+    // the longest varint of a 64-bit difference
+    static final int MAX_VARINT_BYTES = 10;
+
+    // these variables contain the file and the bytes not yet written
+    private final FileOutputStream _stream;
+    private final FileChannel _channel;
+    private final ByteBuffer _buffer;
+
+    // these variables contain what was written so far
+    private long _previous;
+    private long _count;
+    private long _bytes;
+
+    /**
+     * StateWriter constructor
+     *
+     * @param file          the file to write, replaced if it exists
+     * @param bufferSize    the number of bytes written at a time
+     * @throws IOException  if the file cannot be created
+     */
+    StateWriter(File file, int bufferSize) throws IOException {
+        _stream = new FileOutputStream(file);
+        _channel = _stream.getChannel();
+        _buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * write
+     *
+     * @param state         a state, not less than the previous state
+     * @throws IOException  if the file cannot be written
+     */
+    void write(long state) throws IOException {
+        if (_buffer.remaining() < MAX_VARINT_BYTES) {
+            flush();
+        }
+
+        // the differences are unsigned, so negative states still encode
+        long delta = state - _previous;
+        int start = _buffer.position();
+        while ((delta & ~0x7FL) != 0) {
+            _buffer.put((byte) ((delta & 0x7F) | 0x80));
+            delta >>>= 7;
+        }
+        _buffer.put((byte) delta);
+
+        _bytes += _buffer.position() - start;
+        _previous = state;
+        _count++;
+    }
+
+    /**
+     * close
+     *
+     * this method writes the buffered states, optionally forces the file to
+     * the disk, and closes it.
+     *
+     * @param sync          true to force the file to the disk first
+     * @throws IOException  if the file cannot be written
+     */
+    void close(boolean sync) throws IOException {
+        try {
+            flush();
+            if (sync) {
+                _channel.force(false);
+            }
+        } finally {
+            _stream.close();
+        }
+    }
+
+    /**
+     * flush
+     *
+     * @throws IOException  if the file cannot be written
+     */
+    private void flush() throws IOException {
+        _buffer.flip();
+        while (_buffer.hasRemaining()) {
+            _channel.write(_buffer);
+        }
+        _buffer.clear();
+    }
+
+    /**
+     * getCount
+     *
+     * @return  the number of states written
+     */
+    long getCount() {
+        return _count;
+    }
+
+    /**
+     * getBytes
+     *
+     * @return  the number of bytes written
+     */
+    long getBytes() {
+        return _bytes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.cs301.squarespuzzle.generator;
+
+/**
+ * Difficulty
+ *
+ * the difficulties a puzzle can be generated at, as ranges of optimal
+ * solution lengths for each board size. the hardest ranges stop short of
+ * the longest possible solutions, which are too rare to find by random
+ * walks and too slow to verify on a phone.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public enum Difficulty {
+    EASY, MEDIUM, HARD;
+
+    // the smallest and largest board with difficulty ranges
+    public static final int MIN_BLOCKS_NUM = 2;
+    public static final int MAX_BLOCKS_NUM = 4;
+
+    // the shortest and longest optimal solution of each difficulty, by
+    // board size from MIN_BLOCKS_NUM
+    private static final int[][] RANGES = {
+        { 1, 2, 3, 4, 5, 6 },
+        { 4, 10, 12, 20, 22, 30 },
+        { 10, 24, 26, 38, 40, 48 },
+    };
+
+    /**
+     * isSupported
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          true if puzzles of that size have difficulties
+     */
+    public static boolean isSupported(int blocksNum) {
+        return blocksNum >= MIN_BLOCKS_NUM && blocksNum <= MAX_BLOCKS_NUM;
+    }
+
+    /**
+     * getMinLength
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the shortest optimal solution of the difficulty
+     */
+    public int getMinLength(int blocksNum) {
+        return range(blocksNum)[2 * ordinal()];
+    }
+
+    /**
+     * getMaxLength
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the longest optimal solution of the difficulty
+     */
+    public int getMaxLength(int blocksNum) {
+        return range(blocksNum)[2 * ordinal() + 1];
+    }
+
+    /**
+     * range
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the ranges of every difficulty at that size
+     */
+    private static int[] range(int blocksNum) {
+        if (!isSupported(blocksNum)) {
+            throw new IllegalArgumentException("no difficulties for "
+                                               + blocksNum + "x" + blocksNum);
+        }
+        return RANGES[blocksNum - MIN_BLOCKS_NUM];
+    }
+}
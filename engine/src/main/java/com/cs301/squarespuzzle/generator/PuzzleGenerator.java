@@ -0,0 +1,193 @@
+package com.cs301.squarespuzzle.generator;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.Move;
+import com.cs301.squarespuzzle.metrics.Counter;
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+import com.cs301.squarespuzzle.solver.Heuristic;
+import com.cs301.squarespuzzle.solver.IdaStarSolver;
+import com.cs301.squarespuzzle.solver.ManhattanConflictHeuristic;
+import com.cs301.squarespuzzle.solver.Solution;
+
+import java.util.Random;
+
+/**
+ * PuzzleGenerator
+ *
+ * generates boards whose optimal solution length is in a requested range.
+ * each candidate is a random walk of the empty block from the solved board
+ * that never undoes its last move, and is kept only if the solver proves
+ * its optimal length is in the range. the solver gives up on a candidate
+ * as soon as it is known to be too hard.
+ *
+ * the optimal length of a walk is at most its length and has the same
+ * parity, so the walks are between the bottom of the range and a longest
+ * length that adapts to the results: it grows while the longest walks are
+ * too easy and shrinks while they are too hard. the walk lengths are
+ * random in between, so the whole range is generated and not just its
+ * top.
+ *
+ * a generator is used by one thread at a time. cancel() may be called from
+ * any thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PuzzleGenerator {
+    // the number of candidates tried before generate() gives up
+    public static final int MAX_ATTEMPTS = 1000;
+
+    // these variables contain the metrics of every generated puzzle
+    private static final Histogram GENERATE_TIME =
+            MetricsRegistry.getDefault().histogram("generator.generate");
+    private static final Counter ATTEMPTS =
+            MetricsRegistry.getDefault().counter("generator.attempts");
+
+    // these variables contain the size and the tools of the generator
+    private final int _blocksNum;
+    private final Random _random;
+    private final IdaStarSolver _solver;
+    private final int[] _goal;
+    private final int[] _tiles;
+    private volatile boolean _cancelled;
+
+    // these variables contain the longest walk learned for the last range
+    private int _minLength = -1;
+    private int _maxLength = -1;
+    private int _walkLength;
+
+    /**
+     * PuzzleGenerator constructor
+     *
+     * the constructor for a generator that verifies with Manhattan distance
+     * plus linear conflicts.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param random    the source of the walks
+     */
+    public PuzzleGenerator(int blocksNum, Random random) {
+        this(blocksNum, random, new ManhattanConflictHeuristic(blocksNum));
+    }
+
+    /**
+     * PuzzleGenerator constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param random    the source of the walks
+     * @param heuristic the heuristic of the solver that verifies candidates
+     */
+    public PuzzleGenerator(int blocksNum, Random random, Heuristic heuristic) {
+        _blocksNum = blocksNum;
+        _random = random;
+        _solver = new IdaStarSolver(blocksNum, heuristic);
+        _tiles = new int[blocksNum * blocksNum];
+
+        // the solved board has the empty block last
+        _goal = new int[_tiles.length];
+        for (int i = 0; i < _goal.length - 1; i++) {
+            _goal[i] = i + 1;
+        }
+    }
+
+    /**
+     * generate
+     *
+     * @param difficulty    the difficulty of the board
+     * @return              a board of that difficulty, or null if none was
+     *                      found in MAX_ATTEMPTS candidates
+     */
+    public Board generate(Difficulty difficulty) {
+        return generate(difficulty.getMinLength(_blocksNum),
+                        difficulty.getMaxLength(_blocksNum));
+    }
+
+    /**
+     * generate
+     *
+     * @param minLength the shortest optimal solution the board may have
+     * @param maxLength the longest optimal solution the board may have
+     * @return          a board with an optimal solution length in the range,
+     *                  or null if none was found in MAX_ATTEMPTS candidates
+     *                  or the generator was cancelled
+     */
+    public Board generate(int minLength, int maxLength) {
+        if (minLength < 0 || minLength > maxLength) {
+            throw new IllegalArgumentException("bad range " + minLength
+                                               + ".." + maxLength);
+        }
+        if (minLength != _minLength || maxLength != _maxLength) {
+            _minLength = minLength;
+            _maxLength = maxLength;
+            _walkLength = maxLength;
+        }
+
+        long start = GENERATE_TIME.startTimer();
+        try {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && !_cancelled;
+                 attempt++) {
+                ATTEMPTS.increment();
+                int length = minLength
+                             + _random.nextInt(_walkLength - minLength + 2);
+                Board board = walk(length);
+                board.copyTo(_tiles);
+                Solution solution = _solver.solve(_tiles, 0, maxLength);
+
+                boolean longest = length >= _walkLength;
+                if (_cancelled) {
+                    return null;
+                } else if (solution == null) {
+                    if (longest) {
+                        _walkLength = Math.max(maxLength, _walkLength - 2);
+                    }
+                } else if (solution.getLength() < minLength) {
+                    if (longest) {
+                        _walkLength += 2;
+                    }
+                } else {
+                    return board;
+                }
+            }
+            return null;
+        } finally {
+            GENERATE_TIME.stopTimer(start);
+        }
+    }
+
+    /**
+     * cancel
+     *
+     * this method stops the generator for good. the running generate()
+     * call returns null, and so does every later one.
+     */
+    public void cancel() {
+        _cancelled = true;
+        _solver.cancel();
+    }
+
+    /**
+     * walk
+     *
+     * @param length    the number of moves in the walk
+     * @return          the solved board after a random walk of the empty
+     *                  block that never undoes its last move
+     */
+    private Board walk(int length) {
+        Board board = Board.create(_blocksNum);
+        board.load(_goal);
+        int empty = board.getEmptyIndex();
+        int last = -1;
+        for (int i = 0; i < length; i++) {
+            int direction;
+            int target;
+            do {
+                direction = _random.nextInt(Move.COUNT);
+                target = Move.target(empty, direction, _blocksNum);
+            } while (target < 0 || direction == Move.opposite(last));
+            board.swap(empty, target);
+            empty = target;
+            last = direction;
+        }
+        return board;
+    }
+}
@@ -0,0 +1,396 @@
+package com.cs301.squarespuzzle.generator;
+
+import com.cs301.squarespuzzle.Board;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PuzzlePool
+ *
+ * keeps a bounded shelf of ready puzzles for every size and difficulty that
+ * was asked for, generated ahead of time by low-priority background
+ * threads. taking a puzzle never computes anything: it returns a ready
+ * puzzle or null, and starts generating a replacement. a caller that
+ * cannot do without a puzzle requests one instead, and is handed the next
+ * puzzle generated for the shelf ahead of the shelf itself.
+ *
+ * every shelf holds at most its capacity of puzzles, counting the ones
+ * being generated, so the pool does no work once every shelf is full.
+ * a range that cannot be generated in PuzzleGenerator.MAX_ATTEMPTS
+ * candidates is not retried until a puzzle is asked for again.
+ *
+ * the methods of a pool may be called from any thread.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PuzzlePool {
+    // these variables contain the background threads and their generators
+    private final ExecutorService _executor;
+    private final ThreadLocal<Map<Integer, PuzzleGenerator>> _generators =
+            new ThreadLocal<Map<Integer, PuzzleGenerator>>() {
+                @Override
+                protected Map<Integer, PuzzleGenerator> initialValue() {
+                    return new HashMap<Integer, PuzzleGenerator>();
+                }
+            };
+    private final CopyOnWriteArrayList<PuzzleGenerator> _allGenerators =
+            new CopyOnWriteArrayList<PuzzleGenerator>();
+
+    // these variables contain the ready puzzles
+    private final int _capacity;
+    private final ConcurrentMap<Long, Shelf> _shelves =
+            new ConcurrentHashMap<Long, Shelf>();
+    private volatile boolean _shutdown;
+
+    /**
+     * OnPuzzleListener
+     *
+     * the interface for being handed a requested puzzle.
+     */
+    public interface OnPuzzleListener {
+        /**
+         * onPuzzle
+         *
+         * this method is called once per request, on the thread that
+         * requested if a puzzle was ready and on a background thread
+         * otherwise.
+         *
+         * @param board the puzzle, owned by the listener, or null if none
+         *              of the range could be generated
+         */
+        void onPuzzle(Board board);
+    }
+
+    /**
+     * PuzzlePool constructor
+     *
+     * @param threads   the number of background threads
+     * @param capacity  the number of puzzles kept ready for each size and
+     *                  difficulty
+     */
+    public PuzzlePool(int threads, int capacity) {
+        if (threads < 1 || capacity < 1) {
+            throw new IllegalArgumentException("threads and capacity must be "
+                                               + "positive");
+        }
+
+        _capacity = capacity;
+        _executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "puzzle-pool");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MIN_PRIORITY);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * prepare
+     *
+     * this method starts filling the shelf of the given size and difficulty
+     * so puzzles are ready before they are asked for.
+     *
+     * @param blocksNum     the number of blocks in each row and column
+     * @param difficulty    the difficulty of the puzzles
+     */
+    public void prepare(int blocksNum, Difficulty difficulty) {
+        prepare(blocksNum, difficulty.getMinLength(blocksNum),
+                difficulty.getMaxLength(blocksNum));
+    }
+
+    /**
+     * prepare
+     *
+     * this method starts filling the shelf of the given size and range of
+     * optimal solution lengths so puzzles are ready before they are asked
+     * for.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param minLength the shortest optimal solution of the puzzles
+     * @param maxLength the longest optimal solution of the puzzles
+     */
+    public void prepare(int blocksNum, int minLength, int maxLength) {
+        refill(shelf(blocksNum, minLength, maxLength));
+    }
+
+    /**
+     * poll
+     *
+     * @param blocksNum     the number of blocks in each row and column
+     * @param difficulty    the difficulty of the puzzle
+     * @return              a ready puzzle, owned by the caller, or null if
+     *                      none is ready yet
+     */
+    public Board poll(int blocksNum, Difficulty difficulty) {
+        return poll(blocksNum, difficulty.getMinLength(blocksNum),
+                    difficulty.getMaxLength(blocksNum));
+    }
+
+    /**
+     * poll
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param minLength the shortest optimal solution of the puzzle
+     * @param maxLength the longest optimal solution of the puzzle
+     * @return          a ready puzzle, owned by the caller, or null if none
+     *                  is ready yet
+     */
+    public Board poll(int blocksNum, int minLength, int maxLength) {
+        Shelf shelf = shelf(blocksNum, minLength, maxLength);
+        Board board = shelf._ready.poll();
+        refill(shelf);
+        return board;
+    }
+
+    /**
+     * request
+     *
+     * this method hands the listener a ready puzzle, or the next puzzle
+     * generated for the size and difficulty if none is ready.
+     *
+     * @param blocksNum     the number of blocks in each row and column
+     * @param difficulty    the difficulty of the puzzle
+     * @param listener      the listener to hand the puzzle to
+     */
+    public void request(int blocksNum, Difficulty difficulty,
+                        OnPuzzleListener listener) {
+        Shelf shelf = shelf(blocksNum, difficulty.getMinLength(blocksNum),
+                            difficulty.getMaxLength(blocksNum));
+        Board board;
+        synchronized (shelf) {
+            board = shelf._ready.poll();
+            if (board == null) {
+                shelf._waiting.add(listener);
+            }
+        }
+
+        refill(shelf);
+        if (board != null) {
+            listener.onPuzzle(board);
+        }
+    }
+
+    /**
+     * getReadyCount
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param minLength the shortest optimal solution of the puzzles
+     * @param maxLength the longest optimal solution of the puzzles
+     * @return          the number of puzzles that are ready
+     */
+    public int getReadyCount(int blocksNum, int minLength, int maxLength) {
+        Shelf shelf = _shelves.get(key(blocksNum, minLength, maxLength));
+        return shelf == null ? 0 : shelf._ready.size();
+    }
+
+    /**
+     * shutdown
+     *
+     * this method stops every generator and the background threads. the
+     * ready puzzles can still be taken.
+     */
+    public void shutdown() {
+        _shutdown = true;
+        for (PuzzleGenerator generator : _allGenerators) {
+            generator.cancel();
+        }
+        _executor.shutdownNow();
+    }
+
+    /**
+     * shelf
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param minLength the shortest optimal solution of the puzzles
+     * @param maxLength the longest optimal solution of the puzzles
+     * @return          the shelf of the puzzles, created if needed
+     */
+    private Shelf shelf(int blocksNum, int minLength, int maxLength) {
+        if (minLength < 0 || minLength > maxLength) {
+            throw new IllegalArgumentException("bad range " + minLength
+                                               + ".." + maxLength);
+        }
+
+        Long key = key(blocksNum, minLength, maxLength);
+        Shelf shelf = _shelves.get(key);
+        if (shelf == null) {
+            Shelf created = new Shelf(blocksNum, minLength, maxLength,
+                                      _capacity);
+            shelf = _shelves.putIfAbsent(key, created);
+            if (shelf == null) {
+                shelf = created;
+            }
+        }
+        return shelf;
+    }
+
+    /**
+     * key
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param minLength the shortest optimal solution of the puzzles
+     * @param maxLength the longest optimal solution of the puzzles
+     * @return          the key of the shelf of the puzzles
+     */
+    private static Long key(int blocksNum, int minLength, int maxLength) {
+        return ((long) blocksNum << 40) | ((long) minLength << 20) | maxLength;
+    }
+
+    /**
+     * refill
+     *
+     * this method starts generating puzzles for the shelf until the ready
+     * and pending puzzles fill it.
+     *
+     * @param shelf the shelf to fill
+     */
+    private void refill(final Shelf shelf) {
+        while (!_shutdown) {
+            int pending = shelf._pending.get();
+            if (shelf._ready.size() + pending >= _capacity) {
+                return;
+            } else if (!shelf._pending.compareAndSet(pending, pending + 1)) {
+                continue;
+            }
+
+            try {
+                _executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        fill(shelf);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // the pool was shut down
+                shelf._pending.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * fill
+     *
+     * this method generates one puzzle for the shelf on a background
+     * thread and hands it to the first waiting listener, if any, or puts
+     * it on the shelf. another is generated if the shelf still has room.
+     * if none of the range can be generated, every waiting listener is
+     * told so.
+     *
+     * @param shelf the shelf to fill
+     */
+    private void fill(Shelf shelf) {
+        Board board = null;
+        OnPuzzleListener listener = null;
+        try {
+            board = generator(shelf._blocksNum)
+                    .generate(shelf._minLength, shelf._maxLength);
+            if (board != null) {
+                synchronized (shelf) {
+                    listener = shelf._waiting.poll();
+                    if (listener == null) {
+                        shelf._ready.offer(board);
+                    }
+                }
+            }
+        } finally {
+            shelf._pending.decrementAndGet();
+        }
+
+        if (listener != null) {
+            listener.onPuzzle(board);
+        }
+        if (board != null) {
+            refill(shelf);
+        } else if (!_shutdown) {
+            while ((listener = waiting(shelf)) != null) {
+                listener.onPuzzle(null);
+            }
+        }
+    }
+
+    /**
+     * waiting
+     *
+     * @param shelf the shelf the listeners wait on
+     * @return      the first waiting listener, removed, or null if none
+     */
+    private static OnPuzzleListener waiting(Shelf shelf) {
+        synchronized (shelf) {
+            return shelf._waiting.poll();
+        }
+    }
+
+    /**
+     * generator
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the generator of this thread for the size
+     */
+    private PuzzleGenerator generator(int blocksNum) {
+        Map<Integer, PuzzleGenerator> generators = _generators.get();
+        PuzzleGenerator generator = generators.get(blocksNum);
+        if (generator == null) {
+            generator = new PuzzleGenerator(blocksNum, new Random());
+            generators.put(blocksNum, generator);
+            _allGenerators.add(generator);
+            if (_shutdown) {
+                generator.cancel();
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * Shelf
+     *
+     * the ready puzzles of one size and range, the number of puzzles being
+     * generated for it and the listeners waiting for one.
+     */
+    private static class Shelf {
+        // these variables contain the puzzles the shelf holds
+        private final int _blocksNum;
+        private final int _minLength;
+        private final int _maxLength;
+
+        // these variables contain the ready and pending puzzles
+        private final ArrayBlockingQueue<Board> _ready;
+        private final AtomicInteger _pending = new AtomicInteger();
+
+        // the listeners waiting for the next puzzles, in request order,
+        // guarded by the shelf. a puzzle is only shelved while none wait
+        // and a listener only waits while the shelf is empty
+        private final ArrayDeque<OnPuzzleListener> _waiting =
+                new ArrayDeque<OnPuzzleListener>();
+
+        /**
+         * Shelf constructor
+         *
+         * @param blocksNum the number of blocks in each row and column
+         * @param minLength the shortest optimal solution of the puzzles
+         * @param maxLength the longest optimal solution of the puzzles
+         * @param capacity  the number of puzzles the shelf holds
+         */
+        Shelf(int blocksNum, int minLength, int maxLength, int capacity) {
+            _blocksNum = blocksNum;
+            _minLength = minLength;
+            _maxLength = maxLength;
+            _ready = new ArrayBlockingQueue<Board>(capacity);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cs301.squarespuzzle.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter
+ *
+ * a count that any number of threads can add to without locking or
+ * allocating.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class Counter {
+    // these variables contain the name and the registry it reports to
+    private final String _name;
+    private final MetricsRegistry _registry;
+
+    // the current count
+    private final AtomicLong _value = new AtomicLong();
+
+    /**
+     * Counter constructor
+     *
+     * @param name      the name of the counter
+     * @param registry  the registry that turns recording on and off
+     */
+    Counter(String name, MetricsRegistry registry) {
+        _name = name;
+        _registry = registry;
+    }
+
+    /**
+     * increment
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * add
+     *
+     * @param delta the amount to add to the count
+     */
+    public void add(long delta) {
+        if (_registry.isEnabled()) {
+            _value.addAndGet(delta);
+        }
+    }
+
+    /**
+     * reset
+     */
+    public void reset() {
+        _value.set(0);
+    }
+
+    /**
+     * getName
+     *
+     * @return  the name of the counter
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * get
+     *
+     * @return  the current count
+     */
+    public long get() {
+        return _value.get();
+    }
+}
@@ -0,0 +1,206 @@
+package com.cs301.squarespuzzle.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram
+ *
+ * a latency histogram with fixed buckets, safe to record into from any
+ * number of threads without locking or allocating. values below 8 get a
+ * bucket each, and every power of two above that is split into 8 buckets,
+ * so a percentile is off by at most 12.5%. the buckets cover every
+ * non-negative long.
+ *
+ * a percentile is read from a pass over the buckets that is not atomic
+ * with the recorders, so it may miss values recorded during the pass.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class Histogram {
+    // the number of buckets each power of two is split into, as a shift
+    private static final int SUB_BITS = 3;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    // enough buckets for every non-negative long: the values below
+    // SUB_COUNT, then SUB_COUNT for each exponent from SUB_BITS to 62
+    private static final int BUCKET_COUNT = (64 - SUB_BITS) * SUB_COUNT;
+
+    // these variables contain the name and the registry it reports to
+    private final String _name;
+    private final MetricsRegistry _registry;
+
+    // these variables contain the recorded values
+    private final AtomicLongArray _buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong _count = new AtomicLong();
+    private final AtomicLong _sum = new AtomicLong();
+    private final AtomicLong _max = new AtomicLong();
+
+    /**
+     * Histogram constructor
+     *
+     * @param name      the name of the histogram
+     * @param registry  the registry that turns recording on and off
+     */
+    Histogram(String name, MetricsRegistry registry) {
+        _name = name;
+        _registry = registry;
+    }
+
+    /**
+     * startTimer
+     *
+     * @return  the current time in nanoseconds, or 0 if metrics are off
+     */
+    public long startTimer() {
+        return _registry.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * stopTimer
+     *
+     * this method records the time since startTimer() returned the given
+     * start, unless metrics were off then.
+     *
+     * @param start the value returned by startTimer()
+     */
+    public void stopTimer(long start) {
+        if (start != 0) {
+            record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * record
+     *
+     * @param value the value to record, clamped at 0
+     */
+    public void record(long value) {
+        if (!_registry.isEnabled()) {
+            return;
+        }
+
+        value = Math.max(0, value);
+        _buckets.incrementAndGet(bucket(value));
+        _count.incrementAndGet();
+        _sum.addAndGet(value);
+
+        long max = _max.get();
+        while (value > max && !_max.compareAndSet(max, value)) {
+            max = _max.get();
+        }
+    }
+
+    /**
+     * bucket
+     *
+     * @param value a non-negative value
+     * @return      the index of the bucket that holds it
+     */
+    static int bucket(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (exponent - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    /**
+     * upperBound
+     *
+     * @param bucket    the index of a bucket
+     * @return          the largest value the bucket holds
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_COUNT + SUB_BITS - 1;
+        long sub = bucket % SUB_COUNT;
+        long width = 1L << (exponent - SUB_BITS);
+        return (SUB_COUNT + sub + 1) * width - 1;
+    }
+
+    /**
+     * percentile
+     *
+     * @param fraction  the fraction of values at or below the result, such
+     *                  as 0.99
+     * @return          the upper bound of the bucket holding that fraction
+     *                  of the values, at most the largest value, or 0 if
+     *                  nothing was recorded
+     */
+    public long percentile(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += _buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += _buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), _max.get());
+            }
+        }
+        return _max.get();
+    }
+
+    /**
+     * reset
+     *
+     * this method forgets every recorded value.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            _buckets.set(i, 0);
+        }
+        _count.set(0);
+        _sum.set(0);
+        _max.set(0);
+    }
+
+    /**
+     * getName
+     *
+     * @return  the name of the histogram
+     */
+    public String getName() {
+        return _name;
+    }
+
+    /**
+     * getCount
+     *
+     * @return  the number of recorded values
+     */
+    public long getCount() {
+        return _count.get();
+    }
+
+    /**
+     * getSum
+     *
+     * @return  the sum of the recorded values
+     */
+    public long getSum() {
+        return _sum.get();
+    }
+
+    /**
+     * getMax
+     *
+     * @return  the largest recorded value
+     */
+    public long getMax() {
+        return _max.get();
+    }
+}
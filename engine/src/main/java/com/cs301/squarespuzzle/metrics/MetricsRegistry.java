@@ -0,0 +1,189 @@
+package com.cs301.squarespuzzle.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * MetricsRegistry
+ *
+ * the named counters and latency histograms of the application. a metric
+ * is looked up once, usually into a static final field, and recording
+ * into it afterwards never locks or allocates. recording can be turned off
+ * for the whole registry, which leaves one volatile read per call.
+ *
+ * a snapshot of every metric can be written as JSON:
+ *
+ *      {"time": millis, "enabled": true,
+ *       "counters": {"name": count, ...},
+ *       "histograms": {"name": {"count": n, "sum": s, "max": m,
+ *                               "p50": a, "p99": b, "p999": c}, ...}}
+ *
+ * where histogram values are in the unit they were recorded in, which is
+ * nanoseconds for timers. names are sorted, so dumps diff cleanly.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class MetricsRegistry {
+    // the registry the application records into
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    // these variables contain the metrics by name
+    private final ConcurrentMap<String, Counter> _counters =
+            new ConcurrentHashMap<String, Counter>();
+    private final ConcurrentMap<String, Histogram> _histograms =
+            new ConcurrentHashMap<String, Histogram>();
+
+    // whether recording is on
+    private volatile boolean _enabled = true;
+
+    /**
+     * getDefault
+     *
+     * @return  the registry the application records into
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * counter
+     *
+     * @param name  the name of the counter
+     * @return      the counter with the name, created if needed
+     */
+    public Counter counter(String name) {
+        Counter counter = _counters.get(name);
+        if (counter == null) {
+            Counter created = new Counter(name, this);
+            counter = _counters.putIfAbsent(name, created);
+            if (counter == null) {
+                counter = created;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * histogram
+     *
+     * @param name  the name of the histogram
+     * @return      the histogram with the name, created if needed
+     */
+    public Histogram histogram(String name) {
+        Histogram histogram = _histograms.get(name);
+        if (histogram == null) {
+            Histogram created = new Histogram(name, this);
+            histogram = _histograms.putIfAbsent(name, created);
+            if (histogram == null) {
+                histogram = created;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * setEnabled
+     *
+     * @param enabled   true to record, false to ignore every record call
+     */
+    public void setEnabled(boolean enabled) {
+        _enabled = enabled;
+    }
+
+    /**
+     * isEnabled
+     *
+     * @return  true if recording is on
+     */
+    public boolean isEnabled() {
+        return _enabled;
+    }
+
+    /**
+     * reset
+     *
+     * this method sets every metric back to zero.
+     */
+    public void reset() {
+        for (Counter counter : _counters.values()) {
+            counter.reset();
+        }
+        for (Histogram histogram : _histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * writeJson
+     *
+     * this method writes a snapshot of every metric as JSON.
+     *
+     * @param out   the writer to write to
+     * @throws IOException  if the snapshot cannot be written
+     */
+    public void writeJson(Writer out) throws IOException {
+        out.write("{\"time\": " + System.currentTimeMillis()
+                  + ", \"enabled\": " + _enabled + ",\n \"counters\": {");
+
+        String separator = "";
+        for (Counter counter : new TreeMap<String, Counter>(_counters).values()) {
+            out.write(separator + "\n  " + quote(counter.getName()) + ": "
+                      + counter.get());
+            separator = ",";
+        }
+
+        out.write("},\n \"histograms\": {");
+        separator = "";
+        Map<String, Histogram> histograms =
+                new TreeMap<String, Histogram>(_histograms);
+        for (Histogram histogram : histograms.values()) {
+            out.write(separator + "\n  " + quote(histogram.getName())
+                      + ": {\"count\": " + histogram.getCount()
+                      + ", \"sum\": " + histogram.getSum()
+                      + ", \"max\": " + histogram.getMax()
+                      + ", \"p50\": " + histogram.percentile(0.5)
+                      + ", \"p99\": " + histogram.percentile(0.99)
+                      + ", \"p999\": " + histogram.percentile(0.999) + "}");
+            separator = ",";
+        }
+        out.write("}}\n");
+    }
+
+    /**
+     * dump
+     *
+     * this method writes a snapshot of every metric as JSON to a file,
+     * replacing it.
+     *
+     * @param file  the file to write to
+     * @throws IOException  if the file cannot be written
+     */
+    public void dump(File file) throws IOException {
+        Writer out = new OutputStreamWriter(new FileOutputStream(file),
+                                            StandardCharsets.UTF_8);
+        try {
+            writeJson(out);
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * quote
+     *
+     * @param name  the name of a metric
+     * @return      the name as a JSON string
+     */
+    private static String quote(String name) {
+        return "\"" + name.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
@@ -0,0 +1,438 @@
+package com.cs301.squarespuzzle.persist;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.Move;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * GameStore
+ *
+ * saves a game to a single file as a header holding the board, followed by
+ * an append-only log of the moves made since. the file format is:
+ *
+ *      int     the magic number MAGIC
+ *      short   the format VERSION
+ *      byte    the width of a cell, 1, 2 or 4 bytes
+ *      byte    reserved, 0
+ *      int     the number of blocks in each row and column
+ *      n^2     the cells in row-major order, big-endian
+ *      int     the CRC-32 of everything before it
+ *      ...     one byte per move
+ *
+ * a move byte is 101 in the top three bits, then the move's index in the
+ * log modulo 4, then an even-parity bit over those two bits and the
+ * direction, then the direction. a zero byte, a byte from an older log or
+ * a torn write fails the check, and the log is read up to the first move
+ * that fails it or would leave the board.
+ *
+ * the header is only ever replaced as a whole, by writing a new file next
+ * to it and renaming it over the old one, so a crash leaves either the old
+ * game or the new one. moves are written to the file as they are made, but
+ * only forced to the disk by sync(), so a crash of the device may lose the
+ * last moves and never more. a crash of the process loses nothing.
+ *
+ * on load, the file is memory-mapped and the log is decoded and replayed in
+ * one pass, and the part after the last good move is cut off before moves
+ * are appended again. a log longer than MAX_LOG_MOVES is folded into a new
+ * header, so resuming never replays more than that.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class GameStore implements Closeable {
+    // these constants identify the file format
+    public static final int MAGIC = 0x5351505A;
+    public static final short VERSION = 1;
+
+    // the number of moves after which load() writes a new header
+    public static final int MAX_LOG_MOVES = 1 << 20;
+
+    // the length of the header before the cells
+    private static final int HEADER_LENGTH = 12;
+
+    // the top bits of every move byte
+    private static final int MOVE_MARK = 0xA0;
+
+    // these variables contain the file and the log being appended to
+    private final File _file;
+    private RandomAccessFile _log;
+    private FileChannel _channel;
+    private long _moves;
+
+    // the buffer of moves waiting to be written, reused for every write
+    private final ByteBuffer _buffer = ByteBuffer.allocate(4096);
+
+    /**
+     * GameStore constructor
+     *
+     * @param file  the file the game is saved in
+     */
+    public GameStore(File file) {
+        _file = file;
+    }
+
+    /**
+     * load
+     *
+     * this method reads the saved game, replays its moves and opens the
+     * log for appending. a file that is missing or has a bad header is
+     * treated as no game.
+     *
+     * @return  the board of the saved game, or null if there is none
+     * @throws IOException  if the file cannot be read or written
+     */
+    public Board load() throws IOException {
+        close();
+        if (!_file.isFile()) {
+            return null;
+        }
+
+        Board board;
+        long logStart;
+        long moves;
+        RandomAccessFile file = new RandomAccessFile(_file, "r");
+        try {
+            FileChannel channel = file.getChannel();
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY,
+                                               0, channel.size());
+            board = readHeader(map);
+            if (board == null) {
+                return null;
+            }
+            logStart = map.position();
+            moves = replay(map, board);
+        } finally {
+            file.close();
+        }
+
+        if (moves > MAX_LOG_MOVES) {
+            start(board);
+        } else {
+            open(logStart + moves, moves);
+        }
+        return board;
+    }
+
+    /**
+     * start
+     *
+     * this method replaces the saved game with a new game starting from
+     * the given board, with an empty log.
+     *
+     * @param board the board of the new game
+     * @throws IOException  if the file cannot be written
+     */
+    public void start(Board board) throws IOException {
+        close();
+
+        File temp = new File(_file.getPath() + ".tmp");
+        byte[] header = writeHeader(board);
+        FileOutputStream stream = new FileOutputStream(temp);
+        try {
+            stream.write(header);
+            stream.getFD().sync();
+        } finally {
+            stream.close();
+        }
+
+        if (!temp.renameTo(_file)) {
+            throw new IOException("cannot rename " + temp + " to " + _file);
+        }
+        open(header.length, 0);
+    }
+
+    /**
+     * append
+     *
+     * this method appends a move to the log. it is written to the file but
+     * not forced to the disk.
+     *
+     * @param direction the direction the empty block moved in
+     * @throws IOException  if the move cannot be written
+     */
+    public void append(int direction) throws IOException {
+        checkOpen();
+        _buffer.put(encode(_moves++, direction));
+        flush();
+    }
+
+    /**
+     * append
+     *
+     * this method appends a sequence of moves to the log.
+     *
+     * @param moves     the directions of the empty block
+     * @param offset    the index of the first move
+     * @param count     the number of moves
+     * @throws IOException  if the moves cannot be written
+     */
+    public void append(byte[] moves, int offset, int count) throws IOException {
+        checkOpen();
+        for (int i = offset; i < offset + count; i++) {
+            if (!_buffer.hasRemaining()) {
+                flush();
+            }
+            _buffer.put(encode(_moves++, moves[i]));
+        }
+        flush();
+    }
+
+    /**
+     * sync
+     *
+     * this method forces every appended move to the disk.
+     *
+     * @throws IOException  if the file cannot be synced
+     */
+    public void sync() throws IOException {
+        if (_channel != null) {
+            _channel.force(false);
+        }
+    }
+
+    /**
+     * close
+     *
+     * this method closes the log. moves can only be appended again after
+     * load() or start().
+     *
+     * @throws IOException  if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (_log != null) {
+            try {
+                _channel.force(false);
+            } finally {
+                _log.close();
+                _log = null;
+                _channel = null;
+            }
+        }
+    }
+
+    /**
+     * getMoveCount
+     *
+     * @return  the number of moves in the log
+     */
+    public long getMoveCount() {
+        return _moves;
+    }
+
+    /**
+     * encode
+     *
+     * @param index     the index of the move in the log
+     * @param direction the direction of the move
+     * @return          the byte that stores the move
+     */
+    static byte encode(long index, int direction) {
+        int sequence = (int) index & 3;
+        int parity = Integer.bitCount(sequence << 2 | direction) & 1;
+        return (byte) (MOVE_MARK | sequence << 3 | parity << 2 | direction);
+    }
+
+    /**
+     * decode
+     *
+     * @param index the index of the move in the log
+     * @param value the byte that stores the move
+     * @return      the direction of the move, or -1 if the byte is not a
+     *              move at that index
+     */
+    static int decode(long index, byte value) {
+        int direction = value & 3;
+        return value == encode(index, direction) ? direction : -1;
+    }
+
+    /**
+     * open
+     *
+     * this method opens the log for appending after the given length and
+     * cuts off anything after it.
+     *
+     * @param length    the length of the header and the good moves
+     * @param moves     the number of good moves
+     * @throws IOException  if the file cannot be opened
+     */
+    private void open(long length, long moves) throws IOException {
+        _log = new RandomAccessFile(_file, "rw");
+        _channel = _log.getChannel();
+        _channel.truncate(length);
+        _channel.position(length);
+        _moves = moves;
+        _buffer.clear();
+    }
+
+    /**
+     * flush
+     *
+     * this method writes the buffered moves to the file.
+     *
+     * @throws IOException  if the moves cannot be written
+     */
+    private void flush() throws IOException {
+        _buffer.flip();
+        while (_buffer.hasRemaining()) {
+            _channel.write(_buffer);
+        }
+        _buffer.clear();
+    }
+
+    /**
+     * checkOpen
+     */
+    private void checkOpen() {
+        if (_channel == null) {
+            throw new IllegalStateException("call load() or start() first");
+        }
+    }
+
+    /**
+     * writeHeader
+     *
+     * @param board the board to store
+     * @return      the header holding the board and its checksum
+     */
+    private static byte[] writeHeader(Board board) {
+        int length = board.getLength();
+        int width = cellWidth(length);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH + length * width
+                                                + 4);
+        header.putInt(MAGIC);
+        header.putShort(VERSION);
+        header.put((byte) width);
+        header.put((byte) 0);
+        header.putInt(board.getBlocksNum());
+        for (int i = 0; i < length; i++) {
+            int value = board.get(i);
+            if (width == 1) {
+                header.put((byte) value);
+            } else if (width == 2) {
+                header.putShort((short) value);
+            } else {
+                header.putInt(value);
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(header.array(), 0, header.position());
+        header.putInt((int) crc.getValue());
+        return header.array();
+    }
+
+    /**
+     * readHeader
+     *
+     * this method reads the board from the header and leaves the buffer at
+     * the start of the log.
+     *
+     * @param map   the mapped file
+     * @return      the board, or null if the header is missing or bad
+     */
+    private static Board readHeader(ByteBuffer map) {
+        if (map.remaining() < HEADER_LENGTH || map.getInt() != MAGIC
+            || map.getShort() != VERSION) {
+            return null;
+        }
+
+        int width = map.get();
+        map.get();
+        int blocksNum = map.getInt();
+        if (blocksNum < 1 || (long) blocksNum * blocksNum * width
+                             > map.remaining() - 4
+            || width != cellWidth(blocksNum * blocksNum)) {
+            return null;
+        }
+
+        int length = blocksNum * blocksNum;
+        byte[] header = new byte[HEADER_LENGTH + length * width];
+        map.position(0);
+        map.get(header);
+        CRC32 crc = new CRC32();
+        crc.update(header, 0, header.length);
+        if (map.getInt() != (int) crc.getValue()) {
+            return null;
+        }
+
+        ByteBuffer cells = ByteBuffer.wrap(header, HEADER_LENGTH,
+                                           length * width);
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            if (width == 1) {
+                values[i] = cells.get() & 0xFF;
+            } else if (width == 2) {
+                values[i] = cells.getShort() & 0xFFFF;
+            } else {
+                values[i] = cells.getInt();
+            }
+        }
+
+        Board board = Board.create(blocksNum);
+        try {
+            board.load(values);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return board;
+    }
+
+    /**
+     * replay
+     *
+     * this method decodes the log up to the first bad move and applies the
+     * good moves to the board in one call.
+     *
+     * @param map   the mapped file, at the start of the log
+     * @param board the board to apply the moves to
+     * @return      the number of good moves
+     */
+    private static long replay(ByteBuffer map, Board board) {
+        int blocksNum = board.getBlocksNum();
+        int row = board.getEmptyIndex() / blocksNum;
+        int col = board.getEmptyIndex() % blocksNum;
+
+        byte[] moves = new byte[map.remaining()];
+        int count = 0;
+        while (map.hasRemaining()) {
+            int direction = decode(count, map.get());
+            if (direction < 0) {
+                break;
+            }
+
+            // stop at the first move that would leave the board
+            row += direction == Move.UP ? -1 : direction == Move.DOWN ? 1 : 0;
+            col += direction == Move.LEFT ? -1 : direction == Move.RIGHT ? 1 : 0;
+            if (row < 0 || row >= blocksNum || col < 0 || col >= blocksNum) {
+                break;
+            }
+            moves[count++] = (byte) direction;
+        }
+
+        board.applyMoves(moves, 0, count);
+        return count;
+    }
+
+    /**
+     * cellWidth
+     *
+     * @param length    the number of cells
+     * @return          the number of bytes needed for a cell value
+     */
+    private static int cellWidth(int length) {
+        if (length <= 1 << 8) {
+            return 1;
+        }
+        return length <= 1 << 16 ? 2 : 4;
+    }
+}
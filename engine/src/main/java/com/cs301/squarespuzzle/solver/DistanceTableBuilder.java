@@ -0,0 +1,187 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Move;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * DistanceTableBuilder
+ *
+ * builds a distance table with a breadth-first search from the goal, one
+ * layer at a time. the table itself is the frontier: layer d + 1 is every
+ * unseen neighbor of an entry at distance d, so the search needs no queue
+ * and no memory beyond the table.
+ *
+ * every layer is split into chunks of the table that are expanded in
+ * parallel. two threads may reach the same state in the same layer, but
+ * both write the same distance, so the race is harmless, and the threads
+ * are joined between layers.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class DistanceTableBuilder {
+    // the number of chunks each thread gets per layer, for load balance
+    private static final int CHUNKS_PER_THREAD = 8;
+
+    /**
+     * DistanceTableBuilder constructor
+     *
+     * the builder only has static methods and is never instantiated.
+     */
+    private DistanceTableBuilder() {
+    }
+
+    /**
+     * build
+     *
+     * this method builds the table for the given board shape in memory.
+     *
+     * @param width     the number of blocks in each row
+     * @param height    the number of blocks in each column
+     * @param threads   the number of threads that expand each layer
+     * @return          the table
+     */
+    public static DistanceTable build(int width, int height, int threads) {
+        final int size = (int) DistanceTable.size(width, height);
+        final byte[] entries = new byte[size];
+        Arrays.fill(entries, DistanceTable.UNSEEN);
+        final DistanceTable table = new DistanceTable(width, height,
+                                                      ByteBuffer.wrap(entries));
+
+        // start from the goal with the empty block last
+        int length = width * height;
+        int[] goal = new int[length];
+        for (int i = 0; i < length - 1; i++) {
+            goal[i] = i + 1;
+        }
+        entries[table.index(goal, new int[length], new int[length])] = 0;
+
+        if (threads <= 1) {
+            for (int distance = 0;
+                 expand(table, entries, distance, 0, size) > 0; distance++) {
+            }
+            return table;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            int chunks = threads * CHUNKS_PER_THREAD;
+            List<Future<Long>> futures = new ArrayList<Future<Long>>(chunks);
+            long reached = 1;
+            for (int distance = 0; reached > 0; distance++) {
+                final int layer = distance;
+                futures.clear();
+                for (int chunk = 0; chunk < chunks; chunk++) {
+                    final int from = (int) ((long) size * chunk / chunks);
+                    final int to = (int) ((long) size * (chunk + 1) / chunks);
+                    futures.add(executor.submit(new Callable<Long>() {
+                        @Override
+                        public Long call() {
+                            return expand(table, entries, layer, from, to);
+                        }
+                    }));
+                }
+
+                reached = 0;
+                for (Future<Long> future : futures) {
+                    reached += future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while building", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("layer failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return table;
+    }
+
+    /**
+     * expand
+     *
+     * this method marks the unseen neighbors of the entries at the given
+     * distance in a range of the table.
+     *
+     * @param table     the table being built
+     * @param entries   the entries of the table
+     * @param distance  the distance of the layer being expanded
+     * @param from      the first index of the range
+     * @param to        the index after the range
+     * @return          the number of entries marked
+     */
+    private static long expand(DistanceTable table, byte[] entries,
+                               int distance, int from, int to) {
+        int length = table.getWidth() * table.getHeight();
+        int[] tiles = new int[length];
+        int[] where = new int[length];
+        int[] inverse = new int[length];
+        byte current = (byte) distance;
+        byte next = (byte) (distance + 1);
+
+        long reached = 0;
+        for (int index = from; index < to; index++) {
+            if (entries[index] != current) {
+                continue;
+            }
+
+            int blank = table.tiles(index, tiles, where);
+            for (int direction = 0; direction < Move.COUNT; direction++) {
+                int cell = table.target(blank, direction);
+                if (cell < 0) {
+                    continue;
+                }
+
+                tiles[blank] = tiles[cell];
+                tiles[cell] = 0;
+                int neighbor = table.index(tiles, where, inverse);
+                if (entries[neighbor] == DistanceTable.UNSEEN) {
+                    entries[neighbor] = next;
+                    reached++;
+                }
+                tiles[cell] = tiles[blank];
+                tiles[blank] = 0;
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * main
+     *
+     * this method builds the table for a board shape and writes it to a
+     * file.
+     *
+     * usage: DistanceTableBuilder width height output
+     *
+     * @param args          the board shape and the output file
+     * @throws IOException  if the table cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println("usage: DistanceTableBuilder width height output");
+            System.exit(2);
+        }
+
+        long start = System.nanoTime();
+        DistanceTable table = build(Integer.parseInt(args[0]),
+                                    Integer.parseInt(args[1]),
+                                    Runtime.getRuntime().availableProcessors());
+        File file = new File(args[2]);
+        table.write(file);
+        System.out.printf("%s: %d entries in %.1f s%n", file, table.getSize(),
+                          (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -0,0 +1,53 @@
+package com.cs301.squarespuzzle.solver;
+
+/**
+ * Heuristic
+ *
+ * an admissible estimate of the number of moves left to solve a board. a
+ * heuristic is stateful: it is reset once for the starting board and then
+ * told about every simulated move, so it can update its estimate by delta
+ * instead of recomputing it. undoing a move is reported as the reverse move.
+ *
+ * a heuristic must return 0 only for the solved board. it is used by one
+ * search at a time and is not thread-safe. parallel searches give every
+ * worker its own copy().
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public interface Heuristic {
+
+    /**
+     * reset
+     *
+     * this method evaluates the given board from scratch.
+     *
+     * @param tiles the block values in row-major order
+     * @return      the estimated number of moves left
+     */
+    int reset(int[] tiles);
+
+    /**
+     * move
+     *
+     * this method updates the estimate after a block has moved. the tiles
+     * have already been updated when this is called.
+     *
+     * @param tiles the block values in row-major order after the move
+     * @param tile  the value of the block that moved
+     * @param from  the index the block moved from
+     * @param to    the index the block moved to
+     * @return      the estimated number of moves left
+     */
+    int move(int[] tiles, int tile, int from, int to);
+
+    /**
+     * copy
+     *
+     * this method returns an independent heuristic for another search. the
+     * read-only tables may be shared, but the per-search state is not.
+     *
+     * @return  a new heuristic of the same kind
+     */
+    Heuristic copy();
+}
@@ -0,0 +1,200 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Move;
+
+/**
+ * IdaStarSearch
+ *
+ * one depth-first pass of iterative deepening A* over a mutable copy of a
+ * board. each move is applied in place, the heuristic is updated by delta,
+ * and the move is undone on the way back. the path is kept in a byte array
+ * that only grows between passes, so the search does not allocate per node.
+ *
+ * the solvers own one search per thread and decide the bounds. subclasses
+ * override isCancelled() to stop a pass early.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class IdaStarSearch {
+    // these constants are returned by the search instead of a bound
+    static final int FOUND = -1;
+    static final int CANCELLED = -2;
+
+    // cancellation is only checked once every this many nodes
+    private static final int CANCEL_CHECK_MASK = 0xFFF;
+
+    // these variables contain information about the board dimensions
+    final int _blocksNum;
+    final int _length;
+
+    // the target of every direction from every index, or -1
+    private final int[] _neighbors;
+
+    // these variables contain the state of the search
+    final Heuristic _heuristic;
+    final int[] _tiles;
+    byte[] _path;
+    int _depth;
+    long _nodes;
+
+    /**
+     * IdaStarSearch constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param heuristic the heuristic owned by this search
+     */
+    IdaStarSearch(int blocksNum, Heuristic heuristic) {
+        _blocksNum = blocksNum;
+        _length = blocksNum * blocksNum;
+        _heuristic = heuristic;
+        _tiles = new int[_length];
+        _path = new byte[64];
+
+        _neighbors = new int[_length * Move.COUNT];
+        for (int index = 0; index < _length; index++) {
+            for (int dir = 0; dir < Move.COUNT; dir++) {
+                _neighbors[index * Move.COUNT + dir] =
+                        Move.target(index, dir, blocksNum);
+            }
+        }
+    }
+
+    /**
+     * load
+     *
+     * this method copies the block values into the search and returns the
+     * heuristic estimate of them.
+     *
+     * @param tiles the block values in row-major order
+     * @return      the estimated number of moves left
+     */
+    int load(int[] tiles) {
+        System.arraycopy(tiles, 0, _tiles, 0, _length);
+        return _heuristic.reset(_tiles);
+    }
+
+    /**
+     * blank
+     *
+     * @return  the index of the empty block
+     */
+    int blank() {
+        int blank = 0;
+        while (_tiles[blank] != 0) {
+            blank++;
+        }
+        return blank;
+    }
+
+    /**
+     * neighbor
+     *
+     * @param blank     the index of the empty block
+     * @param direction the direction of the move
+     * @return          the index the empty block moves to, or -1
+     */
+    int neighbor(int blank, int direction) {
+        return _neighbors[blank * Move.COUNT + direction];
+    }
+
+    /**
+     * apply
+     *
+     * this method applies a move that is not undone by the search, such as a
+     * move of a fixed prefix.
+     *
+     * @param blank     the index of the empty block
+     * @param to        the index the empty block moves to
+     * @return          the estimated number of moves left after the move
+     */
+    int apply(int blank, int to) {
+        int tile = _tiles[to];
+        _tiles[blank] = tile;
+        _tiles[to] = 0;
+        return _heuristic.move(_tiles, tile, to, blank);
+    }
+
+    /**
+     * ensureCapacity
+     *
+     * this method grows the path so a pass with the given bound fits. it
+     * must only be called between passes.
+     *
+     * @param bound the largest f-value of the next pass
+     */
+    void ensureCapacity(int bound) {
+        if (_path.length <= bound) {
+            _path = java.util.Arrays.copyOf(_path, bound * 2);
+        }
+    }
+
+    /**
+     * isCancelled
+     *
+     * this method is polled during a pass. the base search never cancels.
+     *
+     * @return  true if the pass should stop
+     */
+    boolean isCancelled() {
+        return false;
+    }
+
+    /**
+     * search
+     *
+     * this method searches below one node. the move into the node is stored
+     * in the path, and the reverse of it is never tried. on FOUND the path
+     * holds the solution up to _depth.
+     *
+     * @param blank     the index of the empty block
+     * @param depth     the number of moves from the start
+     * @param bound     the largest f-value to expand in this pass
+     * @param estimate  the heuristic estimate of this node
+     * @param previous  the direction of the move into this node, or -1
+     * @return          FOUND, CANCELLED, or the smallest f-value above the
+     *                  bound
+     */
+    int search(int blank, int depth, int bound, int estimate, int previous) {
+        int cost = depth + estimate;
+        if (cost > bound) {
+            return cost;
+        } else if (estimate == 0) {
+            _depth = depth;
+            return FOUND;
+        } else if ((++_nodes & CANCEL_CHECK_MASK) == 0 && isCancelled()) {
+            return CANCELLED;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int base = blank * Move.COUNT;
+        for (int dir = 0; dir < Move.COUNT; dir++) {
+            int to = _neighbors[base + dir];
+            if (to < 0 || dir == Move.opposite(previous)) {
+                continue;
+            }
+
+            // slide the block into the empty block
+            int tile = _tiles[to];
+            _tiles[blank] = tile;
+            _tiles[to] = 0;
+            _path[depth] = (byte) dir;
+
+            int result = search(to, depth + 1, bound,
+                                _heuristic.move(_tiles, tile, to, blank), dir);
+
+            // slide it back
+            _tiles[to] = tile;
+            _tiles[blank] = 0;
+            _heuristic.move(_tiles, tile, blank, to);
+
+            if (result < 0) {
+                return result;
+            } else if (result < min) {
+                min = result;
+            }
+        }
+
+        return min;
+    }
+}
@@ -0,0 +1,67 @@
+package com.cs301.squarespuzzle.solver;
+
+import java.util.Arrays;
+
+/**
+ * LongQueue
+ *
+ * a growable array of primitive longs used as a breadth-first frontier. the
+ * frontier is scanned by index while it grows, so there is no removal.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+class LongQueue {
+    // these variables contain the queued values
+    private long[] _values = new long[1024];
+    private int _size;
+
+    /**
+     * add
+     *
+     * @param value the value to append
+     */
+    void add(long value) {
+        if (_size == _values.length) {
+            _values = Arrays.copyOf(_values, _size * 2);
+        }
+        _values[_size++] = value;
+    }
+
+    /**
+     * get
+     *
+     * @param index the index of the value
+     * @return      the value at the index
+     */
+    long get(int index) {
+        return _values[index];
+    }
+
+    /**
+     * size
+     *
+     * @return  the number of queued values
+     */
+    int size() {
+        return _size;
+    }
+
+    /**
+     * isEmpty
+     *
+     * @return  true if there are no queued values
+     */
+    boolean isEmpty() {
+        return _size == 0;
+    }
+
+    /**
+     * clear
+     *
+     * this method empties the queue but keeps its storage.
+     */
+    void clear() {
+        _size = 0;
+    }
+}
@@ -0,0 +1,216 @@
+package com.cs301.squarespuzzle.solver;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Manhattan distance alone is too weak to solve 4x4 boards
+ *               quickly.
+ *
+ * Resource:
+ *      * Hansson, Mayer and Yung, "Criticizing Solutions to Relaxed Models
+ *        Yields Powerful Admissible Heuristics" (1992)
+ * Solution: I added the linear conflict term on top of Manhattan distance.
+ */
+
+/**
+ * ManhattanConflictHeuristic
+ *
+ * the sum of Manhattan distances of every block plus two moves for every
+ * block that has to leave its goal row or column to let another block pass.
+ * the blocks that can stay in a line form the longest increasing run of goal
+ * positions, so the conflicts of a line are exact and the estimate stays
+ * admissible.
+ *
+ * a move changes one Manhattan distance and at most one line, so the update
+ * is a table lookup plus at most one line recount.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ManhattanConflictHeuristic implements Heuristic {
+    // these variables contain information about the board dimensions
+    private final int _blocksNum;
+    private final int _length;
+
+    // the Manhattan distance of every value at every index
+    private final int[] _distance;
+
+    // these variables contain the current estimate split by term
+    private int _manhattan;
+    private int _conflicts;
+    private final int[] _rowConflicts;
+    private final int[] _colConflicts;
+
+    // scratch space for recounting a line
+    private final int[] _goals;
+    private final int[] _tails;
+
+    /**
+     * ManhattanConflictHeuristic constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    public ManhattanConflictHeuristic(int blocksNum) {
+        this(blocksNum, distances(blocksNum));
+    }
+
+    /**
+     * ManhattanConflictHeuristic constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param distance  the shared table of Manhattan distances
+     */
+    private ManhattanConflictHeuristic(int blocksNum, int[] distance) {
+        _blocksNum = blocksNum;
+        _length = blocksNum * blocksNum;
+        _distance = distance;
+
+        _rowConflicts = new int[blocksNum];
+        _colConflicts = new int[blocksNum];
+        _goals = new int[blocksNum];
+        _tails = new int[blocksNum];
+    }
+
+    /**
+     * distances
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the Manhattan distance of every value at every index
+     */
+    private static int[] distances(int blocksNum) {
+        int length = blocksNum * blocksNum;
+        int[] distance = new int[length * length];
+        for (int value = 1; value < length; value++) {
+            int goalRow = (value - 1) / blocksNum;
+            int goalCol = (value - 1) % blocksNum;
+            for (int index = 0; index < length; index++) {
+                distance[value * length + index] =
+                        Math.abs(index / blocksNum - goalRow)
+                        + Math.abs(index % blocksNum - goalCol);
+            }
+        }
+        return distance;
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new ManhattanConflictHeuristic(_blocksNum, _distance);
+    }
+
+    @Override
+    public int reset(int[] tiles) {
+        _manhattan = 0;
+        for (int index = 0; index < _length; index++) {
+            int tile = tiles[index];
+            if (tile != 0) {
+                _manhattan += _distance[tile * _length + index];
+            }
+        }
+
+        _conflicts = 0;
+        for (int line = 0; line < _blocksNum; line++) {
+            _rowConflicts[line] = rowConflicts(tiles, line);
+            _colConflicts[line] = colConflicts(tiles, line);
+            _conflicts += _rowConflicts[line] + _colConflicts[line];
+        }
+
+        return _manhattan + _conflicts;
+    }
+
+    @Override
+    public int move(int[] tiles, int tile, int from, int to) {
+        _manhattan += _distance[tile * _length + to]
+                      - _distance[tile * _length + from];
+
+        // a horizontal move only reorders columns, a vertical one only rows
+        int goal = tile - 1;
+        int fromRow = from / _blocksNum;
+        int toRow = to / _blocksNum;
+        if (fromRow == toRow) {
+            int goalCol = goal % _blocksNum;
+            if (goalCol == from - fromRow * _blocksNum
+                || goalCol == to - toRow * _blocksNum) {
+                int conflicts = colConflicts(tiles, goalCol);
+                _conflicts += conflicts - _colConflicts[goalCol];
+                _colConflicts[goalCol] = conflicts;
+            }
+        } else {
+            int goalRow = goal / _blocksNum;
+            if (goalRow == fromRow || goalRow == toRow) {
+                int conflicts = rowConflicts(tiles, goalRow);
+                _conflicts += conflicts - _rowConflicts[goalRow];
+                _rowConflicts[goalRow] = conflicts;
+            }
+        }
+
+        return _manhattan + _conflicts;
+    }
+
+    /**
+     * rowConflicts
+     *
+     * @param tiles the block values in row-major order
+     * @param row   the row to count
+     * @return      the extra moves needed to resolve conflicts in the row
+     */
+    private int rowConflicts(int[] tiles, int row) {
+        int count = 0;
+        for (int col = 0; col < _blocksNum; col++) {
+            int tile = tiles[row * _blocksNum + col];
+            if (tile != 0 && (tile - 1) / _blocksNum == row) {
+                _goals[count++] = (tile - 1) % _blocksNum;
+            }
+        }
+        return lineConflicts(count);
+    }
+
+    /**
+     * colConflicts
+     *
+     * @param tiles the block values in row-major order
+     * @param col   the column to count
+     * @return      the extra moves needed to resolve conflicts in the column
+     */
+    private int colConflicts(int[] tiles, int col) {
+        int count = 0;
+        for (int row = 0; row < _blocksNum; row++) {
+            int tile = tiles[row * _blocksNum + col];
+            if (tile != 0 && (tile - 1) % _blocksNum == col) {
+                _goals[count++] = (tile - 1) / _blocksNum;
+            }
+        }
+        return lineConflicts(count);
+    }
+
+    /**
+     * lineConflicts
+     *
+     * this method counts the blocks that have to leave the line. the blocks
+     * that can stay are the longest increasing run of goal positions, found
+     * with patience sorting.
+     *
+     * @param count the number of goal positions in the scratch array
+     * @return      two moves for every block that has to leave the line
+     */
+    private int lineConflicts(int count) {
+        int longest = 0;
+        for (int i = 0; i < count; i++) {
+            int goal = _goals[i];
+            int low = 0;
+            int high = longest;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (_tails[mid] < goal) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            _tails[low] = goal;
+            if (low == longest) {
+                longest++;
+            }
+        }
+        return 2 * (count - longest);
+    }
+}
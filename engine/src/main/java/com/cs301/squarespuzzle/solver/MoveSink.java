@@ -0,0 +1,26 @@
+package com.cs301.squarespuzzle.solver;
+
+/**
+ * MoveSink
+ *
+ * receives the moves of a solver as they are found, in chunks, so a long
+ * solution never has to be held in memory at once. the moves use the
+ * directions in Move, one per byte, the same encoding Board.applyMoves
+ * takes.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public interface MoveSink {
+    /**
+     * onMoves
+     *
+     * this method is called with the next chunk of moves. the array is
+     * reused for the following chunk, so it must not be kept.
+     *
+     * @param moves     the array holding the moves
+     * @param offset    the index of the first move
+     * @param count     the number of moves
+     */
+    void onMoves(byte[] moves, int offset, int count);
+}
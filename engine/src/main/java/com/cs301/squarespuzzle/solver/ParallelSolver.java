@@ -0,0 +1,437 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.InversionCounter;
+import com.cs301.squarespuzzle.Move;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ParallelSolver
+ *
+ * an optimal solver that spreads every IDA* iteration over a ForkJoinPool.
+ * the tree is expanded to a shallow depth once, in the same move order the
+ * serial search uses, and every node at that depth becomes a work unit. the
+ * units of an iteration are split recursively so idle workers steal them.
+ *
+ * the workers share the lowest unit index that has found the goal. a unit
+ * stops as soon as a lower unit has found one, and higher units are never
+ * waited on. the reported solution is the one from the lowest unit, which
+ * is also the first solution the serial search would find, so the length
+ * and the moves are the same on every run and for any number of threads.
+ * ParallelSolverBenchmark measures the scaling from 1 to 8 threads on 4x4
+ * and 5x5 boards. on one core there is no speedup, and every thread past
+ * the first costs 20 to 40 percent in switching.
+ *
+ * a solver instance runs one search at a time. cancel() may be called from
+ * any thread to stop the current search.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ParallelSolver {
+    // the number of work units to aim for per worker thread
+    private static final int UNITS_PER_THREAD = 32;
+
+    // the deepest the tree is split before searching
+    private static final int MAX_SPLIT_DEPTH = 16;
+
+    // these variables contain information about the search setup
+    private final int _blocksNum;
+    private final Heuristic _heuristic;
+    private final ForkJoinPool _pool;
+
+    // the searches not running a unit, each with its own heuristic. a unit
+    // borrows one and gives it back, so there are never more than there
+    // are workers, and they go away with the solver rather than staying
+    // on the threads of a shared pool
+    private final ConcurrentLinkedQueue<UnitSearch> _idleSearches =
+            new ConcurrentLinkedQueue<UnitSearch>();
+
+    // these variables contain the work units of the current board, with
+    // the f-value of every node along each prefix after the root
+    private int _splitDepth;
+    private int _unitCount;
+    private byte[] _prefixes;
+    private int[] _prefixCosts;
+
+    // the f-value of every node along the path being expanded
+    private final int[] _pathCosts = new int[MAX_SPLIT_DEPTH + 1];
+
+    // these variables contain the results of the current iteration
+    private int[] _unitResults;
+    private long[] _unitNodes;
+    private byte[][] _unitPaths;
+    private final AtomicInteger _found = new AtomicInteger();
+    private volatile boolean _cancelled;
+
+    /**
+     * ParallelSolver constructor
+     *
+     * the constructor for a solver using Manhattan distance plus linear
+     * conflicts on the common pool.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    public ParallelSolver(int blocksNum) {
+        this(blocksNum, new ManhattanConflictHeuristic(blocksNum),
+             ForkJoinPool.commonPool());
+    }
+
+    /**
+     * ParallelSolver constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param heuristic the heuristic that every worker copies
+     * @param pool      the pool that runs the work units
+     */
+    public ParallelSolver(int blocksNum, Heuristic heuristic, ForkJoinPool pool) {
+        _blocksNum = blocksNum;
+        _heuristic = heuristic;
+        _pool = pool;
+    }
+
+    /**
+     * solve
+     *
+     * this method finds an optimal solution for the given board. the board
+     * itself is not modified.
+     *
+     * @param board the board to solve
+     * @return      the solution, or null if the search was cancelled
+     */
+    public Solution solve(Board board) {
+        int[] tiles = new int[board.getLength()];
+        board.copyTo(tiles);
+        return solve(tiles);
+    }
+
+    /**
+     * solve
+     *
+     * this method finds an optimal solution for the given block values.
+     *
+     * @param tiles the block values in row-major order
+     * @return      the solution, or null if the search was cancelled
+     */
+    public Solution solve(int[] tiles) {
+        if (tiles.length != _blocksNum * _blocksNum) {
+            throw new IllegalArgumentException("expected "
+                                               + _blocksNum * _blocksNum
+                                               + " values, got " + tiles.length);
+        }
+        Board.checkPermutation(tiles);
+        if (!new InversionCounter(tiles.length - 1)
+                .isSolvable(tiles, _blocksNum)) {
+            throw new IllegalArgumentException("board is not solvable");
+        }
+
+        long start = System.nanoTime();
+        try {
+            return search(start, tiles);
+        } finally {
+            _cancelled = false;
+        }
+    }
+
+    /**
+     * search
+     *
+     * this method splits the tree and runs the iterations of the search.
+     *
+     * @param start the time the search started
+     * @param tiles the block values in row-major order
+     * @return      the solution, or null if the search was cancelled
+     */
+    private Solution search(long start, int[] tiles) {
+        // split the tree on the calling thread
+        IdaStarSearch root = new IdaStarSearch(_blocksNum, _heuristic.copy());
+        int estimate = root.load(tiles);
+        if (!split(root, tiles, estimate)) {
+            // the goal is shallower than the split, so search serially
+            IdaStarSolver solver = new IdaStarSolver(_blocksNum,
+                                                     _heuristic.copy());
+            return solver.solve(tiles);
+        }
+
+        _unitResults = new int[_unitCount];
+        _unitNodes = new long[_unitCount];
+        _unitPaths = new byte[_unitCount][];
+
+        long nodes = 0;
+        int bound = estimate;
+        while (!_cancelled) {
+            _found.set(Integer.MAX_VALUE);
+            _pool.invoke(new UnitTask(tiles, bound, 0, _unitCount));
+
+            int next = Integer.MAX_VALUE;
+            for (int unit = 0; unit < _unitCount; unit++) {
+                nodes += _unitNodes[unit];
+                if (_unitResults[unit] >= 0 && _unitResults[unit] < next) {
+                    next = _unitResults[unit];
+                }
+            }
+
+            int found = _found.get();
+            if (found != Integer.MAX_VALUE) {
+                return new Solution(_unitPaths[found], nodes,
+                                    System.nanoTime() - start);
+            }
+            bound = next;
+        }
+
+        return null;
+    }
+
+    /**
+     * cancel
+     *
+     * this method asks the running search to stop. it is safe to call from
+     * any thread, and the search returns null shortly after. a cancel that
+     * arrives before a search starts applies to that search.
+     */
+    public void cancel() {
+        _cancelled = true;
+    }
+
+    /**
+     * split
+     *
+     * this method picks the shallowest depth with enough nodes for every
+     * worker and records the moves to every node at that depth, in the
+     * order the serial search would visit them.
+     *
+     * @param root      a search loaded with the block values
+     * @param tiles     the block values in row-major order
+     * @param estimate  the heuristic estimate of the root
+     * @return          false if the goal lies above the split depth
+     */
+    private boolean split(IdaStarSearch root, int[] tiles, int estimate) {
+        int target = _pool.getParallelism() * UNITS_PER_THREAD;
+        int blank = root.blank();
+
+        for (_splitDepth = 1; _splitDepth <= MAX_SPLIT_DEPTH; _splitDepth++) {
+            _unitCount = 0;
+            if (!expand(root, blank, 0, estimate, -1, null)) {
+                return false;
+            }
+            if (_unitCount >= target) {
+                break;
+            }
+        }
+        _splitDepth = Math.min(_splitDepth, MAX_SPLIT_DEPTH);
+
+        // record the prefixes now that the count is known
+        _prefixes = new byte[_unitCount * _splitDepth];
+        _prefixCosts = new int[_unitCount * _splitDepth];
+        _unitCount = 0;
+        root.load(tiles);
+        expand(root, blank, 0, estimate, -1, _prefixes);
+        return true;
+    }
+
+    /**
+     * expand
+     *
+     * this method walks every path of _splitDepth moves without reversals,
+     * counting the nodes at the end and optionally recording their moves
+     * and the f-values along them.
+     *
+     * @param search    the search holding the current node
+     * @param blank     the index of the empty block
+     * @param depth     the number of moves from the root
+     * @param estimate  the heuristic estimate of the current node
+     * @param previous  the direction of the move into this node, or -1
+     * @param prefixes  the array to record moves into, or null to count
+     * @return          false if the goal was reached above the split depth
+     */
+    private boolean expand(IdaStarSearch search, int blank, int depth,
+                           int estimate, int previous, byte[] prefixes) {
+        _pathCosts[depth] = depth + estimate;
+        if (depth == _splitDepth) {
+            if (prefixes != null) {
+                System.arraycopy(search._path, 0, prefixes,
+                                 _unitCount * _splitDepth, _splitDepth);
+                System.arraycopy(_pathCosts, 1, _prefixCosts,
+                                 _unitCount * _splitDepth, _splitDepth);
+            }
+            _unitCount++;
+            return true;
+        } else if (estimate == 0) {
+            return false;
+        }
+
+        search.ensureCapacity(_splitDepth);
+        for (int dir = 0; dir < Move.COUNT; dir++) {
+            int to = search.neighbor(blank, dir);
+            if (to < 0 || dir == Move.opposite(previous)) {
+                continue;
+            }
+
+            search._path[depth] = (byte) dir;
+            int childEstimate = search.apply(blank, to);
+            boolean deeper = expand(search, to, depth + 1, childEstimate,
+                                    dir, prefixes);
+            search.apply(to, blank);
+            if (!deeper) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * UnitSearch
+     *
+     * the search a worker borrows to run a unit. it stops when the search
+     * is cancelled or a lower unit has already found the goal.
+     */
+    private class UnitSearch extends IdaStarSearch {
+        // the index of the unit being searched
+        private int _unit;
+
+        /**
+         * UnitSearch constructor
+         *
+         * @param blocksNum the number of blocks in each row and column
+         * @param heuristic the heuristic owned by this search
+         */
+        UnitSearch(int blocksNum, Heuristic heuristic) {
+            super(blocksNum, heuristic);
+        }
+
+        @Override
+        boolean isCancelled() {
+            return _cancelled || _found.get() < _unit;
+        }
+
+        /**
+         * run
+         *
+         * this method searches one unit with the given bound and stores the
+         * result of the unit.
+         *
+         * @param tiles the block values of the root
+         * @param bound the largest f-value to expand in this iteration
+         * @param unit  the index of the unit
+         */
+        void run(int[] tiles, int bound, int unit) {
+            _unit = unit;
+            _nodes = 0;
+            _unitPaths[unit] = null;
+
+            // a unit whose prefix already exceeds the bound is pruned at
+            // the first node over it, whose f-value the serial search
+            // would report as the candidate for the next bound
+            int cost = prefixCost(unit, bound);
+            if (cost > bound) {
+                _unitResults[unit] = cost;
+                _unitNodes[unit] = 0;
+                return;
+            } else if (_found.get() < unit) {
+                _unitResults[unit] = IdaStarSearch.CANCELLED;
+                _unitNodes[unit] = 0;
+                return;
+            }
+
+            // replay the prefix of the unit
+            ensureCapacity(Math.max(bound, _splitDepth));
+            int estimate = load(tiles);
+            int blank = blank();
+            for (int i = 0; i < _splitDepth; i++) {
+                int dir = _prefixes[unit * _splitDepth + i];
+                int to = neighbor(blank, dir);
+                _path[i] = (byte) dir;
+                estimate = apply(blank, to);
+                blank = to;
+            }
+
+            int previous = _path[_splitDepth - 1];
+            int result = search(blank, _splitDepth, bound, estimate, previous);
+            if (result == FOUND) {
+                _unitPaths[unit] = Arrays.copyOf(_path, _depth);
+                int lowest = _found.get();
+                while (unit < lowest && !_found.compareAndSet(lowest, unit)) {
+                    lowest = _found.get();
+                }
+            }
+
+            _unitResults[unit] = result;
+            _unitNodes[unit] = _nodes;
+        }
+    }
+
+    /**
+     * prefixCost
+     *
+     * @param unit  the index of a unit
+     * @param bound the largest f-value to expand in this iteration
+     * @return      the f-value of the first node along the prefix of the
+     *              unit that exceeds the bound, or the bound if none does
+     */
+    private int prefixCost(int unit, int bound) {
+        int offset = unit * _splitDepth;
+        for (int i = offset; i < offset + _splitDepth; i++) {
+            if (_prefixCosts[i] > bound) {
+                return _prefixCosts[i];
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * UnitTask
+     *
+     * a range of work units. ranges are split in half until a single unit
+     * is left, so the pool can steal the other half.
+     */
+    private class UnitTask extends RecursiveAction {
+        // the tasks are never serialized, but RecursiveAction is
+        private static final long serialVersionUID = 1L;
+
+        // these variables contain the range of units and the iteration
+        private final int[] _tiles;
+        private final int _bound;
+        private final int _from;
+        private final int _to;
+
+        /**
+         * UnitTask constructor
+         *
+         * @param tiles the block values of the root
+         * @param bound the largest f-value to expand in this iteration
+         * @param from  the first unit in the range
+         * @param to    one past the last unit in the range
+         */
+        UnitTask(int[] tiles, int bound, int from, int to) {
+            _tiles = tiles;
+            _bound = bound;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from == 1) {
+                UnitSearch search = _idleSearches.poll();
+                if (search == null) {
+                    search = new UnitSearch(_blocksNum, _heuristic.copy());
+                }
+                try {
+                    search.run(_tiles, _bound, _from);
+                } finally {
+                    _idleSearches.offer(search);
+                }
+                return;
+            }
+
+            int mid = (_from + _to) >>> 1;
+            invokeAll(new UnitTask(_tiles, _bound, _from, mid),
+                      new UnitTask(_tiles, _bound, mid, _to));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.cs301.squarespuzzle.solver;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * PatternDatabase
+ *
+ * a table of the exact number of moves needed to bring a subset of blocks
+ * (the pattern) to their goal positions, counting only moves of pattern
+ * blocks. every placement of the pattern blocks is ranked to a dense index
+ * with a perfect hash, and the table holds one byte per index.
+ *
+ * the on-disk format is a small header followed by the entries:
+ *
+ *      int     magic ("SQPD")
+ *      int     format version
+ *      int     blocksNum
+ *      int     number of pattern blocks k
+ *      int[k]  the pattern block values
+ *      int     number of entries
+ *      byte[]  the entries
+ *
+ * load() memory-maps the file, so the entries are paged in on demand
+ * instead of being read and copied at startup.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PatternDatabase {
+    // these constants identify the file format
+    public static final int MAGIC = 0x53515044;
+    public static final int VERSION = 1;
+
+    // these variables contain information about the pattern
+    private final int _blocksNum;
+    private final int _length;
+    private final int[] _pattern;
+
+    // the radix of every position in the ranking
+    private final int[] _multipliers;
+
+    // the distance of every ranked placement, one byte each
+    private final ByteBuffer _entries;
+    private final int _size;
+
+    /**
+     * PatternDatabase constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param pattern   the values of the pattern blocks
+     * @param entries   the distances of every ranked placement
+     */
+    PatternDatabase(int blocksNum, int[] pattern, ByteBuffer entries) {
+        _blocksNum = blocksNum;
+        _length = blocksNum * blocksNum;
+        _pattern = pattern.clone();
+        _size = (int) size(_length, pattern.length);
+        _entries = entries;
+
+        if (entries.capacity() != _size) {
+            throw new IllegalArgumentException("expected " + _size
+                                               + " entries, got "
+                                               + entries.capacity());
+        }
+
+        _multipliers = new int[pattern.length];
+        for (int i = 0; i < pattern.length; i++) {
+            int multiplier = 1;
+            for (int j = i + 1; j < pattern.length; j++) {
+                multiplier *= _length - j;
+            }
+            _multipliers[i] = multiplier;
+        }
+    }
+
+    /**
+     * size
+     *
+     * this method returns the number of ways to place k distinct blocks on
+     * a board with the given number of cells.
+     *
+     * @param length    the number of cells on the board
+     * @param k         the number of pattern blocks
+     * @return          the number of placements
+     */
+    public static long size(int length, int k) {
+        long size = 1;
+        for (int i = 0; i < k; i++) {
+            size *= length - i;
+        }
+        return size;
+    }
+
+    /**
+     * rank
+     *
+     * this method maps the positions of the pattern blocks to a dense index
+     * in [0, size). each position is counted among the cells not already
+     * taken by earlier blocks, giving a mixed-radix number with radices
+     * n, n - 1, ..., n - k + 1.
+     *
+     * @param positions the index of every pattern block, in pattern order
+     * @return          the rank of the placement
+     */
+    public int rank(int[] positions) {
+        int rank = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int position = positions[i];
+            int smaller = 0;
+            for (int j = 0; j < i; j++) {
+                if (positions[j] < position) {
+                    smaller++;
+                }
+            }
+            rank += (position - smaller) * _multipliers[i];
+        }
+        return rank;
+    }
+
+    /**
+     * lookup
+     *
+     * @param positions the index of every pattern block, in pattern order
+     * @return          the moves needed to place the pattern blocks
+     */
+    public int lookup(int[] positions) {
+        // absolute reads never move the buffer position, so the entries can
+        // be shared by searches on different threads
+        return _entries.get(rank(positions)) & 0xFF;
+    }
+
+    /**
+     * getPattern
+     *
+     * @return  a copy of the values of the pattern blocks
+     */
+    public int[] getPattern() {
+        return _pattern.clone();
+    }
+
+    /**
+     * getBlocksNum
+     *
+     * @return  the number of blocks in each row and column
+     */
+    public int getBlocksNum() {
+        return _blocksNum;
+    }
+
+    /**
+     * write
+     *
+     * this method writes the database to a file in the versioned format.
+     *
+     * @param file          the file to write
+     * @throws IOException  if the file cannot be written
+     */
+    public void write(File file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(headerSize(_pattern.length));
+        header.putInt(MAGIC);
+        header.putInt(VERSION);
+        header.putInt(_blocksNum);
+        header.putInt(_pattern.length);
+        for (int value : _pattern) {
+            header.putInt(value);
+        }
+        header.putInt(_size);
+        header.flip();
+
+        RandomAccessFile out = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = out.getChannel();
+            channel.truncate(0);
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+
+            ByteBuffer entries = _entries.duplicate();
+            entries.clear();
+            while (entries.hasRemaining()) {
+                channel.write(entries);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * load
+     *
+     * this method memory-maps a database file. the mapping stays valid after
+     * the file is closed and is released by the garbage collector.
+     *
+     * @param file          the file to load
+     * @return              the database backed by the mapped file
+     * @throws IOException  if the file cannot be read or is not a database
+     */
+    public static PatternDatabase load(File file) throws IOException {
+        RandomAccessFile in = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = in.getChannel();
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                                            channel.size());
+
+            if (mapped.remaining() < headerSize(0)
+                || mapped.getInt() != MAGIC) {
+                throw new IOException(file + " is not a pattern database");
+            }
+            int version = mapped.getInt();
+            if (version != VERSION) {
+                throw new IOException(file + " has unsupported version "
+                                      + version);
+            }
+
+            int blocksNum = mapped.getInt();
+            int[] pattern = new int[mapped.getInt()];
+            for (int i = 0; i < pattern.length; i++) {
+                pattern[i] = mapped.getInt();
+            }
+
+            int size = mapped.getInt();
+            if (mapped.remaining() != size) {
+                throw new IOException(file + " is truncated");
+            }
+
+            return new PatternDatabase(blocksNum, pattern, mapped.slice());
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * headerSize
+     *
+     * @param k the number of pattern blocks
+     * @return  the size of the file header in bytes
+     */
+    private static int headerSize(int k) {
+        return 4 * (5 + k);
+    }
+}
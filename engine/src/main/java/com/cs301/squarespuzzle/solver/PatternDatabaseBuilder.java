@@ -0,0 +1,238 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Move;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Building pattern databases whose values can be added.
+ *
+ * Resource:
+ *      * Felner, Korf and Hanan, "Additive Pattern Database Heuristics"
+ *        (2004)
+ * Solution: I searched backwards from the goal where only moves of
+ *           pattern blocks cost a move, so disjoint patterns can be summed.
+ */
+
+/**
+ * PatternDatabaseBuilder
+ *
+ * builds a pattern database with a retrograde breadth-first search from the
+ * goal. a search state is the placement of the pattern blocks plus the empty
+ * block. moving the empty block into a non-pattern cell is free and moving a
+ * pattern block costs one move, so every layer is first closed under free
+ * moves and then expanded by one paid move.
+ *
+ * the visited set is a bitset over (placement rank, empty block), and the
+ * frontier holds states packed six bits per position into a long. building
+ * the 6-block databases for 4x4 takes about a gigabyte of heap. building
+ * the 5x5 databases needs several.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PatternDatabaseBuilder {
+    // the number of bits per packed position
+    private static final int BITS = 6;
+    private static final long MASK = (1L << BITS) - 1;
+
+    // the value of an entry that has not been reached yet
+    private static final byte UNSEEN = (byte) 0xFF;
+
+    /**
+     * PatternDatabaseBuilder constructor
+     *
+     * the builder only has static methods and is never instantiated.
+     */
+    private PatternDatabaseBuilder() {
+    }
+
+    /**
+     * build
+     *
+     * this method builds the database for the given pattern in memory.
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param pattern   the values of the pattern blocks
+     * @return          the database
+     */
+    public static PatternDatabase build(int blocksNum, int[] pattern) {
+        int length = blocksNum * blocksNum;
+        int k = pattern.length;
+        if (length > 1 << BITS || k + 1 > Long.SIZE / BITS) {
+            throw new IllegalArgumentException("pattern is too large");
+        }
+
+        long size = PatternDatabase.size(length, k);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("pattern has too many placements");
+        }
+
+        byte[] entries = new byte[(int) size];
+        Arrays.fill(entries, UNSEEN);
+        PatternDatabase database = new PatternDatabase(blocksNum, pattern,
+                                                       ByteBuffer.wrap(entries));
+
+        long[] visited = new long[(int) ((size * length + 63) >>> 6)];
+        LongQueue current = new LongQueue();
+        LongQueue next = new LongQueue();
+        int[] positions = new int[k];
+
+        // start from the goal with the empty block last
+        for (int i = 0; i < k; i++) {
+            positions[i] = pattern[i] - 1;
+        }
+        long goal = pack(positions, length - 1);
+        mark(visited, (long) database.rank(positions) * length + length - 1);
+        current.add(goal);
+
+        for (int distance = 0; !current.isEmpty(); distance++) {
+            // close the layer under free moves of the empty block
+            for (int i = 0; i < current.size(); i++) {
+                long state = current.get(i);
+                int blank = unpack(state, positions);
+                int rank = database.rank(positions);
+                if (entries[rank] == UNSEEN) {
+                    entries[rank] = (byte) distance;
+                }
+
+                for (int dir = 0; dir < Move.COUNT; dir++) {
+                    int to = Move.target(blank, dir, blocksNum);
+                    if (to >= 0 && indexOf(positions, to) < 0
+                        && mark(visited, (long) rank * length + to)) {
+                        current.add(pack(positions, to));
+                    }
+                }
+            }
+
+            // move one pattern block to reach the next layer
+            for (int i = 0; i < current.size(); i++) {
+                int blank = unpack(current.get(i), positions);
+                for (int dir = 0; dir < Move.COUNT; dir++) {
+                    int to = Move.target(blank, dir, blocksNum);
+                    int slot = to < 0 ? -1 : indexOf(positions, to);
+                    if (slot < 0) {
+                        continue;
+                    }
+
+                    positions[slot] = blank;
+                    if (mark(visited, (long) database.rank(positions) * length
+                                      + to)) {
+                        next.add(pack(positions, to));
+                    }
+                    positions[slot] = to;
+                }
+            }
+
+            LongQueue swap = current;
+            current = next;
+            next = swap;
+            next.clear();
+        }
+
+        return database;
+    }
+
+    /**
+     * pack
+     *
+     * @param positions the index of every pattern block
+     * @param blank     the index of the empty block
+     * @return          the positions packed six bits each, empty block last
+     */
+    private static long pack(int[] positions, int blank) {
+        long state = 0;
+        for (int i = 0; i < positions.length; i++) {
+            state |= (long) positions[i] << (i * BITS);
+        }
+        return state | (long) blank << (positions.length * BITS);
+    }
+
+    /**
+     * unpack
+     *
+     * @param state     the packed positions
+     * @param positions the array to unpack the pattern positions into
+     * @return          the index of the empty block
+     */
+    private static int unpack(long state, int[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = (int) ((state >>> (i * BITS)) & MASK);
+        }
+        return (int) ((state >>> (positions.length * BITS)) & MASK);
+    }
+
+    /**
+     * indexOf
+     *
+     * @param positions the index of every pattern block
+     * @param index     the cell to look for
+     * @return          the pattern slot on that cell, or -1 if it is free
+     */
+    private static int indexOf(int[] positions, int index) {
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * mark
+     *
+     * @param visited   the visited bitset
+     * @param bit       the bit to set
+     * @return          true if the bit was not set before
+     */
+    private static boolean mark(long[] visited, long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        if ((visited[word] & mask) != 0) {
+            return false;
+        }
+        visited[word] |= mask;
+        return true;
+    }
+
+    /**
+     * main
+     *
+     * this method builds the default databases for a board size and writes
+     * them to a directory, named the way PatternDatabaseHeuristic.load()
+     * expects.
+     *
+     * usage: PatternDatabaseBuilder blocksNum outputDir
+     *
+     * @param args          the board size and the output directory
+     * @throws IOException  if a database cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: PatternDatabaseBuilder blocksNum outputDir");
+            System.exit(2);
+        }
+
+        int blocksNum = Integer.parseInt(args[0]);
+        File dir = new File(args[1]);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("cannot create " + dir);
+        }
+
+        int[][] partition = PatternDatabaseHeuristic.partition(blocksNum);
+        for (int i = 0; i < partition.length; i++) {
+            long start = System.nanoTime();
+            PatternDatabase database = build(blocksNum, partition[i]);
+            File file = PatternDatabaseHeuristic.file(dir, blocksNum, i);
+            database.write(file);
+            System.out.printf("%s: %s in %.1f s%n", file,
+                              Arrays.toString(partition[i]),
+                              (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
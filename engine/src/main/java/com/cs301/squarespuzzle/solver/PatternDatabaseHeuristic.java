@@ -0,0 +1,201 @@
+package com.cs301.squarespuzzle.solver;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * PatternDatabaseHeuristic
+ *
+ * the sum of several disjoint pattern databases. every block belongs to at
+ * most one pattern and each database only counts moves of its own blocks,
+ * so the sum is still admissible. a move changes the placement of a single
+ * pattern, so the update is one ranking and one lookup.
+ *
+ * the default partitions are 6-6-3 for 4x4, 6-6-6-6 for 5x5 and
+ * 5-5-5-5-5-5-5 for 6x6.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PatternDatabaseHeuristic implements Heuristic {
+    // the default partitions of each board size into disjoint patterns
+    private static final int[][] PARTITION_4 = {
+        {1, 5, 6, 9, 10, 13},
+        {7, 8, 11, 12, 14, 15},
+        {2, 3, 4},
+    };
+    private static final int[][] PARTITION_5 = {
+        {1, 2, 3, 6, 7, 8},
+        {4, 5, 9, 10, 14, 15},
+        {11, 12, 16, 17, 21, 22},
+        {13, 18, 19, 20, 23, 24},
+    };
+    private static final int[][] PARTITION_6 = {
+        {1, 2, 3, 7, 8},
+        {4, 5, 6, 11, 12},
+        {9, 10, 15, 16, 17},
+        {13, 14, 19, 20, 25},
+        {18, 23, 24, 29, 30},
+        {21, 22, 27, 28, 34},
+        {26, 31, 32, 33, 35},
+    };
+
+    // these variables contain the databases and which blocks they cover
+    private final PatternDatabase[] _databases;
+    private final int[] _group;
+    private final int[] _slot;
+
+    // these variables contain the current placements and their distances
+    private final int[][] _positions;
+    private final int[] _distances;
+    private int _sum;
+
+    /**
+     * PatternDatabaseHeuristic constructor
+     *
+     * @param databases the disjoint pattern databases to add up
+     */
+    public PatternDatabaseHeuristic(PatternDatabase... databases) {
+        int blocksNum = databases[0].getBlocksNum();
+        int length = blocksNum * blocksNum;
+
+        _databases = databases.clone();
+        _group = new int[length];
+        _slot = new int[length];
+        _positions = new int[databases.length][];
+        _distances = new int[databases.length];
+        Arrays.fill(_group, -1);
+
+        for (int i = 0; i < databases.length; i++) {
+            if (databases[i].getBlocksNum() != blocksNum) {
+                throw new IllegalArgumentException("databases are for "
+                                                   + "different board sizes");
+            }
+
+            int[] pattern = databases[i].getPattern();
+            _positions[i] = new int[pattern.length];
+            for (int j = 0; j < pattern.length; j++) {
+                if (_group[pattern[j]] >= 0) {
+                    throw new IllegalArgumentException("block " + pattern[j]
+                                                       + " is in two patterns");
+                }
+                _group[pattern[j]] = i;
+                _slot[pattern[j]] = j;
+            }
+        }
+    }
+
+    /**
+     * partition
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the default disjoint patterns for that board size
+     */
+    public static int[][] partition(int blocksNum) {
+        switch (blocksNum) {
+            case 4:
+                return PARTITION_4;
+            case 5:
+                return PARTITION_5;
+            case 6:
+                return PARTITION_6;
+            default:
+                throw new IllegalArgumentException("no default partition for "
+                                                   + blocksNum + "x"
+                                                   + blocksNum);
+        }
+    }
+
+    /**
+     * file
+     *
+     * @param dir       the directory of the databases
+     * @param blocksNum the number of blocks in each row and column
+     * @param index     the index of the pattern in the default partition
+     * @return          the file of that database
+     */
+    public static File file(File dir, int blocksNum, int index) {
+        return new File(dir, "pdb-" + blocksNum + "-" + index + ".bin");
+    }
+
+    /**
+     * exists
+     *
+     * @param dir       the directory of the databases, or null
+     * @param blocksNum the number of blocks in each row and column
+     * @return          true if the directory holds a file for every
+     *                  pattern of the default partition of that size
+     */
+    public static boolean exists(File dir, int blocksNum) {
+        if (dir == null || blocksNum < 4 || blocksNum > 6) {
+            return false;
+        }
+        for (int i = 0; i < partition(blocksNum).length; i++) {
+            if (!file(dir, blocksNum, i).isFile()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * load
+     *
+     * this method memory-maps the default databases for a board size.
+     *
+     * @param dir           the directory written by PatternDatabaseBuilder
+     * @param blocksNum     the number of blocks in each row and column
+     * @return              the heuristic over the loaded databases
+     * @throws IOException  if a database is missing or invalid
+     */
+    public static PatternDatabaseHeuristic load(File dir, int blocksNum)
+            throws IOException {
+        int[][] partition = partition(blocksNum);
+        PatternDatabase[] databases = new PatternDatabase[partition.length];
+        for (int i = 0; i < partition.length; i++) {
+            databases[i] = PatternDatabase.load(file(dir, blocksNum, i));
+            if (!Arrays.equals(databases[i].getPattern(), partition[i])) {
+                throw new IOException(file(dir, blocksNum, i)
+                                      + " does not match the default partition");
+            }
+        }
+        return new PatternDatabaseHeuristic(databases);
+    }
+
+    @Override
+    public Heuristic copy() {
+        return new PatternDatabaseHeuristic(_databases);
+    }
+
+    @Override
+    public int reset(int[] tiles) {
+        for (int index = 0; index < tiles.length; index++) {
+            int tile = tiles[index];
+            if (tile != 0 && _group[tile] >= 0) {
+                _positions[_group[tile]][_slot[tile]] = index;
+            }
+        }
+
+        _sum = 0;
+        for (int i = 0; i < _databases.length; i++) {
+            _distances[i] = _databases[i].lookup(_positions[i]);
+            _sum += _distances[i];
+        }
+        return _sum;
+    }
+
+    @Override
+    public int move(int[] tiles, int tile, int from, int to) {
+        int group = _group[tile];
+        if (group < 0) {
+            return _sum;
+        }
+
+        _positions[group][_slot[tile]] = to;
+        int distance = _databases[group].lookup(_positions[group]);
+        _sum += distance - _distances[group];
+        _distances[group] = distance;
+        return _sum;
+    }
+}
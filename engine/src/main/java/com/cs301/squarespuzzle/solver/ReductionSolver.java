@@ -0,0 +1,686 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.InversionCounter;
+import com.cs301.squarespuzzle.Move;
+import com.cs301.squarespuzzle.metrics.Histogram;
+import com.cs301.squarespuzzle.metrics.MetricsRegistry;
+
+import java.util.Arrays;
+
+/**
+ * External Citation
+ *      Date:   October 17, 2026
+ *      Problem: Solving boards far too large for an optimal search.
+ *
+ * Resource:
+ *      * Parberry, "A Real-Time Algorithm for the (n^2 - 1)-Puzzle" (1995)
+ * Solution: I used the reduction that solves the top row and the left
+ *           column and then the smaller board that is left, placing the
+ *           last two blocks of each line together.
+ */
+
+/**
+ * ReductionSolver
+ *
+ * a solver for boards of any size that trades optimality for speed. the
+ * top row and the left column are solved one block at a time, then they
+ * are locked and the (n - 1) x (n - 1) board that is left is solved the
+ * same way, down to the last 2 x 2 corner, which is rotated into place.
+ *
+ * each block is walked to its cell one step at a time, with the empty block
+ * brought around to the next cell greedily, or with a breadth-first search
+ * of a small box when the block or a locked cell is in the way. the last
+ * two blocks of a line cannot be placed one after the other, so both are
+ * brought into the 3 x 3 corner of the line and finished with a search of
+ * that corner.
+ *
+ * the solution takes O(n^3) moves, about five times the Manhattan
+ * distance on random boards, which lowerBound() returns for comparison. a
+ * 100 x 100 board takes about three million moves and a tenth of a
+ * second. the moves are handed to a MoveSink in chunks as they are found,
+ * so a solver needs O(n^2) memory however long the solution is, and the
+ * arrays are reused from one board to the next.
+ *
+ * a solver instance solves one board at a time.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ReductionSolver {
+    // the time of every solve
+    private static final Histogram SOLVE_TIME =
+            MetricsRegistry.getDefault().histogram("solver.reduce");
+
+    // the number of moves handed to the sink at a time
+    private static final int CHUNK_SIZE = 4096;
+
+    // the number of blocks in each row and column of a line's corner
+    private static final int CORNER = 3;
+
+    // the number of states of a corner, one cell each for the two blocks
+    // being placed and the empty block
+    private static final int CORNER_STATES = CORNER * CORNER * CORNER * CORNER
+                                             * CORNER * CORNER;
+
+    // these variables contain the size of the board
+    private final int _blocksNum;
+    private final int _length;
+
+    // these variables contain the board being solved and the solved cells
+    private final int[] _tiles;
+    private final int[] _where;
+    private final boolean[] _locked;
+    private int _blank;
+
+    // these variables contain the breadth-first search of the empty block
+    private final int[] _queue;
+    private final int[] _parent;
+    private final int[] _seen;
+    private final int[] _path;
+    private int _stamp;
+
+    // these variables contain the search of a line's corner
+    private final int[] _cornerParent = new int[CORNER_STATES];
+    private final int[] _cornerQueue = new int[CORNER_STATES];
+    private final int[] _cornerSeen = new int[CORNER_STATES];
+    private int _cornerStamp;
+
+    // these variables contain the moves not yet handed to the sink
+    private final byte[] _chunk = new byte[CHUNK_SIZE];
+    private int _chunked;
+    private long _count;
+    private MoveSink _sink;
+
+    /**
+     * ReductionSolver constructor
+     *
+     * @param blocksNum the number of blocks in each row and column
+     */
+    public ReductionSolver(int blocksNum) {
+        if (blocksNum < 1) {
+            throw new IllegalArgumentException("need at least one block");
+        }
+        _blocksNum = blocksNum;
+        _length = blocksNum * blocksNum;
+        _tiles = new int[_length];
+        _where = new int[_length];
+        _locked = new boolean[_length];
+        _queue = new int[_length];
+        _parent = new int[_length];
+        _seen = new int[_length];
+        _path = new int[Math.max(_length, CORNER_STATES)];
+    }
+
+    /**
+     * solve
+     *
+     * this method solves the given board. the board itself is not modified,
+     * so a sink that applies the moves to it replays the solution.
+     *
+     * @param board the board to solve
+     * @param sink  the sink that receives the moves
+     * @return      the number of moves in the solution
+     */
+    public long solve(Board board, MoveSink sink) {
+        int[] tiles = new int[board.getLength()];
+        board.copyTo(tiles);
+        return solve(tiles, sink);
+    }
+
+    /**
+     * solve
+     *
+     * this method solves the given block values. every move is handed to
+     * the sink before the method returns.
+     *
+     * @param tiles the block values in row-major order
+     * @param sink  the sink that receives the moves
+     * @return      the number of moves in the solution
+     */
+    public long solve(int[] tiles, MoveSink sink) {
+        if (tiles.length != _length) {
+            throw new IllegalArgumentException("expected " + _length
+                                               + " values, got " + tiles.length);
+        }
+        Board.checkPermutation(tiles);
+        if (!new InversionCounter(_length - 1)
+                .isSolvable(tiles, _blocksNum)) {
+            throw new IllegalArgumentException("board is not solvable");
+        }
+
+        long start = SOLVE_TIME.startTimer();
+        load(tiles);
+        _sink = sink;
+        _chunked = 0;
+        _count = 0;
+        try {
+            for (int k = 0; k < _blocksNum - 2; k++) {
+                solveRow(k);
+                solveColumn(k);
+            }
+            solveCorner();
+            flush();
+            return _count;
+        } finally {
+            _sink = null;
+            SOLVE_TIME.stopTimer(start);
+        }
+    }
+
+    /**
+     * lowerBound
+     *
+     * this method returns the Manhattan distance of the given block values,
+     * which no solution can be shorter than.
+     *
+     * @param tiles the block values in row-major order
+     * @return      the sum of the distances of every block from its cell
+     */
+    public long lowerBound(int[] tiles) {
+        long distance = 0;
+        for (int cell = 0; cell < tiles.length; cell++) {
+            int value = tiles[cell];
+            if (value != 0) {
+                int goal = value - 1;
+                distance += Math.abs(cell / _blocksNum - goal / _blocksNum)
+                            + Math.abs(cell % _blocksNum - goal % _blocksNum);
+            }
+        }
+        return distance;
+    }
+
+    /**
+     * load
+     *
+     * @param tiles the block values in row-major order
+     */
+    private void load(int[] tiles) {
+        System.arraycopy(tiles, 0, _tiles, 0, _length);
+        for (int cell = 0; cell < _length; cell++) {
+            _where[tiles[cell]] = cell;
+        }
+        _blank = _where[0];
+        Arrays.fill(_locked, false);
+    }
+
+    /**
+     * solveRow
+     *
+     * this method solves the top row of the board that is left.
+     *
+     * @param k the row and column of the top-left cell of the board left
+     */
+    private void solveRow(int k) {
+        int n = _blocksNum;
+        for (int col = k; col < n - 2; col++) {
+            int cell = k * n + col;
+            place(cell + 1, cell, true);
+            _locked[cell] = true;
+        }
+
+        int first = k * n + n - 2;
+        placePair(first, first + 1, first + 1 + 2 * n, k, n - CORNER, true);
+    }
+
+    /**
+     * solveColumn
+     *
+     * this method solves the left column of the board that is left.
+     *
+     * @param k the row and column of the top-left cell of the board left
+     */
+    private void solveColumn(int k) {
+        int n = _blocksNum;
+        for (int row = k + 1; row < n - 2; row++) {
+            int cell = row * n + k;
+            place(cell + 1, cell, false);
+            _locked[cell] = true;
+        }
+
+        int first = (n - 2) * n + k;
+        placePair(first, first + n, first + n + 2, n - CORNER, k, false);
+    }
+
+    /**
+     * solveCorner
+     *
+     * this method rotates the last 2 x 2 corner until it is solved. the
+     * three blocks keep their cyclic order, so one of the twelve positions
+     * of the rotation is the goal of every solvable board.
+     */
+    private void solveCorner() {
+        int n = _blocksNum;
+        if (n < 2) {
+            return;
+        }
+
+        // the cells of the corner in clockwise order
+        int topLeft = _length - n - 2;
+        int[] cycle = { topLeft, topLeft + 1, topLeft + n + 1, topLeft + n };
+        int at = 0;
+        while (cycle[at] != _blank) {
+            at++;
+        }
+
+        for (int i = 0; i < 4 * (cycle.length - 1); i++) {
+            if (_blank == _length - 1
+                && _tiles[topLeft] == topLeft + 1
+                && _tiles[topLeft + 1] == topLeft + 2
+                && _tiles[topLeft + n] == topLeft + n + 1) {
+                return;
+            }
+            at = (at + 1) % cycle.length;
+            moveBlank(cycle[at]);
+        }
+        throw new IllegalStateException("corner cannot be solved");
+    }
+
+    /**
+     * place
+     *
+     * this method walks a block to a cell without touching the locked
+     * cells.
+     *
+     * @param value         the value of the block
+     * @param target        the cell to walk it to
+     * @param acrossFirst   true to move across before moving up or down
+     */
+    private void place(int value, int target, boolean acrossFirst) {
+        while (_where[value] != target) {
+            step(value, target, acrossFirst);
+        }
+    }
+
+    /**
+     * step
+     *
+     * this method moves a block one cell closer to a target cell. a block
+     * bound for a row moves across first and then up, and a block bound
+     * for a column moves up first and then across, so its path never
+     * crosses the cells already solved in its line.
+     *
+     * @param value         the value of the block
+     * @param target        the cell it is walking to
+     * @param acrossFirst   true to move across before moving up or down
+     */
+    private void step(int value, int target, boolean acrossFirst) {
+        int n = _blocksNum;
+        int cell = _where[value];
+        int row = cell / n;
+        int col = cell - row * n;
+        int targetRow = target / n;
+        int targetCol = target - targetRow * n;
+
+        int next;
+        if (col != targetCol && (acrossFirst || row == targetRow)) {
+            next = cell + (col < targetCol ? 1 : -1);
+        } else {
+            next = cell + (row < targetRow ? n : -n);
+        }
+
+        routeBlank(next, cell);
+        moveBlank(cell);
+    }
+
+    /**
+     * placePair
+     *
+     * this method places the last two blocks of a line. the first block is
+     * placed, the second block and the empty block are walked into the
+     * corner of the line, and a search of the corner finishes both.
+     *
+     * neither is walked further than the edge of the corner. once the
+     * first block is placed, the last cell of the line has only one free
+     * neighbor, and walking the second block out of it would leave the
+     * empty block trapped there.
+     *
+     * @param first         the cell of the first block
+     * @param second        the cell of the second block
+     * @param toward        the corner cell the second block walks toward
+     * @param top           the top row of the corner
+     * @param left          the left column of the corner
+     * @param acrossFirst   true if the line is a row
+     */
+    private void placePair(int first, int second, int toward, int top,
+                           int left, boolean acrossFirst) {
+        place(first + 1, first, acrossFirst);
+        _locked[first] = true;
+        while (!isInCorner(_where[second + 1], top, left)) {
+            step(second + 1, toward, acrossFirst);
+        }
+        if (!isInCorner(_blank, top, left)) {
+            int avoid = _where[second + 1];
+            routeBlank(nearestInCorner(avoid, top, left), avoid);
+        }
+        _locked[first] = false;
+
+        searchCorner(first + 1, second + 1, first, second, top, left);
+        _locked[first] = true;
+        _locked[second] = true;
+    }
+
+    /**
+     * nearestInCorner
+     *
+     * @param avoid a cell of the corner that is taken
+     * @param top   the top row of the corner
+     * @param left  the left column of the corner
+     * @return      the free cell of the corner closest to the empty block
+     */
+    private int nearestInCorner(int avoid, int top, int left) {
+        int nearest = -1;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int corner = 0; corner < CORNER * CORNER; corner++) {
+            int cell = cell(corner, top, left);
+            int distance = Math.abs(cell / _blocksNum - _blank / _blocksNum)
+                           + Math.abs(cell % _blocksNum - _blank % _blocksNum);
+            if (cell != avoid && !_locked[cell] && distance < nearestDistance) {
+                nearest = cell;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * isInCorner
+     *
+     * @param cell  a cell of the board
+     * @param top   the top row of the corner
+     * @param left  the left column of the corner
+     * @return      true if the cell is inside the corner
+     */
+    private boolean isInCorner(int cell, int top, int left) {
+        int row = cell / _blocksNum - top;
+        int col = cell % _blocksNum - left;
+        return row >= 0 && row < CORNER && col >= 0 && col < CORNER;
+    }
+
+    /**
+     * searchCorner
+     *
+     * this method finds the fewest moves that take two blocks to their
+     * cells inside a 3 x 3 corner, with a breadth-first search over the
+     * cells of the two blocks and the empty block. every other block of
+     * the corner is interchangeable, so the search has at most 729 states.
+     *
+     * @param firstValue    the value of the first block
+     * @param secondValue   the value of the second block
+     * @param first         the cell of the first block
+     * @param second        the cell of the second block
+     * @param top           the top row of the corner
+     * @param left          the left column of the corner
+     */
+    private void searchCorner(int firstValue, int secondValue,
+                              int first, int second, int top, int left) {
+        int goalFirst = corner(first, top, left);
+        int goalSecond = corner(second, top, left);
+        int start = state(corner(_where[firstValue], top, left),
+                          corner(_where[secondValue], top, left),
+                          corner(_blank, top, left));
+
+        int stamp = ++_cornerStamp;
+        _cornerSeen[start] = stamp;
+        _cornerParent[start] = -1;
+        int head = 0;
+        int tail = 0;
+        _cornerQueue[tail++] = start;
+        int found = -1;
+        while (head < tail) {
+            int state = _cornerQueue[head++];
+            int a = state / (CORNER * CORNER * CORNER * CORNER);
+            int b = state / (CORNER * CORNER) % (CORNER * CORNER);
+            int e = state % (CORNER * CORNER);
+            if (a == goalFirst && b == goalSecond) {
+                found = state;
+                break;
+            }
+
+            for (int direction = 0; direction < Move.COUNT; direction++) {
+                int next = Move.target(e, direction, CORNER);
+                if (next < 0 || _locked[cell(next, top, left)]) {
+                    continue;
+                }
+
+                int child = state(a == next ? e : a, b == next ? e : b, next);
+                if (_cornerSeen[child] != stamp) {
+                    _cornerSeen[child] = stamp;
+                    _cornerParent[child] = state;
+                    _cornerQueue[tail++] = child;
+                }
+            }
+        }
+        if (found < 0) {
+            throw new IllegalStateException("line cannot be finished");
+        }
+
+        // the empty block's cells are collected from the goal backwards
+        int count = 0;
+        for (int state = found; _cornerParent[state] >= 0;
+             state = _cornerParent[state]) {
+            _path[count++] = cell(state % (CORNER * CORNER), top, left);
+        }
+        while (count > 0) {
+            moveBlank(_path[--count]);
+        }
+    }
+
+    /**
+     * state
+     *
+     * @param a the corner cell of the first block
+     * @param b the corner cell of the second block
+     * @param e the corner cell of the empty block
+     * @return  the state of the corner search
+     */
+    private static int state(int a, int b, int e) {
+        return (a * CORNER * CORNER + b) * CORNER * CORNER + e;
+    }
+
+    /**
+     * corner
+     *
+     * @param cell  a cell of the board inside the corner
+     * @param top   the top row of the corner
+     * @param left  the left column of the corner
+     * @return      the cell of the corner
+     */
+    private int corner(int cell, int top, int left) {
+        int row = cell / _blocksNum - top;
+        int col = cell % _blocksNum - left;
+        return row * CORNER + col;
+    }
+
+    /**
+     * cell
+     *
+     * @param corner    a cell of the corner
+     * @param top       the top row of the corner
+     * @param left      the left column of the corner
+     * @return          the cell of the board
+     */
+    private int cell(int corner, int top, int left) {
+        return (top + corner / CORNER) * _blocksNum + left + corner % CORNER;
+    }
+
+    /**
+     * routeBlank
+     *
+     * this method brings the empty block to a cell without touching the
+     * locked cells or the given cell. it steps greedily toward the cell,
+     * down or up before across, and falls back to a search when both steps
+     * are in the way.
+     *
+     * @param target    the cell to bring the empty block to
+     * @param avoid     a cell that must not move, or -1
+     */
+    private void routeBlank(int target, int avoid) {
+        int n = _blocksNum;
+        int targetRow = target / n;
+        int targetCol = target - targetRow * n;
+        while (_blank != target) {
+            int row = _blank / n;
+            int col = _blank - row * n;
+
+            int next = -1;
+            if (row != targetRow) {
+                int cell = _blank + (row < targetRow ? n : -n);
+                if (cell != avoid && !_locked[cell]) {
+                    next = cell;
+                }
+            }
+            if (next < 0 && col != targetCol) {
+                int cell = _blank + (col < targetCol ? 1 : -1);
+                if (cell != avoid && !_locked[cell]) {
+                    next = cell;
+                }
+            }
+
+            if (next < 0) {
+                searchBlank(target, avoid);
+                return;
+            }
+            moveBlank(next);
+        }
+    }
+
+    /**
+     * searchBlank
+     *
+     * this method brings the empty block to a cell along a shortest path.
+     * the search is kept to the box around both cells and one more row and
+     * column on every side, which is enough to step around one block, and
+     * only covers the whole board if the box has no path.
+     *
+     * @param target    the cell to bring the empty block to
+     * @param avoid     a cell that must not move, or -1
+     */
+    private void searchBlank(int target, int avoid) {
+        int n = _blocksNum;
+        int top = Math.max(Math.min(_blank / n, target / n) - 1, 0);
+        int bottom = Math.min(Math.max(_blank / n, target / n) + 1, n - 1);
+        int left = Math.max(Math.min(_blank % n, target % n) - 1, 0);
+        int right = Math.min(Math.max(_blank % n, target % n) + 1, n - 1);
+        if (!searchBlank(target, avoid, top, bottom, left, right)
+            && !searchBlank(target, avoid, 0, n - 1, 0, n - 1)) {
+            throw new IllegalStateException("empty block cannot reach "
+                                            + target);
+        }
+    }
+
+    /**
+     * searchBlank
+     *
+     * @param target    the cell to bring the empty block to
+     * @param avoid     a cell that must not move, or -1
+     * @param top       the top row of the box searched
+     * @param bottom    the bottom row of the box searched
+     * @param left      the left column of the box searched
+     * @param right     the right column of the box searched
+     * @return          true if the empty block was moved to the cell
+     */
+    private boolean searchBlank(int target, int avoid, int top, int bottom,
+                                int left, int right) {
+        int n = _blocksNum;
+        if (++_stamp == 0) {
+            Arrays.fill(_seen, 0);
+            _stamp = 1;
+        }
+
+        int head = 0;
+        int tail = 0;
+        _seen[_blank] = _stamp;
+        _queue[tail++] = _blank;
+        while (head < tail) {
+            int cell = _queue[head++];
+            if (cell == target) {
+                int count = 0;
+                for (; cell != _blank; cell = _parent[cell]) {
+                    _path[count++] = cell;
+                }
+                while (count > 0) {
+                    moveBlank(_path[--count]);
+                }
+                return true;
+            }
+
+            int row = cell / n;
+            int col = cell - row * n;
+            if (row > top) {
+                tail = visit(cell, cell - n, avoid, tail);
+            }
+            if (row < bottom) {
+                tail = visit(cell, cell + n, avoid, tail);
+            }
+            if (col > left) {
+                tail = visit(cell, cell - 1, avoid, tail);
+            }
+            if (col < right) {
+                tail = visit(cell, cell + 1, avoid, tail);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * visit
+     *
+     * @param from  the cell being expanded
+     * @param cell  a neighbor of the cell
+     * @param avoid a cell that must not move, or -1
+     * @param tail  the end of the queue
+     * @return      the new end of the queue
+     */
+    private int visit(int from, int cell, int avoid, int tail) {
+        if (cell == avoid || _locked[cell] || _seen[cell] == _stamp) {
+            return tail;
+        }
+        _seen[cell] = _stamp;
+        _parent[cell] = from;
+        _queue[tail] = cell;
+        return tail + 1;
+    }
+
+    /**
+     * moveBlank
+     *
+     * this method swaps the empty block with an adjacent block and emits
+     * the move, or drops the last move emitted if this one undoes it.
+     *
+     * @param cell  the cell next to the empty block
+     */
+    private void moveBlank(int cell) {
+        int value = _tiles[cell];
+        _tiles[_blank] = value;
+        _where[value] = _blank;
+        _tiles[cell] = 0;
+        _where[0] = cell;
+
+        // a move that undoes the last one cancels it if it is still held
+        int direction = Move.direction(_blank, cell, _blocksNum);
+        _blank = cell;
+        if (_chunked > 0 && _chunk[_chunked - 1] == Move.opposite(direction)) {
+            _chunked--;
+            _count--;
+            return;
+        }
+        _chunk[_chunked++] = (byte) direction;
+        _count++;
+        if (_chunked == CHUNK_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * flush
+     *
+     * this method hands the moves not yet handed to the sink.
+     */
+    private void flush() {
+        if (_chunked > 0) {
+            _sink.onMoves(_chunk, 0, _chunked);
+            _chunked = 0;
+        }
+    }
+}
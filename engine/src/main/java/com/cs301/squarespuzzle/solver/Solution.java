@@ -0,0 +1,88 @@
+package com.cs301.squarespuzzle.solver;
+
+/**
+ * Solution
+ *
+ * the result of a solver run. the moves are stored one byte per move using
+ * the directions in Move, along with the work the search did to find them.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class Solution {
+    // these variables contain the moves that solve the board
+    private final byte[] _moves;
+
+    // these variables contain information about the search
+    private final long _nodes;
+    private final long _elapsedNanos;
+
+    /**
+     * Solution constructor
+     *
+     * @param moves         the moves that solve the board
+     * @param nodes         the number of nodes the search expanded
+     * @param elapsedNanos  the time the search took in nanoseconds
+     */
+    public Solution(byte[] moves, long nodes, long elapsedNanos) {
+        _moves = moves;
+        _nodes = nodes;
+        _elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * getMoves
+     *
+     * @return  the moves that solve the board, one direction per byte
+     */
+    public byte[] getMoves() {
+        return _moves;
+    }
+
+    /**
+     * getLength
+     *
+     * @return  the number of moves in the solution
+     */
+    public int getLength() {
+        return _moves.length;
+    }
+
+    /**
+     * getNodes
+     *
+     * @return  the number of nodes the search expanded
+     */
+    public long getNodes() {
+        return _nodes;
+    }
+
+    /**
+     * getElapsedNanos
+     *
+     * @return  the time the search took in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return _elapsedNanos;
+    }
+
+    /**
+     * getNodesPerSecond
+     *
+     * @return  the number of nodes expanded per second
+     */
+    public double getNodesPerSecond() {
+        if (_elapsedNanos == 0) {
+            return 0;
+        }
+        return _nodes * 1e9 / _elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(java.util.Locale.US,
+                             "%d moves, %d nodes, %.1f ms, %.0f nodes/s",
+                             _moves.length, _nodes, _elapsedNanos / 1e6,
+                             getNodesPerSecond());
+    }
+}
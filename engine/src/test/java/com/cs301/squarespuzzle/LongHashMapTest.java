@@ -0,0 +1,182 @@
+package com.cs301.squarespuzzle;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * LongHashMapTest
+ *
+ * checks the map against a HashMap over long runs of random operations,
+ * including the keys that are stored apart or collide, and that board
+ * hashes can be looked up at a useful rate.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class LongHashMapTest {
+    // the number of random operations of each run
+    private static final int OPERATIONS = 200000;
+
+    @Test
+    public void get_missingKey_returnsNull() {
+        LongHashMap<String> map = new LongHashMap<String>();
+        assertNull(map.get(42));
+        assertNull(map.get(0));
+        assertFalse(map.containsKey(42));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void put_zeroKey_storedApart() {
+        LongHashMap<String> map = new LongHashMap<String>();
+        assertNull(map.put(0, "zero"));
+        assertEquals("zero", map.put(0, "again"));
+        assertEquals("again", map.get(0));
+        assertEquals(1, map.size());
+
+        assertEquals("again", map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void put_nullValue_containsKey() {
+        LongHashMap<String> map = new LongHashMap<String>();
+        map.put(7, null);
+        assertTrue(map.containsKey(7));
+        assertNull(map.get(7));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void operations_randomKeys_matchHashMap() {
+        checkAgainstHashMap(new Random(1), Long.MAX_VALUE);
+    }
+
+    @Test
+    public void operations_fewKeys_matchHashMap() {
+        // a small key range keeps the table full of removals and reinserts
+        checkAgainstHashMap(new Random(2), 64);
+    }
+
+    @Test
+    public void operations_collidingKeys_matchHashMap() {
+        // multiples of a large power of two all fall in the same few slots
+        // of a small table, so every run is long and removals shift it
+        LongHashMap<Long> map = new LongHashMap<Long>();
+        Map<Long, Long> expected = new HashMap<Long, Long>();
+        Random random = new Random(3);
+        for (int i = 0; i < OPERATIONS; i++) {
+            long key = (long) random.nextInt(200) << 40;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void clear_afterPuts_isEmpty() {
+        LongHashMap<Integer> map = new LongHashMap<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(map.containsKey(i));
+        }
+
+        map.put(5, 5);
+        assertEquals(Integer.valueOf(5), map.get(5));
+    }
+
+    @Test
+    public void get_boardHashes_keepsThroughput() {
+        // a loose floor that only fails if probing degrades badly
+        int count = 1 << 18;
+        long[] hashes = new long[count];
+        Board board = Board.create(5);
+        ShuffleEngine engine = new ShuffleEngine(new Random(4));
+        LongHashMap<Board> map = new LongHashMap<Board>();
+        for (int i = 0; i < count; i++) {
+            engine.shuffle(board);
+            hashes[i] = board.getHash();
+            map.put(hashes[i], board);
+        }
+        assertEquals(count, map.size());
+
+        long best = Long.MAX_VALUE;
+        int found = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                if (map.get(hashes[i]) != null) {
+                    found++;
+                }
+                if (map.get(~hashes[i]) != null) {
+                    found--;
+                }
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        assertEquals(5 * count, found);
+
+        double lookupsPerSecond = 2.0 * count / (best / 1e9);
+        assertTrue(lookupsPerSecond + " lookups per second",
+                   lookupsPerSecond > 5e6);
+    }
+
+    /**
+     * checkAgainstHashMap
+     *
+     * this method runs random puts, removes and lookups on both maps and
+     * checks that every result is the same.
+     *
+     * @param random    the source of the operations
+     * @param range     the keys are drawn from 0 up to this, or from every
+     *                  long for Long.MAX_VALUE
+     */
+    private static void checkAgainstHashMap(Random random, long range) {
+        LongHashMap<Integer> map = new LongHashMap<Integer>();
+        Map<Long, Integer> expected = new HashMap<Long, Integer>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            long key = range == Long.MAX_VALUE ? random.nextLong()
+                                               : random.nextInt((int) range);
+            if (i % 1000 == 0) {
+                key = 0;
+            }
+
+            switch (random.nextInt(4)) {
+                case 0:
+                    assertEquals(expected.remove(key), map.remove(key));
+                    break;
+                case 1:
+                    assertEquals(expected.containsKey(key),
+                                 map.containsKey(key));
+                    assertEquals(expected.get(key), map.get(key));
+                    break;
+                default:
+                    assertEquals(expected.put(key, i), map.put(key, i));
+                    break;
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+    }
+}
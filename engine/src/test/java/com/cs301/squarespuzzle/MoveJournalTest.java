@@ -0,0 +1,169 @@
+package com.cs301.squarespuzzle;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * MoveJournalTest
+ *
+ * checks that seeking restores the board reached by replaying the moves
+ * from the first state, including across copies of the board that fell
+ * inside a batch of moves or a slide recorded after it was made.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class MoveJournalTest {
+    // a short interval, so most batches cross a copy of the board
+    private static final int INTERVAL = 3;
+
+    // the number of batches and slides recorded on each board
+    private static final int CHANGES = 2000;
+
+    @Test
+    public void seek_afterBatches_matchesReplay() {
+        Random random = new Random(1);
+        for (int blocksNum : new int[] { 3, 5, 9 }) {
+            Board board = Board.create(blocksNum);
+            new ShuffleEngine(random).shuffle(board);
+            int[] first = new int[board.getLength()];
+            board.copyTo(first);
+
+            MoveJournal journal = new MoveJournal(board, INTERVAL);
+            byte[] moves = new byte[8];
+            for (int i = 0; i < CHANGES; i++) {
+                if (random.nextBoolean()) {
+                    slide(board, journal, random);
+                } else {
+                    int count = randomMoves(board, moves, random);
+                    board.applyMoves(moves, 0, count);
+                    journal.record(moves, 0, count);
+                }
+            }
+
+            int size = journal.getSize();
+            for (int i = 0; i < 200; i++) {
+                int position = random.nextInt(size + 1);
+                journal.seek(position);
+                assertEquals(position, journal.getPosition());
+                assertBoard(replay(first, journal, position), board);
+            }
+        }
+    }
+
+    @Test
+    public void seek_afterUndoAndNewBatch_matchesReplay() {
+        // a batch recorded after seeking back replaces the moves after it
+        Random random = new Random(2);
+        Board board = Board.create(4);
+        new ShuffleEngine(random).shuffle(board);
+        int[] first = new int[board.getLength()];
+        board.copyTo(first);
+
+        MoveJournal journal = new MoveJournal(board, INTERVAL);
+        byte[] moves = new byte[8];
+        for (int i = 0; i < CHANGES; i++) {
+            if (journal.getSize() > 0 && random.nextInt(4) == 0) {
+                journal.seek(random.nextInt(journal.getSize() + 1));
+            }
+            int count = randomMoves(board, moves, random);
+            board.applyMoves(moves, 0, count);
+            journal.record(moves, 0, count);
+        }
+
+        for (int position = 0; position <= journal.getSize(); position++) {
+            journal.seek(position);
+            assertBoard(replay(first, journal, position), board);
+        }
+    }
+
+    /**
+     * slide
+     *
+     * this method slides a random run of blocks and records it.
+     *
+     * @param board     the board to slide on
+     * @param journal   the journal of the board
+     * @param random    the source of the slide
+     */
+    private static void slide(Board board, MoveJournal journal,
+                              Random random) {
+        int blocksNum = board.getBlocksNum();
+        int direction = random.nextInt(Move.COUNT);
+        int target = board.getEmptyIndex();
+        int count = 0;
+        int length = 1 + random.nextInt(blocksNum);
+        while (count < length
+               && Move.target(target, direction, blocksNum) >= 0) {
+            target = Move.target(target, direction, blocksNum);
+            count++;
+        }
+        if (count > 0) {
+            board.slide(target);
+            journal.record(direction, count);
+        }
+    }
+
+    /**
+     * randomMoves
+     *
+     * @param board     the board the moves start on
+     * @param moves     the array to store the moves in
+     * @param random    the source of the moves
+     * @return          the number of moves stored, each on the board
+     */
+    private static int randomMoves(Board board, byte[] moves,
+                                   Random random) {
+        int blocksNum = board.getBlocksNum();
+        int empty = board.getEmptyIndex();
+        int count = 0;
+        while (count < moves.length) {
+            int direction = random.nextInt(Move.COUNT);
+            int target = Move.target(empty, direction, blocksNum);
+            if (target < 0) {
+                break;
+            }
+            moves[count++] = (byte) direction;
+            empty = target;
+        }
+        return count;
+    }
+
+    /**
+     * replay
+     *
+     * @param first     the block values of the first state
+     * @param journal   the journal of the moves
+     * @param position  the number of moves to replay
+     * @return          the board after replaying the moves one at a time
+     */
+    private static Board replay(int[] first, MoveJournal journal,
+                                int position) {
+        Board board = Board.create((int) Math.round(Math.sqrt(first.length)));
+        board.load(first);
+        int blocksNum = board.getBlocksNum();
+        for (int i = 0; i < position; i++) {
+            int empty = board.getEmptyIndex();
+            board.swap(empty, Move.target(empty, journal.get(i), blocksNum));
+        }
+        return board;
+    }
+
+    /**
+     * assertBoard
+     *
+     * @param expected  the board that was expected
+     * @param actual    the board that was restored
+     */
+    private static void assertBoard(Board expected, Board actual) {
+        int[] expectedValues = new int[expected.getLength()];
+        int[] actualValues = new int[actual.getLength()];
+        expected.copyTo(expectedValues);
+        actual.copyTo(actualValues);
+        assertArrayEquals(expectedValues, actualValues);
+    }
+}
@@ -0,0 +1,337 @@
+package com.cs301.squarespuzzle;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * SquaresModelConcurrencyTest
+ *
+ * checks that snapshots taken on other threads while the model is changed
+ * are always whole tables, that versions only go up, and that every change
+ * is told to the listeners once with its own version.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class SquaresModelConcurrencyTest {
+    // the number of changes each writer makes
+    private static final int CHANGES = 20000;
+
+    // the number of threads of each kind
+    private static final int WRITERS = 2;
+    private static final int READERS = 3;
+
+    @Test
+    public void snapshot_noChange_isShared() {
+        SquaresModel model = new SquaresModel();
+        BoardSnapshot first = model.snapshot();
+        assertSame(first, model.snapshot());
+
+        model.resetTable();
+        BoardSnapshot second = model.snapshot();
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        assertSnapshotOf(model.getBoard(), second);
+    }
+
+    @Test
+    public void getVersion_slide_risesByMoves() {
+        SquaresModel model = new SquaresModel();
+        model.setBoard(Board.create(4));
+        long version = model.getVersion();
+
+        // the empty block starts at index 0, so this slides three blocks
+        assertEquals(3, model.slideBlocks(0, 3));
+        assertEquals(version + 3, model.getVersion());
+        assertTrue(model.undo());
+        assertEquals(version + 4, model.getVersion());
+    }
+
+    @Test
+    public void seekMove_nearPosition_reportsMovesThatReplay() {
+        SquaresModel model = new SquaresModel();
+        Random random = new Random(3);
+        for (int i = 0; i < 500; i++) {
+            model.swapBlocks(random.nextInt(4), random.nextInt(4));
+        }
+        final Board replayed = Board.create(4);
+        final long[] reported = new long[1];
+        model.addOnChangeListener(new SquaresModel.OnChangeListener() {
+            @Override
+            public void onMove(int from, int to, long version) {
+                throw new AssertionError("a seek is one run of moves");
+            }
+
+            @Override
+            public void onMoves(byte[] moves, int offset, int count,
+                                long version) {
+                replayed.applyMoves(moves, offset, count);
+                reported[0] = version;
+            }
+
+            @Override
+            public void onBoardChanged(long version) {
+                throw new AssertionError("a seek is one run of moves");
+            }
+        });
+
+        int size = model.getJournal().getSize();
+        for (int i = 0; i < 100; i++) {
+            int[] cells = new int[16];
+            model.getBoard().copyTo(cells);
+            replayed.load(cells);
+            long version = model.getVersion();
+            int start = model.getJournal().getPosition();
+            int position = random.nextInt(size + 1);
+
+            model.seekMove(position);
+            assertEquals(version + Math.abs(position - start),
+                         model.getVersion());
+            if (position != start) {
+                assertEquals(model.getVersion(), reported[0]);
+            }
+            assertSnapshotOf(replayed, model.snapshot());
+        }
+    }
+
+    @Test
+    public void seekMove_farPosition_reportsBoardChanged() {
+        SquaresModel model = new SquaresModel();
+        Random random = new Random(8);
+        while (model.getJournal().getSize()
+               <= 2 * MoveJournal.DEFAULT_SNAPSHOT_INTERVAL) {
+            model.swapBlocks(random.nextInt(4), random.nextInt(4));
+        }
+        final long[] reported = new long[1];
+        model.addOnChangeListener(new SquaresModel.OnChangeListener() {
+            @Override
+            public void onMove(int from, int to, long version) {
+                throw new AssertionError("a long seek is a new board");
+            }
+
+            @Override
+            public void onMoves(byte[] moves, int offset, int count,
+                                long version) {
+                throw new AssertionError("a long seek is a new board");
+            }
+
+            @Override
+            public void onBoardChanged(long version) {
+                reported[0] = version;
+            }
+        });
+
+        long version = model.getVersion();
+        model.seekMove(0);
+        assertEquals(version + 1, model.getVersion());
+        assertEquals(model.getVersion(), reported[0]);
+        assertEquals(0, model.getJournal().getPosition());
+        assertSnapshotOf(model.getBoard(), model.snapshot());
+    }
+
+    @Test
+    public void snapshot_concurrentWriters_alwaysConsistent()
+            throws InterruptedException {
+        final SquaresModel model = new SquaresModel();
+        final AtomicReference<Throwable> failure =
+                new AtomicReference<Throwable>();
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final BitSet delivered = new BitSet();
+        model.addOnChangeListener(new SquaresModel.OnChangeListener() {
+            @Override
+            public void onMove(int from, int to, long version) {
+                deliver(version);
+            }
+
+            @Override
+            public void onMoves(byte[] moves, int offset, int count,
+                                long version) {
+                // a run of moves raises the version once per move
+                for (long v = version - count + 1; v <= version; v++) {
+                    deliver(v);
+                }
+            }
+
+            @Override
+            public void onBoardChanged(long version) {
+                deliver(version);
+            }
+
+            private void deliver(long version) {
+                synchronized (delivered) {
+                    if (delivered.get((int) version)) {
+                        failure.compareAndSet(null, new AssertionError(
+                                "version " + version + " delivered twice"));
+                    }
+                    delivered.set((int) version);
+                }
+            }
+        });
+        final long initialVersion = model.getVersion();
+
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] writers = new Thread[WRITERS];
+        for (int w = 0; w < WRITERS; w++) {
+            final Random random = new Random(w);
+            writers[w] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < CHANGES; i++) {
+                            change(model, random);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+
+        Thread[] readers = new Thread[READERS];
+        for (int r = 0; r < READERS; r++) {
+            readers[r] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        long last = -1;
+                        while (writing.get()) {
+                            BoardSnapshot snapshot = model.snapshot();
+                            assertConsistent(snapshot);
+                            assertTrue(snapshot.getVersion() >= last);
+                            assertTrue(snapshot.getVersion()
+                                       <= model.getVersion());
+                            last = snapshot.getVersion();
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+
+        for (Thread thread : writers) {
+            thread.start();
+        }
+        for (Thread thread : readers) {
+            thread.start();
+        }
+        start.countDown();
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        writing.set(false);
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+
+        // every version after the first is delivered, since each change
+        // here raises the version by one per move it reports
+        long version = model.getVersion();
+        assertEquals(version - initialVersion, delivered.cardinality());
+        assertEquals(initialVersion + 1, delivered.nextSetBit(0));
+        assertEquals(version + 1,
+                     delivered.nextClearBit((int) initialVersion + 1));
+
+        BoardSnapshot snapshot = model.snapshot();
+        assertEquals(version, snapshot.getVersion());
+        assertSnapshotOf(model.getBoard(), snapshot);
+    }
+
+    /**
+     * change
+     *
+     * this method makes one random change to the model. the size of the
+     * board never changes, since a writer reads it before it locks.
+     *
+     * @param model     the model to change
+     * @param random    the source of the change
+     */
+    private static void change(SquaresModel model, Random random) {
+        int blocksNum = model.getBlocksNum();
+        switch (random.nextInt(20)) {
+            case 0:
+                model.shuffleTable();
+                break;
+            case 1:
+                model.resetTable();
+                break;
+            case 2:
+                Board board = Board.create(blocksNum);
+                new ShuffleEngine(random).shuffle(board);
+                model.setBoard(board);
+                break;
+            case 3:
+                model.seekMove(0);
+                break;
+            case 4:
+            case 5:
+                model.undo();
+                break;
+            case 6:
+                model.redo();
+                break;
+            case 7:
+            case 8:
+                model.slideBlocks(random.nextInt(blocksNum),
+                                  random.nextInt(blocksNum));
+                break;
+            default:
+                model.swapBlocks(random.nextInt(blocksNum),
+                                 random.nextInt(blocksNum));
+                break;
+        }
+    }
+
+    /**
+     * assertConsistent
+     *
+     * this method checks that a snapshot is a whole table: a permutation
+     * with the empty block where it says and the hash of its cells.
+     *
+     * @param snapshot  the snapshot to check
+     */
+    private static void assertConsistent(BoardSnapshot snapshot) {
+        int length = snapshot.getLength();
+        assertEquals(snapshot.getBlocksNum() * snapshot.getBlocksNum(),
+                     length);
+        boolean[] seen = new boolean[length];
+        long hash = 0;
+        for (int i = 0; i < length; i++) {
+            int value = snapshot.get(i);
+            assertTrue(value >= 0 && value < length && !seen[value]);
+            seen[value] = true;
+            hash ^= Board.zobrist(i, value);
+        }
+        assertEquals(0, snapshot.get(snapshot.getEmptyIndex()));
+        assertEquals(hash, snapshot.getHash());
+    }
+
+    /**
+     * assertSnapshotOf
+     *
+     * @param board     a board
+     * @param snapshot  a snapshot that must have the same blocks
+     */
+    private static void assertSnapshotOf(Board board,
+                                         BoardSnapshot snapshot) {
+        assertConsistent(snapshot);
+        assertEquals(board.getBlocksNum(), snapshot.getBlocksNum());
+        for (int i = 0; i < board.getLength(); i++) {
+            assertEquals(board.get(i), snapshot.get(i));
+        }
+        assertEquals(board.getHash(), snapshot.getHash());
+        assertEquals(board.getHash(), snapshot.toBoard().getHash());
+    }
+}
@@ -0,0 +1,238 @@
+package com.cs301.squarespuzzle;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * ZobristHashTest
+ *
+ * checks that the hash a board keeps up to date on every change is always
+ * the hash of its cells computed from scratch, on every representation and
+ * through the model, and that different boards rarely share a hash or a
+ * bucket of one.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ZobristHashTest {
+    // one size of board for every representation
+    private static final int[] SIZES = { 2, 3, 4, 5, 16, 17, 257 };
+
+    // the number of random changes made to each board
+    private static final int CHANGES = 2000;
+
+    @Test
+    public void getHash_afterEveryChange_matchesFullHash() {
+        Random random = new Random(1);
+        for (int blocksNum : SIZES) {
+            Board board = Board.create(blocksNum);
+            assertEquals(fullHash(board), board.getHash());
+
+            new ShuffleEngine(random).shuffle(board);
+            assertEquals(fullHash(board), board.getHash());
+
+            byte[] moves = new byte[1];
+            for (int i = 0; i < CHANGES; i++) {
+                int empty = board.getEmptyIndex();
+                int direction = random.nextInt(Move.COUNT);
+                if (Move.target(empty, direction, blocksNum) < 0) {
+                    continue;
+                }
+
+                switch (random.nextInt(3)) {
+                    case 0:
+                        board.swap(empty, Move.target(empty, direction,
+                                                      blocksNum));
+                        break;
+                    case 1:
+                        board.slide(farthest(empty, direction, blocksNum));
+                        break;
+                    default:
+                        moves[0] = (byte) direction;
+                        board.applyMoves(moves, 0, 1);
+                        break;
+                }
+                assertEquals(fullHash(board), board.getHash());
+            }
+
+            board.reset();
+            assertEquals(fullHash(board), board.getHash());
+        }
+    }
+
+    @Test
+    public void getHash_sameCells_sameHashOnEveryBoard() {
+        Random random = new Random(2);
+        for (int blocksNum : SIZES) {
+            Board first = Board.create(blocksNum);
+            new ShuffleEngine(random).shuffle(first);
+            int[] values = new int[first.getLength()];
+            first.copyTo(values);
+
+            // a board reached by moves and a board loaded directly
+            Board second = Board.create(blocksNum);
+            second.load(values);
+            assertEquals(first.getHash(), second.getHash());
+
+            // a move and its opposite return to the same hash
+            int empty = first.getEmptyIndex();
+            int target = Move.target(empty, Move.UP, blocksNum);
+            if (target < 0) {
+                target = Move.target(empty, Move.DOWN, blocksNum);
+            }
+            first.swap(empty, target);
+            assertNotEquals(second.getHash(), first.getHash());
+            first.swap(empty, target);
+            assertEquals(second.getHash(), first.getHash());
+        }
+    }
+
+    @Test
+    public void getHash_model_followsMovesShufflesAndResets() {
+        SquaresModel model = new SquaresModel();
+        Board board = model.getBoard();
+        assertEquals(fullHash(board), model.getHash());
+
+        Random random = new Random(3);
+        for (int i = 0; i < CHANGES; i++) {
+            int blocksNum = model.getBlocksNum();
+            int empty = model.getBoard().getEmptyIndex();
+            switch (random.nextInt(6)) {
+                case 0:
+                    model.shuffleTable();
+                    break;
+                case 1:
+                    model.resetTable();
+                    break;
+                case 2:
+                    model.undo();
+                    break;
+                case 3:
+                    model.redo();
+                    break;
+                default:
+                    int target = Move.target(empty,
+                                             random.nextInt(Move.COUNT),
+                                             blocksNum);
+                    if (target >= 0) {
+                        model.swapBlocks(target / blocksNum,
+                                         target % blocksNum);
+                    }
+                    break;
+            }
+            assertEquals(fullHash(model.getBoard()), model.getHash());
+        }
+    }
+
+    @Test
+    public void getHash_randomBoards_noCollisions() {
+        // every 4x4 board is packed into one long, which identifies it
+        Random random = new Random(4);
+        ShuffleEngine engine = new ShuffleEngine(random);
+        Board board = Board.create(4);
+        Set<Long> boards = new HashSet<Long>();
+        Set<Long> hashes = new HashSet<Long>();
+        for (int i = 0; i < 200000; i++) {
+            engine.shuffle(board);
+            if (boards.add(((PackedBoard) board).getCells())) {
+                hashes.add(board.getHash());
+            }
+        }
+        assertEquals(boards.size(), hashes.size());
+    }
+
+    @Test
+    public void getHash_neighbouringBoards_fillBucketsEvenly() {
+        // boards along a random walk differ in only a few cells, which is
+        // the hardest case for the low bits a hash table takes its slot
+        // from. boards the walk comes back to are only counted once.
+        int buckets = 1 << 12;
+        int[] counts = new int[buckets];
+        Random random = new Random(5);
+        Board board = Board.create(4);
+        new ShuffleEngine(random).shuffle(board);
+
+        int samples = buckets * 64;
+        Set<Long> seen = new HashSet<Long>();
+        while (seen.size() < samples) {
+            int empty = board.getEmptyIndex();
+            int target = Move.target(empty, random.nextInt(Move.COUNT), 4);
+            if (target >= 0) {
+                board.swap(empty, target);
+            }
+            if (seen.add(((PackedBoard) board).getCells())) {
+                counts[(int) (board.getHash() & (buckets - 1))]++;
+            }
+        }
+
+        // the chi-squared statistic of a uniform spread is close to the
+        // number of buckets, so allow a wide margin
+        double expected = (double) samples / buckets;
+        double chiSquared = 0;
+        for (int count : counts) {
+            chiSquared += (count - expected) * (count - expected) / expected;
+        }
+        assertTrue("chi-squared " + chiSquared,
+                   chiSquared < buckets * 1.25);
+    }
+
+    @Test
+    public void swap_withHash_keepsThroughput() {
+        // a loose floor that only fails if the hash makes moves far slower
+        byte[] moves = new byte[1 << 20];
+        for (int i = 0; i < moves.length; i++) {
+            moves[i] = (byte) (i % 2 == 0 ? Move.UP : Move.DOWN);
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            Board board = Board.create(4);
+            board.load(new int[] { 1, 2, 3, 4, 5, 6, 7, 8,
+                                  9, 10, 11, 12, 13, 14, 15, 0 });
+            long start = System.nanoTime();
+            board.applyMoves(moves, 0, moves.length);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double movesPerSecond = moves.length / (best / 1e9);
+        assertTrue(movesPerSecond + " moves per second",
+                   movesPerSecond > 5e6);
+    }
+
+    /**
+     * fullHash
+     *
+     * @param board a board
+     * @return      the hash of its cells computed from scratch
+     */
+    private static long fullHash(Board board) {
+        long hash = 0;
+        for (int i = 0; i < board.getLength(); i++) {
+            hash ^= Board.zobrist(i, board.get(i));
+        }
+        return hash;
+    }
+
+    /**
+     * farthest
+     *
+     * @param index     the index of the empty block
+     * @param direction a direction it can move in
+     * @param blocksNum the number of blocks in each row and column
+     * @return          the last cell in that direction
+     */
+    private static int farthest(int index, int direction, int blocksNum) {
+        int target = index;
+        for (int next = Move.target(target, direction, blocksNum);
+             next >= 0; next = Move.target(next, direction, blocksNum)) {
+            target = next;
+        }
+        return target;
+    }
+}
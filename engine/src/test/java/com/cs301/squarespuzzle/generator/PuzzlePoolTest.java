@@ -0,0 +1,71 @@
+package com.cs301.squarespuzzle.generator;
+
+import com.cs301.squarespuzzle.Board;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * PuzzlePoolTest
+ *
+ * checks that every request is handed its own puzzle, even when requests
+ * race with the background threads over a shelf that holds one puzzle.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class PuzzlePoolTest {
+    // the number of requests and the threads that make them
+    private static final int REQUESTS = 200;
+    private static final int REQUESTERS = 4;
+
+    @Test
+    public void request_concurrent_everyListenerGetsOwnPuzzle()
+            throws InterruptedException {
+        final PuzzlePool pool = new PuzzlePool(2, 1);
+        final CountDownLatch handed = new CountDownLatch(REQUESTS);
+        final Set<Board> boards =
+                Collections.newSetFromMap(new IdentityHashMap<Board, Boolean>());
+        final PuzzlePool.OnPuzzleListener listener =
+                new PuzzlePool.OnPuzzleListener() {
+                    @Override
+                    public void onPuzzle(Board board) {
+                        synchronized (boards) {
+                            assertTrue(board != null && boards.add(board));
+                        }
+                        handed.countDown();
+                    }
+                };
+
+        Thread[] requesters = new Thread[REQUESTERS];
+        for (int i = 0; i < REQUESTERS; i++) {
+            requesters[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < REQUESTS / REQUESTERS; j++) {
+                        pool.request(3, Difficulty.EASY, listener);
+                    }
+                }
+            });
+            requesters[i].start();
+        }
+        for (Thread requester : requesters) {
+            requester.join();
+        }
+
+        try {
+            assertTrue(handed.await(60, TimeUnit.SECONDS));
+            assertEquals(REQUESTS, boards.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.cs301.squarespuzzle.persist;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.Move;
+import com.cs301.squarespuzzle.ShuffleEngine;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * GameStoreTest
+ *
+ * checks that a saved game survives a crash at any point: the file is cut
+ * at every offset, or has garbage written after it, and must load as the
+ * game after the last move that was written in full.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class GameStoreTest {
+    // the number of moves in the saved games
+    private static final int MOVES = 200;
+
+    // these variables contain the files of the test
+    private File _dir;
+    private File _file;
+
+    @Before
+    public void setUp() throws IOException {
+        _dir = Files.createTempDirectory("gamestore").toFile();
+        _file = new File(_dir, "game.bin");
+    }
+
+    @After
+    public void tearDown() {
+        File[] files = _dir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        _dir.delete();
+    }
+
+    @Test
+    public void load_missingFile_returnsNull() throws IOException {
+        assertNull(new GameStore(_file).load());
+    }
+
+    @Test
+    public void load_afterMoves_replaysEveryMove() throws IOException {
+        int[][] states = saveGame(4, MOVES);
+
+        GameStore store = new GameStore(_file);
+        Board board = store.load();
+        store.close();
+
+        assertNotNull(board);
+        assertArrayEquals(states[MOVES], cells(board));
+        assertEquals(MOVES, store.getMoveCount());
+    }
+
+    @Test
+    public void load_truncatedAtEveryOffset_resumesLastWholeMove()
+            throws IOException {
+        int[][] states = saveGame(4, MOVES);
+        byte[] saved = Files.readAllBytes(_file.toPath());
+        int headerLength = saved.length - MOVES;
+        Random random = new Random(5);
+
+        for (int length = 0; length <= saved.length; length++) {
+            write(Arrays.copyOf(saved, length));
+            GameStore store = new GameStore(_file);
+            Board board = store.load();
+
+            if (length < headerLength) {
+                assertNull("cut at " + length, board);
+                continue;
+            }
+
+            int moves = length - headerLength;
+            assertNotNull("cut at " + length, board);
+            assertArrayEquals("cut at " + length, states[moves], cells(board));
+
+            // a move appended after the cut is replayed after it
+            int direction = anyDirection(board, random);
+            int empty = board.getEmptyIndex();
+            board.swap(empty, Move.target(empty, direction, 4));
+            store.append(direction);
+            store.close();
+
+            Board resumed = new GameStore(_file).load();
+            assertArrayEquals("append after cut at " + length, cells(board),
+                              cells(resumed));
+        }
+    }
+
+    @Test
+    public void load_garbageAfterLog_ignoresGarbage() throws IOException {
+        int[][] states = saveGame(4, MOVES);
+        Random random = new Random(7);
+
+        byte[][] tails = { new byte[64], new byte[64], new byte[1] };
+        random.nextBytes(tails[1]);
+        tails[2][0] = GameStore.encode(MOVES + 1, Move.UP);
+
+        for (byte[] tail : tails) {
+            byte[] saved = Files.readAllBytes(_file.toPath());
+            FileOutputStream out = new FileOutputStream(_file, true);
+            out.write(tail);
+            out.close();
+
+            GameStore store = new GameStore(_file);
+            Board board = store.load();
+            store.close();
+            assertArrayEquals(states[MOVES], cells(board));
+            assertEquals(MOVES, store.getMoveCount());
+            write(saved);
+        }
+    }
+
+    @Test
+    public void load_moveOffBoard_stopsReplay() throws IOException {
+        GameStore store = new GameStore(_file);
+        Board board = Board.create(3);
+        store.start(board);
+
+        // the empty block starts in the corner, so the second UP leaves
+        store.append(Move.DOWN);
+        store.append(Move.UP);
+        store.append(Move.UP);
+        store.close();
+
+        GameStore loaded = new GameStore(_file);
+        assertArrayEquals(cells(board), cells(loaded.load()));
+        assertEquals(2, loaded.getMoveCount());
+        loaded.close();
+    }
+
+    @Test
+    public void load_corruptHeader_returnsNull() throws IOException {
+        saveGame(4, MOVES);
+        byte[] saved = Files.readAllBytes(_file.toPath());
+        int headerLength = saved.length - MOVES;
+
+        for (int offset = 0; offset < headerLength; offset++) {
+            byte[] corrupt = saved.clone();
+            corrupt[offset] ^= 0x10;
+            write(corrupt);
+            assertNull("flipped byte " + offset, new GameStore(_file).load());
+        }
+    }
+
+    @Test
+    public void load_largeBoard_roundTrips() throws IOException {
+        int[][] states = saveGame(300, MOVES);
+
+        Board board = new GameStore(_file).load();
+        assertArrayEquals(states[MOVES], cells(board));
+    }
+
+    /**
+     * saveGame
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param moves     the number of random moves to save
+     * @return          the cells after each number of moves
+     */
+    private int[][] saveGame(int blocksNum, int moves) throws IOException {
+        Random random = new Random(blocksNum);
+        Board board = Board.create(blocksNum);
+        new ShuffleEngine(random).shuffle(board);
+
+        GameStore store = new GameStore(_file);
+        store.start(board);
+        int[][] states = new int[moves + 1][];
+        states[0] = cells(board);
+
+        byte[] batch = new byte[moves / 2];
+        for (int i = 0; i < moves; i++) {
+            int direction = anyDirection(board, random);
+            int empty = board.getEmptyIndex();
+            board.swap(empty, Move.target(empty, direction, blocksNum));
+            states[i + 1] = cells(board);
+
+            // the first half is appended one move at a time, the rest at once
+            if (i < moves - batch.length) {
+                store.append(direction);
+            } else {
+                batch[i - (moves - batch.length)] = (byte) direction;
+            }
+        }
+        store.append(batch, 0, batch.length);
+        store.close();
+        return states;
+    }
+
+    /**
+     * anyDirection
+     *
+     * @param board     a board
+     * @param random    the source of the direction
+     * @return          a random direction the empty block can move in
+     */
+    private static int anyDirection(Board board, Random random) {
+        int direction;
+        do {
+            direction = random.nextInt(Move.COUNT);
+        } while (Move.target(board.getEmptyIndex(), direction,
+                             board.getBlocksNum()) < 0);
+        return direction;
+    }
+
+    /**
+     * cells
+     *
+     * @param board a board
+     * @return      a copy of its cells
+     */
+    private static int[] cells(Board board) {
+        int[] cells = new int[board.getLength()];
+        board.copyTo(cells);
+        return cells;
+    }
+
+    /**
+     * write
+     *
+     * @param bytes the new contents of the saved game file
+     */
+    private void write(byte[] bytes) throws IOException {
+        RandomAccessFile file = new RandomAccessFile(_file, "rw");
+        file.setLength(0);
+        file.write(bytes);
+        file.close();
+    }
+}
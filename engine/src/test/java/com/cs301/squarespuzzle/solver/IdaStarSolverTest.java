@@ -0,0 +1,80 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.ShuffleEngine;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * IdaStarSolverTest
+ *
+ * checks the solver on 3x3 boards against the distance table, which holds
+ * the exact distance of every state: every solution must reach the goal
+ * and be as short as the table says is possible.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class IdaStarSolverTest {
+    // the exact distances of every 3x3 state, built once
+    private static DistanceTable _table;
+
+    @BeforeClass
+    public static void buildTable() {
+        _table = DistanceTableBuilder.build(3, 3, 1);
+    }
+
+    @Test
+    public void solve_random3x3_validAndOptimal() {
+        Random random = new Random(6);
+        ShuffleEngine shuffleEngine = new ShuffleEngine(random);
+        IdaStarSolver solver = new IdaStarSolver(3);
+        Board board = Board.create(3);
+        for (int i = 0; i < 500; i++) {
+            shuffleEngine.shuffle(board);
+            assertValidAndOptimal(solver, board);
+        }
+    }
+
+    @Test
+    public void solve_hardest3x3_validAndOptimal() {
+        // the two 3x3 states that are 31 moves from the goal
+        int[][] hardest = {
+            {8, 6, 7, 2, 5, 4, 3, 0, 1},
+            {6, 4, 7, 8, 5, 0, 3, 2, 1},
+        };
+        IdaStarSolver solver = new IdaStarSolver(3);
+        Board board = Board.create(3);
+        for (int[] tiles : hardest) {
+            board.load(tiles);
+            assertEquals(31, _table.distance(board));
+            assertValidAndOptimal(solver, board);
+        }
+    }
+
+    /**
+     * assertValidAndOptimal
+     *
+     * @param solver    the solver to check
+     * @param board     the board to solve, which is not changed
+     */
+    private static void assertValidAndOptimal(IdaStarSolver solver,
+                                              Board board) {
+        int[] tiles = new int[board.getLength()];
+        board.copyTo(tiles);
+        Solution solution = solver.solve(board);
+        assertEquals(_table.distance(tiles), solution.getLength());
+
+        Board replayed = Board.create(3);
+        replayed.load(tiles);
+        byte[] moves = solution.getMoves();
+        replayed.applyMoves(moves, 0, moves.length);
+        assertTrue(replayed.isSolved());
+    }
+}
@@ -0,0 +1,100 @@
+package com.cs301.squarespuzzle.solver;
+
+import com.cs301.squarespuzzle.Board;
+import com.cs301.squarespuzzle.Move;
+import com.cs301.squarespuzzle.ShuffleEngine;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * ParallelSolverTest
+ *
+ * checks that the parallel solver finds the same moves as the serial one,
+ * for any number of threads, so every bound it tries and every solution it
+ * reports is the one IdaStarSolver would.
+ *
+ * @author Bryce Kwon
+ * @version October 17, 2026
+ */
+public class ParallelSolverTest {
+    // the numbers of worker threads to compare
+    private static final int[] THREADS = { 1, 3 };
+
+    @Test
+    public void solve_random3x3_matchesSerial() {
+        Random random = new Random(4);
+        ShuffleEngine shuffleEngine = new ShuffleEngine(random);
+        Board board = Board.create(3);
+        for (int i = 0; i < 200; i++) {
+            shuffleEngine.shuffle(board);
+            assertMatchesSerial(board);
+        }
+    }
+
+    @Test
+    public void solve_scrambled4x4_matchesSerial() {
+        Random random = new Random(5);
+        for (int i = 0; i < 20; i++) {
+            assertMatchesSerial(scramble(4, 50, random));
+        }
+    }
+
+    /**
+     * scramble
+     *
+     * @param blocksNum the number of blocks in each row and column
+     * @param moves     the number of random moves from the goal
+     * @param random    the source of the moves
+     * @return          a board the given number of moves from the goal,
+     *                  without moves that undo the one before
+     */
+    private static Board scramble(int blocksNum, int moves, Random random) {
+        int length = blocksNum * blocksNum;
+        int[] goal = new int[length];
+        for (int i = 0; i < length - 1; i++) {
+            goal[i] = i + 1;
+        }
+        Board board = Board.create(blocksNum);
+        board.load(goal);
+
+        int previous = -1;
+        for (int i = 0; i < moves; ) {
+            int direction = random.nextInt(Move.COUNT);
+            int empty = board.getEmptyIndex();
+            int target = Move.target(empty, direction, blocksNum);
+            if (target >= 0 && direction != Move.opposite(previous)) {
+                board.swap(empty, target);
+                previous = direction;
+                i++;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * assertMatchesSerial
+     *
+     * @param board the board both solvers solve
+     */
+    private static void assertMatchesSerial(Board board) {
+        int blocksNum = board.getBlocksNum();
+        byte[] expected = new IdaStarSolver(blocksNum).solve(board)
+                .getMoves();
+        for (int threads : THREADS) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelSolver solver = new ParallelSolver(
+                        blocksNum, new ManhattanConflictHeuristic(blocksNum),
+                        pool);
+                assertArrayEquals(expected, solver.solve(board).getMoves());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+}